@@ -0,0 +1,38 @@
+package com.bookstore.api.cache;
+
+import io.restassured.http.Headers;
+
+/**
+ * A stored 200 response with its validators and freshness deadline.
+ */
+final class CachedResponse {
+
+    // Rough per-entry overhead of the map entry, key and header objects
+    private static final int OVERHEAD_BYTES = 512;
+
+    final String statusLine;
+    final Headers headers;
+    final byte[] body;
+    final String etag;
+    final String lastModified;
+    final long sizeBytes;
+    volatile long freshUntilNanos;
+
+    CachedResponse(String statusLine, Headers headers, byte[] body, long freshUntilNanos) {
+        this.statusLine = statusLine;
+        this.headers = headers;
+        this.body = body;
+        this.etag = headers.getValue("ETag");
+        this.lastModified = headers.getValue("Last-Modified");
+        this.freshUntilNanos = freshUntilNanos;
+        this.sizeBytes = body.length + OVERHEAD_BYTES;
+    }
+
+    boolean isFresh(long nowNanos) {
+        return nowNanos - freshUntilNanos < 0;
+    }
+
+    boolean canRevalidate() {
+        return etag != null || lastModified != null;
+    }
+}
@@ -0,0 +1,86 @@
+package com.bookstore.api.cache;
+
+import com.bookstore.api.utils.SyntheticResponses;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.net.URI;
+
+/**
+ * Answers GET requests from {@link ResponseCache}.
+ * <p>
+ * A fresh entry is returned without a request. A stale entry with an
+ * {@code ETag} or {@code Last-Modified} is revalidated with
+ * {@code If-None-Match}/{@code If-Modified-Since}, and a 304 answer is served
+ * from the entry. Any other method invalidates the cached responses of the
+ * collection it writes to, e.g. {@code PUT /Books/3} drops {@code /Books} and
+ * {@code /Books/3} (see {@link ResponseCache#invalidateWrite}). GETs inside
+ * {@link ResponseCache#bypass} skip the cache. The filter runs first in the chain, so hits neither wait for
+ * the rate limiter nor show up in the HTTP log.
+ */
+public class HttpCacheFilter implements OrderedFilter {
+
+    private static final int NOT_MODIFIED = 304;
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        ResponseCache cache = ResponseCache.getInstance();
+        if (!"GET".equals(requestSpec.getMethod())) {
+            try {
+                return ctx.next(requestSpec, responseSpec);
+            } finally {
+                cache.invalidateWrite(URI.create(requestSpec.getURI()).getRawPath());
+            }
+        }
+        if (ResponseCache.isBypassed()) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+
+        String key = ResponseCache.key(requestSpec.getURI(), requestSpec.getHeaders().getValue("Accept"));
+        CachedResponse entry = cache.get(key);
+        if (entry != null && entry.isFresh(System.nanoTime())) {
+            cache.recordHit();
+            return fromCache(entry, requestSpec);
+        }
+        boolean revalidating = entry != null && entry.canRevalidate();
+        if (revalidating) {
+            if (entry.etag != null) {
+                requestSpec.header("If-None-Match", entry.etag);
+            }
+            if (entry.lastModified != null) {
+                requestSpec.header("If-Modified-Since", entry.lastModified);
+            }
+        }
+
+        long generation = cache.generation();
+        Response response = ctx.next(requestSpec, responseSpec);
+        if (revalidating && response.getStatusCode() == NOT_MODIFIED) {
+            cache.refresh(entry, response.getHeaders());
+            cache.recordRevalidated();
+            return fromCache(entry, requestSpec);
+        }
+        if (revalidating) {
+            cache.recordModified();
+        } else {
+            cache.recordMiss();
+        }
+        if (response.getStatusCode() == 200) {
+            cache.put(key, response.getStatusLine(), response.getHeaders(), response.asByteArray(), generation);
+        }
+        return response;
+    }
+
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE;
+    }
+
+    private static Response fromCache(CachedResponse entry, FilterableRequestSpecification requestSpec) {
+        return SyntheticResponses.of(200, entry.statusLine, entry.headers, entry.body, requestSpec.getConfig());
+    }
+}
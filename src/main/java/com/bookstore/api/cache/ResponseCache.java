@@ -0,0 +1,355 @@
+package com.bookstore.api.cache;
+
+import com.bookstore.api.config.ApiConfig;
+import com.bookstore.api.config.ConfigurationManager;
+import io.restassured.http.Headers;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Size-bounded LRU store of GET responses shared by all clients, keyed by
+ * URI and {@code Accept} header.
+ * <p>
+ * How long an entry stays fresh follows the response: {@code Cache-Control:
+ * no-store} is not cached, {@code no-cache} is revalidated on every use,
+ * {@code max-age} and {@code Expires} are honoured, and anything else is
+ * fresh for {@code cache.ttl.ms}. When the entries together exceed
+ * {@code cache.max.bytes}, the least recently used ones are evicted.
+ * <p>
+ * Every invalidation starts a new generation. A GET remembers the generation
+ * it started in and its response is only stored if no invalidation happened
+ * meanwhile, so a read that overlaps a write cannot put the old body back.
+ */
+public final class ResponseCache {
+
+    private static final Pattern MAX_AGE = Pattern.compile("(?:^|[,\\s])max-age\\s*=\\s*(\\d+)");
+
+    private static final ThreadLocal<Boolean> BYPASSED = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private static volatile ResponseCache instance;
+
+    private final long ttlNanos;
+    private final long maxBytes;
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long sizeBytes;
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder revalidated = new LongAdder();
+    private final LongAdder modified = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder staleDiscards = new LongAdder();
+
+    ResponseCache(long ttlMs, long maxBytes) {
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, ttlMs));
+        this.maxBytes = Math.max(0, maxBytes);
+    }
+
+    public static ResponseCache getInstance() {
+        if (instance == null) {
+            synchronized (ResponseCache.class) {
+                if (instance == null) {
+                    ApiConfig config = ConfigurationManager.getConfig();
+                    instance = new ResponseCache(config.cacheTtlMs(), config.cacheMaxBytes());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Runs {@code call} on the calling thread with GETs neither answered from
+     * nor stored in the cache; writes still invalidate it. For measurements that
+     * must reach the API, such as response-time SLOs.
+     */
+    public static <T> T bypass(Supplier<T> call) {
+        if (BYPASSED.get()) {
+            return call.get();
+        }
+        BYPASSED.set(Boolean.TRUE);
+        try {
+            return call.get();
+        } finally {
+            BYPASSED.remove();
+        }
+    }
+
+    static boolean isBypassed() {
+        return BYPASSED.get();
+    }
+
+    synchronized CachedResponse get(String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Stores a 200 response unless its headers forbid it, it is larger than the
+     * whole cache, or entries were invalidated since {@code generation} was read
+     * (a write may have finished while the request was in flight).
+     */
+    void put(String key, String statusLine, Headers headers, byte[] body, long generation) {
+        long freshness = freshnessNanos(headers);
+        if (freshness < 0) {
+            remove(key);
+            return;
+        }
+        CachedResponse entry = new CachedResponse(statusLine, headers, body, System.nanoTime() + freshness);
+        if (entry.sizeBytes > maxBytes) {
+            remove(key);
+            return;
+        }
+        synchronized (this) {
+            if (generation != this.generation) {
+                staleDiscards.increment();
+                return;
+            }
+            CachedResponse previous = entries.put(key, entry);
+            sizeBytes += entry.sizeBytes - (previous != null ? previous.sizeBytes : 0);
+            Iterator<CachedResponse> eldest = entries.values().iterator();
+            while (sizeBytes > maxBytes && eldest.hasNext()) {
+                sizeBytes -= eldest.next().sizeBytes;
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Marks an entry fresh again after the server answered 304 Not Modified.
+     */
+    void refresh(CachedResponse entry, Headers notModifiedHeaders) {
+        long freshness = notModifiedHeaders.hasHeaderWithName("Cache-Control") || notModifiedHeaders.hasHeaderWithName("Expires")
+                ? freshnessNanos(notModifiedHeaders) : freshnessNanos(entry.headers);
+        entry.freshUntilNanos = System.nanoTime() + Math.max(0, freshness);
+    }
+
+    /**
+     * Drops the entries a write to {@code path} may have changed: the
+     * collection with any query, the written record and anything below it, and
+     * the collection's other sub-resources. Other records of the collection are
+     * kept, so {@code PUT /api/v1/Books/1} drops {@code /api/v1/Books},
+     * {@code /api/v1/Books?page=2} and {@code /api/v1/Books/1}, but not
+     * {@code /api/v1/Books/10}.
+     */
+    public synchronized void invalidateWrite(String path) {
+        int lastSlash = path.lastIndexOf('/');
+        boolean record = lastSlash > 0 && isId(path.substring(lastSlash + 1));
+        String collection = record ? path.substring(0, lastSlash) : path;
+        removeIf(entryPath -> {
+            if (!isWithin(entryPath, collection)) {
+                return false;
+            }
+            if (entryPath.length() == collection.length()) {
+                return true;
+            }
+            // Next segment below the collection: another record's ID is left alone
+            int segmentEnd = entryPath.indexOf('/', collection.length() + 1);
+            String segment = entryPath.substring(collection.length() + 1, segmentEnd < 0 ? entryPath.length() : segmentEnd);
+            return !isId(segment) || record && segment.equals(path.substring(lastSlash + 1));
+        });
+    }
+
+    /**
+     * Drops every entry for {@code pathPrefix} and the paths below it, matching
+     * whole segments: {@code /api/v1/Books/1} does not cover {@code /api/v1/Books/10}.
+     */
+    public synchronized void invalidate(String pathPrefix) {
+        removeIf(entryPath -> isWithin(entryPath, pathPrefix));
+    }
+
+    /**
+     * @return a value that changes whenever entries are invalidated; pass it to
+     * {@link #put} so a response started before an invalidation is not stored
+     */
+    synchronized long generation() {
+        return generation;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        sizeBytes = 0;
+    }
+
+    void recordHit() {
+        hits.increment();
+    }
+
+    void recordMiss() {
+        misses.increment();
+    }
+
+    void recordRevalidated() {
+        revalidated.increment();
+    }
+
+    void recordModified() {
+        modified.increment();
+    }
+
+    /**
+     * @return lookups answered from a fresh entry without a request
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return lookups with no entry, or a stale one that could not be revalidated
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return stale entries the server confirmed with 304 Not Modified
+     */
+    public long getRevalidatedCount() {
+        return revalidated.sum();
+    }
+
+    /**
+     * @return stale entries the server replaced with a new 200 response
+     */
+    public long getModifiedCount() {
+        return modified.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+
+    /**
+     * @return responses not stored because a write invalidated the cache while they were in flight
+     */
+    public long getStaleDiscardCount() {
+        return staleDiscards.sum();
+    }
+
+    public long getLookupCount() {
+        return getHitCount() + getMissCount() + getRevalidatedCount() + getModifiedCount();
+    }
+
+    /**
+     * @return share of lookups served without downloading the body, i.e. hits and 304s
+     */
+    public double getHitRatio() {
+        long lookups = getLookupCount();
+        return lookups == 0 ? 0 : (double) (getHitCount() + getRevalidatedCount()) / lookups;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    static String key(String uri, String accept) {
+        return uri + (accept != null ? " " + accept : "");
+    }
+
+    /**
+     * @return the path of a cache key without query and {@code Accept}, for invalidation
+     */
+    private static String pathOf(String key) {
+        int schemeEnd = key.indexOf("://");
+        int pathStart = schemeEnd < 0 ? 0 : key.indexOf('/', schemeEnd + 3);
+        if (pathStart < 0) {
+            return "";
+        }
+        int pathEnd = key.length();
+        for (int i = pathStart; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c == '?' || c == '#' || c == ' ') {
+                pathEnd = i;
+                break;
+            }
+        }
+        return key.substring(pathStart, pathEnd);
+    }
+
+    private static boolean isWithin(String path, String prefix) {
+        String base = prefix.endsWith("/") ? prefix.substring(0, prefix.length() - 1) : prefix;
+        return path.equals(base) || path.startsWith(base + "/");
+    }
+
+    private static boolean isId(String segment) {
+        return !segment.isEmpty() && segment.chars().allMatch(Character::isDigit);
+    }
+
+    /**
+     * Removes the entries whose path matches and starts a new generation. Caller holds the lock.
+     */
+    private void removeIf(Predicate<String> pathMatches) {
+        generation++;
+        Iterator<Map.Entry<String, CachedResponse>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, CachedResponse> entry = iterator.next();
+            if (pathMatches.test(pathOf(entry.getKey()))) {
+                sizeBytes -= entry.getValue().sizeBytes;
+                iterator.remove();
+                invalidations.increment();
+            }
+        }
+    }
+
+    /**
+     * @return how long a response stays fresh, 0 to revalidate on every use, or -1 if it must not be stored
+     */
+    private long freshnessNanos(Headers headers) {
+        String cacheControl = headers.getValue("Cache-Control");
+        if (cacheControl != null) {
+            String directives = cacheControl.toLowerCase(Locale.ROOT);
+            if (directives.contains("no-store")) {
+                return -1;
+            }
+            if (directives.contains("no-cache")) {
+                return 0;
+            }
+            Matcher maxAge = MAX_AGE.matcher(directives);
+            if (maxAge.find()) {
+                return TimeUnit.SECONDS.toNanos(Long.parseLong(maxAge.group(1)));
+            }
+        }
+        String expires = headers.getValue("Expires");
+        if (expires != null) {
+            try {
+                ZonedDateTime expiresAt = ZonedDateTime.parse(expires, DateTimeFormatter.RFC_1123_DATE_TIME);
+                String date = headers.getValue("Date");
+                ZonedDateTime now = date != null ? ZonedDateTime.parse(date, DateTimeFormatter.RFC_1123_DATE_TIME) : ZonedDateTime.now();
+                return Math.max(0, TimeUnit.SECONDS.toNanos(expiresAt.toEpochSecond() - now.toEpochSecond()));
+            } catch (DateTimeParseException e) {
+                // Invalid dates such as "0" mean already expired
+                return 0;
+            }
+        }
+        return ttlNanos;
+    }
+
+    private synchronized void remove(String key) {
+        CachedResponse previous = entries.remove(key);
+        if (previous != null) {
+            sizeBytes -= previous.sizeBytes;
+        }
+    }
+}
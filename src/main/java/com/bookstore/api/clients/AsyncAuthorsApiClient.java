@@ -0,0 +1,51 @@
+package com.bookstore.api.clients;
+
+import com.bookstore.api.config.ApiConfig;
+import com.bookstore.api.models.Author;
+
+import java.util.concurrent.CompletableFuture;
+
+public class AsyncAuthorsApiClient extends BaseAsyncApiClient {
+    
+    private static final String AUTHORS_ENDPOINT = "";
+    
+    @Override
+    protected String getBasePath(ApiConfig config) {
+        return config.apiVersion() + config.authorsEndpoint();
+    }
+    
+    public CompletableFuture<AsyncResponse> getAllAuthors() {
+        return get(AUTHORS_ENDPOINT);
+    }
+    
+    public CompletableFuture<AsyncResponse> getAuthorById(int authorId) {
+        return getById(AUTHORS_ENDPOINT, authorId);
+    }
+    
+    public CompletableFuture<AsyncResponse> createAuthor(Author author) {
+        String owner = ResourceTracker.currentOwner();
+        return post(AUTHORS_ENDPOINT, author)
+                .whenComplete((response, error) -> {
+                    if (response != null) {
+                        ResourceTracker.getInstance().trackCreated(owner, ResourceType.AUTHOR, response);
+                    }
+                });
+    }
+    
+    public CompletableFuture<AsyncResponse> updateAuthor(int authorId, Author author) {
+        return put(AUTHORS_ENDPOINT, authorId, author);
+    }
+    
+    public CompletableFuture<AsyncResponse> deleteAuthor(int authorId) {
+        return delete(AUTHORS_ENDPOINT, authorId)
+                .whenComplete((response, error) -> {
+                    if (response != null) {
+                        ResourceTracker.getInstance().untrackDeleted(ResourceType.AUTHOR, authorId, response);
+                    }
+                });
+    }
+    
+    public CompletableFuture<AsyncResponse> getAuthorsByBookId(int bookId) {
+        return get("/authors/books/" + bookId);
+    }
+}
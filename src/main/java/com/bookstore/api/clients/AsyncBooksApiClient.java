@@ -0,0 +1,47 @@
+package com.bookstore.api.clients;
+
+import com.bookstore.api.config.ApiConfig;
+import com.bookstore.api.models.Book;
+
+import java.util.concurrent.CompletableFuture;
+
+public class AsyncBooksApiClient extends BaseAsyncApiClient {
+    
+    private static final String BOOKS_ENDPOINT = "";
+    
+    @Override
+    protected String getBasePath(ApiConfig config) {
+        return config.apiVersion() + config.booksEndpoint();
+    }
+    
+    public CompletableFuture<AsyncResponse> getAllBooks() {
+        return get(BOOKS_ENDPOINT);
+    }
+    
+    public CompletableFuture<AsyncResponse> getBookById(int bookId) {
+        return getById(BOOKS_ENDPOINT, bookId);
+    }
+    
+    public CompletableFuture<AsyncResponse> createBook(Book book) {
+        String owner = ResourceTracker.currentOwner();
+        return post(BOOKS_ENDPOINT, book)
+                .whenComplete((response, error) -> {
+                    if (response != null) {
+                        ResourceTracker.getInstance().trackCreated(owner, ResourceType.BOOK, response);
+                    }
+                });
+    }
+    
+    public CompletableFuture<AsyncResponse> updateBook(int bookId, Book book) {
+        return put(BOOKS_ENDPOINT, bookId, book);
+    }
+    
+    public CompletableFuture<AsyncResponse> deleteBook(int bookId) {
+        return delete(BOOKS_ENDPOINT, bookId)
+                .whenComplete((response, error) -> {
+                    if (response != null) {
+                        ResourceTracker.getInstance().untrackDeleted(ResourceType.BOOK, bookId, response);
+                    }
+                });
+    }
+}
@@ -0,0 +1,62 @@
+package com.bookstore.api.clients;
+
+import com.bookstore.api.utils.WireCodec;
+
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+
+/**
+ * Fully received response of an asynchronous API call. Mirrors the parts of
+ * REST Assured's {@code Response} used by the tests so assertions read the same.
+ */
+public class AsyncResponse {
+
+    private final int statusCode;
+    private final HttpHeaders headers;
+    private final String body;
+    private final long timeMs;
+
+    public AsyncResponse(HttpResponse<String> response, long timeMs) {
+        this(response.statusCode(), response.headers(), response.body(), timeMs);
+    }
+
+    public AsyncResponse(int statusCode, HttpHeaders headers, String body, long timeMs) {
+        this.statusCode = statusCode;
+        this.headers = headers;
+        this.body = body;
+        this.timeMs = timeMs;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public String getHeader(String name) {
+        return headers.firstValue(name).orElse(null);
+    }
+
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    public String getContentType() {
+        return getHeader("Content-Type");
+    }
+
+    public long getTime() {
+        return timeMs;
+    }
+
+    public String asString() {
+        return body;
+    }
+
+    public <T> T as(Class<T> type) {
+        return WireCodec.fromJson(body, type);
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncResponse(statusCode=" + statusCode + ", timeMs=" + timeMs + ")";
+    }
+}
@@ -6,10 +6,15 @@ import io.qameta.allure.Step;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 
+import java.util.Collection;
+import java.util.stream.Stream;
+
 public class AuthorsApiClient extends BaseApiClient {
     
     private static final String AUTHORS_ENDPOINT = "";
     
+    private final AsyncAuthorsApiClient asyncAuthors = new AsyncAuthorsApiClient();
+    
     @Override
     protected RequestSpecification getRequestSpec() {
         return RequestSpecs.getAuthorsRequestSpec();
@@ -20,6 +25,11 @@ public class AuthorsApiClient extends BaseApiClient {
         return get(AUTHORS_ENDPOINT);
     }
     
+    @Step("Stream all authors")
+    public StreamingResponse<Author> streamAllAuthors() {
+        return streamList(AUTHORS_ENDPOINT, Author.class);
+    }
+    
     @Step("Get author by ID: {authorId}")
     public Response getAuthorById(int authorId) {
         return getById(AUTHORS_ENDPOINT, authorId);
@@ -27,7 +37,9 @@ public class AuthorsApiClient extends BaseApiClient {
     
     @Step("Create new author")
     public Response createAuthor(Author author) {
-        return post(AUTHORS_ENDPOINT, author);
+        Response response = post(AUTHORS_ENDPOINT, author);
+        ResourceTracker.getInstance().trackCreated(ResourceType.AUTHOR, response);
+        return response;
     }
     
     @Step("Update author with ID: {authorId}")
@@ -37,11 +49,49 @@ public class AuthorsApiClient extends BaseApiClient {
     
     @Step("Delete author with ID: {authorId}")
     public Response deleteAuthor(int authorId) {
-        return delete(AUTHORS_ENDPOINT, authorId);
+        Response response = delete(AUTHORS_ENDPOINT, authorId);
+        ResourceTracker.getInstance().untrackDeleted(ResourceType.AUTHOR, authorId, response);
+        return response;
     }
     
     @Step("Get authors by book ID: {bookId}")
     public Response getAuthorsByBookId(int bookId) {
         return get("/authors/books/" + bookId);
     }
+    
+    @Step("Bulk create authors")
+    public BulkResult<Author> createAuthors(Collection<Author> authors) {
+        return createAuthors(authors.stream());
+    }
+    
+    /**
+     * Creates every author in the stream, pulling the next one only when a request slot is free.
+     */
+    @Step("Bulk create authors")
+    public BulkResult<Author> createAuthors(Stream<Author> authors) {
+        return bulk("create authors", authors, asyncAuthors::createAuthor);
+    }
+    
+    @Step("Bulk update authors")
+    public BulkResult<Author> updateAuthors(Collection<Author> authors) {
+        return updateAuthors(authors.stream());
+    }
+    
+    /**
+     * Updates every author in the stream under its own ID; authors without an ID fail without a request.
+     */
+    @Step("Bulk update authors")
+    public BulkResult<Author> updateAuthors(Stream<Author> authors) {
+        return bulk("update authors", authors, author -> asyncAuthors.updateAuthor(author.getId(), author));
+    }
+    
+    @Step("Bulk delete authors")
+    public BulkResult<Integer> deleteAuthors(Collection<Integer> authorIds) {
+        return deleteAuthors(authorIds.stream());
+    }
+    
+    @Step("Bulk delete authors")
+    public BulkResult<Integer> deleteAuthors(Stream<Integer> authorIds) {
+        return bulk("delete authors", authorIds, asyncAuthors::deleteAuthor);
+    }
 }
@@ -1,10 +1,29 @@
 package com.bookstore.api.clients;
 
+import com.bookstore.api.config.ConfigurationManager;
+import com.bookstore.api.http.AsyncHttpEngine;
+import com.bookstore.api.http.RateLimits;
+import com.bookstore.api.resilience.RetryExecutor;
+import com.bookstore.api.traffic.ClientTraffic;
+import com.bookstore.api.traffic.RecordedExchange;
+import com.bookstore.api.traffic.TrafficMode;
 import io.qameta.allure.Step;
 import io.restassured.response.Response;
+import io.restassured.specification.QueryableRequestSpecification;
 import io.restassured.specification.RequestSpecification;
+import io.restassured.specification.SpecificationQuerier;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static io.restassured.RestAssured.given;
 
@@ -14,55 +33,121 @@ public abstract class BaseApiClient {
     
     @Step("GET request to: {endpoint}")
     public Response get(String endpoint) {
-        return given()
+        return send("GET", endpoint, () -> given()
                 .spec(getRequestSpec())
                 .when()
-                .get(endpoint);
+                .get(endpoint));
     }
     
     @Step("GET request to: {endpoint} with ID: {id}")
     public Response getById(String endpoint, int id) {
-        return given()
+        return send("GET", endpoint + "/{id}", () -> given()
                 .spec(getRequestSpec())
                 .pathParam("id", id)
                 .when()
-                .get(endpoint + "/{id}");
+                .get(endpoint + "/{id}"));
     }
     
     @Step("POST request to: {endpoint}")
     public Response post(String endpoint, Object body) {
-        return given()
+        return send("POST", endpoint, () -> given()
                 .spec(getRequestSpec())
                 .body(body)
                 .when()
-                .post(endpoint);
+                .post(endpoint));
     }
     
     @Step("PUT request to: {endpoint} with ID: {id}")
     public Response put(String endpoint, int id, Object body) {
-        return given()
+        return send("PUT", endpoint + "/{id}", () -> given()
                 .spec(getRequestSpec())
                 .pathParam("id", id)
                 .body(body)
                 .when()
-                .put(endpoint + "/{id}");
+                .put(endpoint + "/{id}"));
     }
     
     @Step("DELETE request to: {endpoint} with ID: {id}")
     public Response delete(String endpoint, int id) {
-        return given()
+        return send("DELETE", endpoint + "/{id}", () -> given()
                 .spec(getRequestSpec())
                 .pathParam("id", id)
                 .when()
-                .delete(endpoint + "/{id}");
+                .delete(endpoint + "/{id}"));
     }
     
     @Step("GET request with query params: {queryParams}")
     public Response getWithQueryParams(String endpoint, Map<String, String> queryParams) {
-        return given()
+        return send("GET", endpoint, () -> given()
                 .spec(getRequestSpec())
                 .queryParams(queryParams)
                 .when()
-                .get(endpoint);
+                .get(endpoint));
+    }
+    
+    /**
+     * Sends a request through {@link RetryExecutor}; {@code call} is invoked once per attempt.
+     */
+    private Response send(String method, String endpoint, Supplier<Response> call) {
+        String basePath = SpecificationQuerier.query(getRequestSpec()).getBasePath();
+        return RetryExecutor.getInstance().execute(method, basePath + endpoint, call);
+    }
+    
+    /**
+     * GET request whose JSON array body is parsed element by element while it
+     * is read, instead of being buffered like a REST Assured response. The
+     * request goes through {@link AsyncHttpEngine}'s client, so REST Assured
+     * filters (logging, Allure) do not see it; its latency, up to the response
+     * headers, is recorded by the engine. With {@code traffic.mode=record} the
+     * body is buffered so it can be recorded, and replayed bodies are read from
+     * the store (see {@link ClientTraffic}).
+     */
+    @Step("Streaming GET request to: {endpoint}")
+    public <T> StreamingResponse<T> streamList(String endpoint, Class<T> elementType) {
+        QueryableRequestSpecification spec = SpecificationQuerier.query(getRequestSpec());
+        AsyncHttpEngine engine = AsyncHttpEngine.getInstance();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(spec.getBaseUri() + spec.getBasePath() + endpoint))
+                .timeout(engine.getRequestTimeout())
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        TrafficMode trafficMode = ClientTraffic.mode();
+        if (trafficMode == TrafficMode.REPLAY) {
+            RecordedExchange exchange = ClientTraffic.replay("GET", request.uri(), null);
+            return new StreamingResponse<>(exchange.getStatusCode(), ClientTraffic.headersOf(exchange),
+                    new ByteArrayInputStream(exchange.getBody()), elementType, 0);
+        }
+        RateLimits.getInstance().acquire(request.uri().getRawPath());
+        long start = System.nanoTime();
+        try {
+            HttpResponse<InputStream> response = engine.sendAndWait(request, HttpResponse.BodyHandlers.ofInputStream());
+            long timeMs = (System.nanoTime() - start) / 1_000_000;
+            if (trafficMode == TrafficMode.RECORD) {
+                byte[] body;
+                try (InputStream in = response.body()) {
+                    body = in.readAllBytes();
+                }
+                ClientTraffic.record(request, null, response, body);
+                return new StreamingResponse<>(response.statusCode(), response.headers(), new ByteArrayInputStream(body),
+                        elementType, timeMs);
+            }
+            return new StreamingResponse<>(response, elementType, timeMs);
+        } catch (IOException e) {
+            throw new RuntimeException("Streaming request to " + request.uri() + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Streaming request to " + request.uri() + " was interrupted", e);
+        }
+    }
+    
+    /**
+     * Sends one request per item with at most {@code bulk.max.in.flight}
+     * outstanding, blocking the caller while the limit is reached. Like
+     * {@link #streamList}, the requests go through {@link AsyncHttpEngine}'s
+     * client, so REST Assured filters do not see them; the async clients
+     * record and replay them.
+     */
+    protected <T> BulkResult<T> bulk(String name, Stream<T> items, Function<T, CompletableFuture<AsyncResponse>> call) {
+        return BulkExecutor.run(name, items, ConfigurationManager.getConfig().bulkMaxInFlight(), call);
     }
 }
@@ -0,0 +1,114 @@
+package com.bookstore.api.clients;
+
+import com.bookstore.api.cache.ResponseCache;
+import com.bookstore.api.config.ApiConfig;
+import com.bookstore.api.config.ConfigurationManager;
+import com.bookstore.api.http.AsyncHttpEngine;
+import com.bookstore.api.http.RateLimits;
+import com.bookstore.api.traffic.ClientTraffic;
+import com.bookstore.api.traffic.RecordedExchange;
+import com.bookstore.api.traffic.TrafficMode;
+import com.bookstore.api.utils.WireCodec;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Non-blocking counterpart of {@link BaseApiClient}. Every method returns as
+ * soon as the request is handed to {@link AsyncHttpEngine}, so a single thread
+ * can keep many requests in flight and compose the resulting futures.
+ * Exchanges are recorded and replayed through {@link ClientTraffic} like the
+ * blocking clients' are through the traffic filter.
+ */
+public abstract class BaseAsyncApiClient {
+
+    private static final String JSON = "application/json";
+
+    protected abstract String getBasePath(ApiConfig config);
+
+    public CompletableFuture<AsyncResponse> get(String endpoint) {
+        return send(newRequest(endpoint), "GET", null);
+    }
+
+    public CompletableFuture<AsyncResponse> getById(String endpoint, int id) {
+        return send(newRequest(endpoint + "/" + id), "GET", null);
+    }
+
+    public CompletableFuture<AsyncResponse> post(String endpoint, Object body) {
+        return send(newRequest(endpoint), "POST", WireCodec.toBytes(body));
+    }
+
+    public CompletableFuture<AsyncResponse> put(String endpoint, int id, Object body) {
+        return send(newRequest(endpoint + "/" + id), "PUT", WireCodec.toBytes(body));
+    }
+
+    public CompletableFuture<AsyncResponse> delete(String endpoint, int id) {
+        return send(newRequest(endpoint + "/" + id), "DELETE", null);
+    }
+
+    private HttpRequest.Builder newRequest(String endpoint) {
+        ApiConfig config = ConfigurationManager.getConfig();
+        return HttpRequest.newBuilder(URI.create(config.baseUri() + getBasePath(config) + endpoint))
+                .timeout(AsyncHttpEngine.getInstance().getRequestTimeout())
+                .header("Content-Type", JSON)
+                .header("Accept", JSON);
+    }
+
+    /**
+     * @param body the JSON request body, or {@code null} if there is none
+     */
+    private static CompletableFuture<AsyncResponse> send(HttpRequest.Builder builder, String method, byte[] body) {
+        HttpRequest request = builder
+                .method(method, body != null ? HttpRequest.BodyPublishers.ofByteArray(body) : HttpRequest.BodyPublishers.noBody())
+                .build();
+        CompletableFuture<AsyncResponse> response = ClientTraffic.mode() == TrafficMode.REPLAY
+                ? replay(request, body)
+                : throttled(request, body);
+        if (!"GET".equals(method) && ConfigurationManager.getConfig().cacheEnabled()) {
+            // Keep the blocking clients' response cache consistent with writes made here
+            return response.whenComplete((ignored, error) ->
+                    ResponseCache.getInstance().invalidateWrite(request.uri().getRawPath()));
+        }
+        return response;
+    }
+
+    private static CompletableFuture<AsyncResponse> replay(HttpRequest request, byte[] body) {
+        try {
+            RecordedExchange exchange = ClientTraffic.replay(request.method(), request.uri(), body);
+            return CompletableFuture.completedFuture(new AsyncResponse(exchange.getStatusCode(),
+                    ClientTraffic.headersOf(exchange), new String(exchange.getBody(), StandardCharsets.UTF_8), 0));
+        } catch (IllegalStateException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Sends once {@link RateLimits} has a slot for the request; the wait is
+     * scheduled rather than slept, so the calling thread is never blocked.
+     */
+    private static CompletableFuture<AsyncResponse> throttled(HttpRequest request, byte[] body) {
+        long wait = RateLimits.getInstance().reserve(request.uri().getRawPath());
+        if (wait > 0) {
+            return CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(wait, TimeUnit.NANOSECONDS))
+                    .thenCompose(ignored -> send(request, body));
+        }
+        return send(request, body);
+    }
+
+    private static CompletableFuture<AsyncResponse> send(HttpRequest request, byte[] body) {
+        boolean recording = ClientTraffic.mode() == TrafficMode.RECORD;
+        long start = System.nanoTime();
+        return AsyncHttpEngine.getInstance()
+                .send(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    if (recording) {
+                        ClientTraffic.record(request, body, response, response.body().getBytes(StandardCharsets.UTF_8));
+                    }
+                    return new AsyncResponse(response, (System.nanoTime() - start) / 1_000_000);
+                });
+    }
+}
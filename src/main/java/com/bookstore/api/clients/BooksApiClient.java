@@ -6,10 +6,15 @@ import io.qameta.allure.Step;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 
+import java.util.Collection;
+import java.util.stream.Stream;
+
 public class BooksApiClient extends BaseApiClient {
     
     private static final String BOOKS_ENDPOINT = "";
     
+    private final AsyncBooksApiClient asyncBooks = new AsyncBooksApiClient();
+    
     @Override
     protected RequestSpecification getRequestSpec() {
         return RequestSpecs.getBooksRequestSpec();
@@ -20,6 +25,11 @@ public class BooksApiClient extends BaseApiClient {
         return get(BOOKS_ENDPOINT);
     }
     
+    @Step("Stream all books")
+    public StreamingResponse<Book> streamAllBooks() {
+        return streamList(BOOKS_ENDPOINT, Book.class);
+    }
+    
     @Step("Get book by ID: {bookId}")
     public Response getBookById(int bookId) {
         return getById(BOOKS_ENDPOINT, bookId);
@@ -27,7 +37,9 @@ public class BooksApiClient extends BaseApiClient {
     
     @Step("Create new book")
     public Response createBook(Book book) {
-        return post(BOOKS_ENDPOINT, book);
+        Response response = post(BOOKS_ENDPOINT, book);
+        ResourceTracker.getInstance().trackCreated(ResourceType.BOOK, response);
+        return response;
     }
     
     @Step("Update book with ID: {bookId}")
@@ -37,6 +49,44 @@ public class BooksApiClient extends BaseApiClient {
     
     @Step("Delete book with ID: {bookId}")
     public Response deleteBook(int bookId) {
-        return delete(BOOKS_ENDPOINT, bookId);
+        Response response = delete(BOOKS_ENDPOINT, bookId);
+        ResourceTracker.getInstance().untrackDeleted(ResourceType.BOOK, bookId, response);
+        return response;
+    }
+    
+    @Step("Bulk create books")
+    public BulkResult<Book> createBooks(Collection<Book> books) {
+        return createBooks(books.stream());
+    }
+    
+    /**
+     * Creates every book in the stream, pulling the next one only when a request slot is free.
+     */
+    @Step("Bulk create books")
+    public BulkResult<Book> createBooks(Stream<Book> books) {
+        return bulk("create books", books, asyncBooks::createBook);
+    }
+    
+    @Step("Bulk update books")
+    public BulkResult<Book> updateBooks(Collection<Book> books) {
+        return updateBooks(books.stream());
+    }
+    
+    /**
+     * Updates every book in the stream under its own ID; books without an ID fail without a request.
+     */
+    @Step("Bulk update books")
+    public BulkResult<Book> updateBooks(Stream<Book> books) {
+        return bulk("update books", books, book -> asyncBooks.updateBook(book.getId(), book));
+    }
+    
+    @Step("Bulk delete books")
+    public BulkResult<Integer> deleteBooks(Collection<Integer> bookIds) {
+        return deleteBooks(bookIds.stream());
+    }
+    
+    @Step("Bulk delete books")
+    public BulkResult<Integer> deleteBooks(Stream<Integer> bookIds) {
+        return bulk("delete books", bookIds, asyncBooks::deleteBook);
     }
 }
@@ -0,0 +1,77 @@
+package com.bookstore.api.clients;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Sends one request per item through the async clients with at most
+ * {@code maxInFlight} requests outstanding. Items are pulled from the stream
+ * only when a slot is free, so a lazily generated stream is never read ahead
+ * of the server and the producer is held back instead of queuing unboundedly.
+ */
+final class BulkExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkExecutor.class);
+
+    private BulkExecutor() {
+    }
+
+    static <T> BulkResult<T> run(String name, Stream<T> items, int maxInFlight,
+                                 Function<T, CompletableFuture<AsyncResponse>> call) {
+        int limit = Math.max(1, maxInFlight);
+        Semaphore inFlight = new Semaphore(limit);
+        Histogram latency = new ConcurrentHistogram(3);
+        List<CompletableFuture<BulkItemResult<T>>> pending = new ArrayList<>();
+        long producerWaits = 0;
+        long producerWaitNanos = 0;
+        long startNanos = System.nanoTime();
+
+        Iterator<T> iterator = items.iterator();
+        for (int index = 0; iterator.hasNext(); index++) {
+            if (!inFlight.tryAcquire()) {
+                long waitStart = System.nanoTime();
+                inFlight.acquireUninterruptibly();
+                producerWaits++;
+                producerWaitNanos += System.nanoTime() - waitStart;
+            }
+            pending.add(send(index, iterator.next(), call, latency)
+                    .whenComplete((result, error) -> inFlight.release()));
+        }
+
+        List<BulkItemResult<T>> results = new ArrayList<>(pending.size());
+        for (CompletableFuture<BulkItemResult<T>> item : pending) {
+            results.add(item.join());
+        }
+        BulkResult<T> result = new BulkResult<>(results, latency, (System.nanoTime() - startNanos) / 1_000_000,
+                limit, producerWaits, producerWaitNanos / 1_000_000);
+        log.info("Bulk {}: {}", name, result);
+        return result;
+    }
+
+    private static <T> CompletableFuture<BulkItemResult<T>> send(int index, T item,
+                                                                 Function<T, CompletableFuture<AsyncResponse>> call,
+                                                                 Histogram latency) {
+        long sentNanos = System.nanoTime();
+        CompletableFuture<AsyncResponse> request;
+        try {
+            request = call.apply(item);
+        } catch (RuntimeException e) {
+            request = CompletableFuture.failedFuture(e);
+        }
+        return request.handle((response, error) -> {
+            long micros = (System.nanoTime() - sentNanos) / 1000;
+            latency.recordValue(micros);
+            return new BulkItemResult<>(index, item, response, error, micros);
+        });
+    }
+}
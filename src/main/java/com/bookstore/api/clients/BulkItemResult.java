@@ -0,0 +1,31 @@
+package com.bookstore.api.clients;
+
+import lombok.Value;
+
+/**
+ * Outcome of one item of a bulk operation. Exactly one of {@code response}
+ * and {@code error} is set.
+ */
+@Value
+public class BulkItemResult<T> {
+
+    /**
+     * Position of the item in the submitted collection or stream
+     */
+    int index;
+    T item;
+    AsyncResponse response;
+    Throwable error;
+    long latencyMicros;
+
+    public boolean isSuccess() {
+        return response != null && response.getStatusCode() / 100 == 2;
+    }
+
+    /**
+     * @return the response status, or 0 when the request failed without one
+     */
+    public int getStatusCode() {
+        return response == null ? 0 : response.getStatusCode();
+    }
+}
@@ -0,0 +1,100 @@
+package com.bookstore.api.clients;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Per-item results of a bulk operation, in submission order, together with
+ * aggregate throughput and latency. The latency histogram is in microseconds
+ * and measures each request from the moment it was sent, so time the producer
+ * spent waiting for a free slot is not included.
+ */
+public class BulkResult<T> {
+
+    private final List<BulkItemResult<T>> items;
+    private final Histogram latency;
+    private final long durationMs;
+    private final int maxInFlight;
+    private final long producerWaits;
+    private final long producerWaitMs;
+
+    BulkResult(List<BulkItemResult<T>> items, Histogram latency, long durationMs,
+               int maxInFlight, long producerWaits, long producerWaitMs) {
+        this.items = Collections.unmodifiableList(items);
+        this.latency = latency;
+        this.durationMs = durationMs;
+        this.maxInFlight = maxInFlight;
+        this.producerWaits = producerWaits;
+        this.producerWaitMs = producerWaitMs;
+    }
+
+    public List<BulkItemResult<T>> getItems() {
+        return items;
+    }
+
+    public List<BulkItemResult<T>> getFailures() {
+        return items.stream().filter(item -> !item.isSuccess()).collect(Collectors.toList());
+    }
+
+    public int getRequested() {
+        return items.size();
+    }
+
+    public int getSucceeded() {
+        return (int) items.stream().filter(BulkItemResult::isSuccess).count();
+    }
+
+    public int getFailed() {
+        return getRequested() - getSucceeded();
+    }
+
+    public boolean isAllSucceeded() {
+        return items.stream().allMatch(BulkItemResult::isSuccess);
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * @return how many times the producer had to wait because {@link #getMaxInFlight()} requests were outstanding
+     */
+    public long getProducerWaits() {
+        return producerWaits;
+    }
+
+    public long getProducerWaitMs() {
+        return producerWaitMs;
+    }
+
+    public double getThroughput() {
+        return durationMs == 0 ? items.size() : items.size() * 1000.0 / durationMs;
+    }
+
+    public double getLatencyMs(double percentile) {
+        return latency.getTotalCount() == 0 ? 0 : latency.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public double getMaxLatencyMs() {
+        return latency.getTotalCount() == 0 ? 0 : latency.getMaxValue() / 1000.0;
+    }
+
+    public Histogram getLatencyHistogram() {
+        return latency;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d of %d succeeded in %d ms (%.1f req/s, p50 %.1f ms, p99 %.1f ms, max %.1f ms, "
+                        + "producer waited %d times for %d ms)",
+                getSucceeded(), getRequested(), durationMs, getThroughput(), getLatencyMs(50), getLatencyMs(99),
+                getMaxLatencyMs(), producerWaits, producerWaitMs);
+    }
+}
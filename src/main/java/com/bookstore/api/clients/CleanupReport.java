@@ -0,0 +1,20 @@
+package com.bookstore.api.clients;
+
+import lombok.Value;
+
+/**
+ * Outcome of one {@link ResourceTracker#cleanup()} run.
+ */
+@Value
+public class CleanupReport {
+
+    int requested;
+    int deleted;
+    int failed;
+    int retries;
+    long durationMs;
+
+    public double getDeletesPerSecond() {
+        return durationMs == 0 ? deleted : deleted * 1000.0 / durationMs;
+    }
+}
@@ -0,0 +1,278 @@
+package com.bookstore.api.clients;
+
+import com.bookstore.api.config.ApiConfig;
+import com.bookstore.api.config.ConfigurationManager;
+import com.bookstore.api.traffic.TrafficMode;
+import com.bookstore.api.utils.WireCodec;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Remembers the IDs of books and authors created during the run and deletes
+ * them afterwards in one go, instead of each test paying for its own DELETE.
+ * <p>
+ * Records are grouped by owner, normally the test class that created them:
+ * {@code BaseTest} sets the owner of the test thread with {@link #setOwner},
+ * and the async clients capture it when a request is sent.
+ * {@link #cleanup(String)} deletes one owner's records, so a class that
+ * finishes early does not delete records that classes still running in
+ * parallel rely on. {@link #cleanup()} deletes everything. The clients
+ * untrack records that a test deletes itself, so cleanup does not delete them
+ * a second time.
+ * <p>
+ * {@link #cleanup()} sends the deletes through the async clients in batches of
+ * {@code cleanup.batch.size}, with at most {@code cleanup.max.in.flight}
+ * requests outstanding. Failed deletes (connection errors, 429 and 5xx) are
+ * retried up to {@code cleanup.retries} times; 404 counts as deleted.
+ */
+public final class ResourceTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(ResourceTracker.class);
+
+    private static final long RETRY_BACKOFF_MS = 100;
+    private static final long BATCH_TIMEOUT_SECONDS = 60;
+
+    /** Owner of records created outside any test class, e.g. in suite setup */
+    public static final String SUITE_OWNER = "";
+
+    private static final ThreadLocal<String> OWNER = ThreadLocal.withInitial(() -> SUITE_OWNER);
+
+    private static volatile ResourceTracker instance;
+
+    // owner -> type -> IDs
+    private final Map<String, Map<ResourceType, Set<Integer>>> created = new ConcurrentHashMap<>();
+
+    private ResourceTracker() {
+    }
+
+    public static ResourceTracker getInstance() {
+        if (instance == null) {
+            synchronized (ResourceTracker.class) {
+                if (instance == null) {
+                    instance = new ResourceTracker();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Makes {@code owner} the owner of records created on the calling thread from now on.
+     */
+    public static void setOwner(String owner) {
+        OWNER.set(owner != null ? owner : SUITE_OWNER);
+    }
+
+    public static void clearOwner() {
+        OWNER.remove();
+    }
+
+    /**
+     * @return the owner of records created on the calling thread
+     */
+    public static String currentOwner() {
+        return OWNER.get();
+    }
+
+    public void track(ResourceType type, int id) {
+        track(currentOwner(), type, id);
+    }
+
+    public void track(String owner, ResourceType type, int id) {
+        if (id > 0 && ConfigurationManager.getConfig().cleanupEnabled()) {
+            created.computeIfAbsent(owner, ignored -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(type, ignored -> ConcurrentHashMap.newKeySet())
+                    .add(id);
+        }
+    }
+
+    /**
+     * Tracks the record a successful create call returned, if it has an ID.
+     */
+    public void trackCreated(ResourceType type, Response response) {
+        if (response.getStatusCode() / 100 == 2) {
+            track(type, idOf(response.asByteArray()));
+        }
+    }
+
+    /**
+     * @param owner the owner captured when the request was sent; completions run on other threads
+     */
+    public void trackCreated(String owner, ResourceType type, AsyncResponse response) {
+        if (response.getStatusCode() / 100 == 2 && response.asString() != null) {
+            track(owner, type, idOf(response.asString().getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    /**
+     * Forgets a record, whichever owner created it.
+     */
+    public void untrack(ResourceType type, int id) {
+        for (Map<ResourceType, Set<Integer>> types : created.values()) {
+            Set<Integer> ids = types.get(type);
+            if (ids != null) {
+                ids.remove(id);
+            }
+        }
+    }
+
+    /**
+     * Untracks the record a successful delete call removed.
+     */
+    public void untrackDeleted(ResourceType type, int id, Response response) {
+        if (response.getStatusCode() / 100 == 2) {
+            untrack(type, id);
+        }
+    }
+
+    public void untrackDeleted(ResourceType type, int id, AsyncResponse response) {
+        if (response.getStatusCode() / 100 == 2) {
+            untrack(type, id);
+        }
+    }
+
+    public int getTrackedCount() {
+        return created.values().stream()
+                .flatMap(types -> types.values().stream())
+                .mapToInt(Set::size)
+                .sum();
+    }
+
+    public int getTrackedCount(String owner) {
+        Map<ResourceType, Set<Integer>> types = created.get(owner);
+        return types == null ? 0 : types.values().stream().mapToInt(Set::size).sum();
+    }
+
+    /**
+     * Deletes everything tracked so far, by any owner, and forgets it whether or not the delete succeeded.
+     */
+    public CleanupReport cleanup() {
+        List<Pending> pending = new ArrayList<>();
+        for (Map<ResourceType, Set<Integer>> types : created.values()) {
+            drain(types, pending);
+        }
+        return delete(pending);
+    }
+
+    /**
+     * Deletes what {@code owner} created and forgets it; other owners' records are left alone.
+     */
+    public CleanupReport cleanup(String owner) {
+        List<Pending> pending = new ArrayList<>();
+        Map<ResourceType, Set<Integer>> types = created.get(owner);
+        if (types != null) {
+            drain(types, pending);
+        }
+        return delete(pending);
+    }
+
+    private static void drain(Map<ResourceType, Set<Integer>> types, List<Pending> pending) {
+        types.forEach((type, ids) -> {
+            for (Integer id : ids) {
+                if (ids.remove(id)) {
+                    pending.add(new Pending(type, id));
+                }
+            }
+        });
+    }
+
+    private CleanupReport delete(List<Pending> pending) {
+        ApiConfig config = ConfigurationManager.getConfig();
+        if (pending.isEmpty()) {
+            return new CleanupReport(0, 0, 0, 0, 0);
+        }
+        if (TrafficMode.from(config.trafficMode()) == TrafficMode.REPLAY) {
+            log.info("Skipping cleanup of {} records: a replayed run creates nothing on the API", pending.size());
+            return new CleanupReport(pending.size(), 0, 0, 0, 0);
+        }
+
+        long startNanos = System.nanoTime();
+        Semaphore inFlight = new Semaphore(Math.max(1, config.cleanupMaxInFlight()));
+        int batchSize = Math.max(1, config.cleanupBatchSize());
+        AtomicInteger deleted = new AtomicInteger();
+        AtomicInteger retries = new AtomicInteger();
+        for (int from = 0; from < pending.size(); from += batchSize) {
+            List<Pending> batch = pending.subList(from, Math.min(pending.size(), from + batchSize));
+            List<CompletableFuture<Boolean>> deletes = new ArrayList<>(batch.size());
+            for (Pending record : batch) {
+                inFlight.acquireUninterruptibly();
+                deletes.add(delete(record, config.cleanupRetries(), retries)
+                        .whenComplete((ok, error) -> inFlight.release()));
+            }
+            try {
+                CompletableFuture.allOf(deletes.toArray(new CompletableFuture[0])).get(BATCH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                log.warn("Cleanup batch did not complete: {}", e.toString());
+            }
+            for (CompletableFuture<Boolean> delete : deletes) {
+                if (Boolean.TRUE.equals(delete.getNow(false))) {
+                    deleted.incrementAndGet();
+                }
+            }
+        }
+
+        CleanupReport report = new CleanupReport(pending.size(), deleted.get(), pending.size() - deleted.get(),
+                retries.get(), (System.nanoTime() - startNanos) / 1_000_000);
+        log.info("Cleaned up {} of {} created records in {} ms ({} failed, {} retries)",
+                report.getDeleted(), report.getRequested(), report.getDurationMs(), report.getFailed(), report.getRetries());
+        return report;
+    }
+
+    private static CompletableFuture<Boolean> delete(Pending record, int retriesLeft, AtomicInteger retries) {
+        return record.type.delete(record.id)
+                .handle((response, error) -> {
+                    if (error == null && !isRetryable(response.getStatusCode())) {
+                        return CompletableFuture.completedFuture(response.getStatusCode() / 100 == 2
+                                || response.getStatusCode() == 404);
+                    }
+                    if (retriesLeft <= 0) {
+                        log.warn("Failed to delete {} {}: {}", record.type, record.id, error != null ? error.toString() : response);
+                        return CompletableFuture.completedFuture(false);
+                    }
+                    retries.incrementAndGet();
+                    Executor delayed = CompletableFuture.delayedExecutor(RETRY_BACKOFF_MS, TimeUnit.MILLISECONDS);
+                    return CompletableFuture.supplyAsync(() -> null, delayed)
+                            .thenCompose(ignored -> delete(record, retriesLeft - 1, retries));
+                })
+                .thenCompose(result -> result);
+    }
+
+    private static boolean isRetryable(int statusCode) {
+        return statusCode == 429 || statusCode >= 500;
+    }
+
+    private static int idOf(byte[] body) {
+        try {
+            JsonNode root = WireCodec.getObjectMapper().readTree(body);
+            return root != null && root.path("id").canConvertToInt() ? root.path("id").asInt() : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static final class Pending {
+
+        private final ResourceType type;
+        private final int id;
+
+        private Pending(ResourceType type, int id) {
+            this.type = type;
+            this.id = id;
+        }
+    }
+}
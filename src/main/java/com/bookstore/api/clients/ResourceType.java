@@ -0,0 +1,27 @@
+package com.bookstore.api.clients;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Kinds of records a test run can create and {@link ResourceTracker} can delete.
+ */
+public enum ResourceType {
+
+    BOOK {
+        @Override
+        CompletableFuture<AsyncResponse> delete(int id) {
+            return BOOKS.deleteBook(id);
+        }
+    },
+    AUTHOR {
+        @Override
+        CompletableFuture<AsyncResponse> delete(int id) {
+            return AUTHORS.deleteAuthor(id);
+        }
+    };
+
+    private static final AsyncBooksApiClient BOOKS = new AsyncBooksApiClient();
+    private static final AsyncAuthorsApiClient AUTHORS = new AsyncAuthorsApiClient();
+
+    abstract CompletableFuture<AsyncResponse> delete(int id);
+}
@@ -0,0 +1,122 @@
+package com.bookstore.api.clients;
+
+import com.bookstore.api.utils.JsonArrayIterator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Response to a list request whose body has not been read yet. Elements are
+ * parsed from the connection as they are consumed, so memory use does not grow
+ * with the size of the list. The body can be consumed once; close the response
+ * (or the stream) when done so the connection is released.
+ * <pre>
+ * try (StreamingResponse&lt;Book&gt; response = booksApi.streamAllBooks()) {
+ *     response.stream().filter(book -&gt; book.getPageCount() &gt; 500).count();
+ * }
+ * </pre>
+ */
+public class StreamingResponse<T> implements AutoCloseable {
+
+    private final int statusCode;
+    private final HttpHeaders headers;
+    private final InputStream body;
+    private final Class<T> elementType;
+    private final long timeMs;
+    private boolean consumed;
+
+    public StreamingResponse(HttpResponse<InputStream> response, Class<T> elementType, long timeMs) {
+        this(response.statusCode(), response.headers(), response.body(), elementType, timeMs);
+    }
+
+    public StreamingResponse(int statusCode, HttpHeaders headers, InputStream body, Class<T> elementType, long timeMs) {
+        this.statusCode = statusCode;
+        this.headers = headers;
+        this.body = body;
+        this.elementType = elementType;
+        this.timeMs = timeMs;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public String getHeader(String name) {
+        return headers.firstValue(name).orElse(null);
+    }
+
+    public String getContentType() {
+        return getHeader("Content-Type");
+    }
+
+    /**
+     * @return milliseconds until the response headers were received
+     */
+    public long getTime() {
+        return timeMs;
+    }
+
+    public Iterator<T> iterator() {
+        if (consumed) {
+            throw new IllegalStateException("Response body has already been consumed");
+        }
+        if (statusCode >= 400) {
+            close();
+            throw new IllegalStateException("Cannot stream elements of a response with status " + statusCode);
+        }
+        consumed = true;
+        return new JsonArrayIterator<>(body, elementType);
+    }
+
+    /**
+     * @return a sequential stream of the elements, {@code null} for {@code null}
+     * elements; closing it closes the response
+     */
+    public Stream<T> stream() {
+        Iterator<T> elements = iterator();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(elements, Spliterator.ORDERED), false)
+                .onClose(this::close);
+    }
+
+    /**
+     * Passes every element to {@code action} and closes the response.
+     *
+     * @return the number of elements
+     */
+    public long forEach(Consumer<? super T> action) {
+        long count = 0;
+        try {
+            Iterator<T> elements = iterator();
+            while (elements.hasNext()) {
+                action.accept(elements.next());
+                count++;
+            }
+        } finally {
+            close();
+        }
+        return count;
+    }
+
+    @Override
+    public void close() {
+        consumed = true;
+        try {
+            body.close();
+        } catch (IOException e) {
+            // the connection is discarded by the client in this case
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "StreamingResponse(statusCode=" + statusCode + ", timeMs=" + timeMs + ")";
+    }
+}
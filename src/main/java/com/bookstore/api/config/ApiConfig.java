@@ -33,10 +33,66 @@ public interface ApiConfig extends Config {
     @DefaultValue("/Authors")
     String authorsEndpoint();
     
+    @Key("activities.endpoint")
+    @DefaultValue("/Activities")
+    String activitiesEndpoint();
+    
+    @Key("users.endpoint")
+    @DefaultValue("/Users")
+    String usersEndpoint();
+    
+    @Key("covers.endpoint")
+    @DefaultValue("/CoverPhotos")
+    String coversEndpoint();
+    
     @Key("retry.count")
     @DefaultValue("2")
     int retryCount();
     
+    @Key("retry.enabled")
+    @DefaultValue("true")
+    boolean retryEnabled();
+    
+    @Key("retry.non.idempotent")
+    @DefaultValue("false")
+    boolean retryNonIdempotent();
+    
+    @Key("retry.backoff.base.ms")
+    @DefaultValue("100")
+    long retryBackoffBaseMs();
+    
+    @Key("retry.backoff.max.ms")
+    @DefaultValue("2000")
+    long retryBackoffMaxMs();
+    
+    @Key("retry.budget.ratio")
+    @DefaultValue("0.1")
+    double retryBudgetRatio();
+    
+    @Key("retry.budget.burst")
+    @DefaultValue("10")
+    int retryBudgetBurst();
+    
+    @Key("circuit.breaker.enabled")
+    @DefaultValue("true")
+    boolean circuitBreakerEnabled();
+    
+    @Key("circuit.breaker.window")
+    @DefaultValue("20")
+    int circuitBreakerWindow();
+    
+    @Key("circuit.breaker.min.calls")
+    @DefaultValue("10")
+    int circuitBreakerMinCalls();
+    
+    @Key("circuit.breaker.failure.rate")
+    @DefaultValue("0.5")
+    double circuitBreakerFailureRate();
+    
+    @Key("circuit.breaker.open.ms")
+    @DefaultValue("5000")
+    long circuitBreakerOpenMs();
+    
     @Key("parallel.execution")
     @DefaultValue("true")
     boolean isParallelExecution();
@@ -45,6 +101,14 @@ public interface ApiConfig extends Config {
     @DefaultValue("5")
     int threadCount();
     
+    @Key("parallel.mode")
+    @DefaultValue("methods")
+    String parallelMode();
+    
+    @Key("thread.type")
+    @DefaultValue("virtual")
+    String threadType();
+    
     @Key("log.level")
     @DefaultValue("INFO")
     String logLevel();
@@ -57,6 +121,266 @@ public interface ApiConfig extends Config {
     @DefaultValue("true")
     boolean logResponses();
     
+    @Key("log.mode")
+    @DefaultValue("failure")
+    String logMode();
+    
+    @Key("log.buffer.exchanges")
+    @DefaultValue("20")
+    int logBufferExchanges();
+    
+    @Key("log.body.max.chars")
+    @DefaultValue("4096")
+    int logBodyMaxChars();
+    
+    @Key("allure.attach.mode")
+    @DefaultValue("failure")
+    String allureAttachMode();
+    
+    @Key("allure.attach.sample.rate")
+    @DefaultValue("0.05")
+    double allureAttachSampleRate();
+    
+    @Key("allure.attach.max.bytes")
+    @DefaultValue("65536")
+    int allureAttachMaxBytes();
+    
+    @Key("extent.flush.every.tests")
+    @DefaultValue("25")
+    int extentFlushEveryTests();
+    
+    @Key("extent.tests.per.report")
+    @DefaultValue("1000")
+    int extentTestsPerReport();
+    
+    @Key("http.pool.enabled")
+    @DefaultValue("true")
+    boolean httpPoolEnabled();
+    
+    @Key("http.pool.max.total")
+    @DefaultValue("50")
+    int httpPoolMaxTotal();
+    
+    @Key("http.pool.max.per.route")
+    @DefaultValue("20")
+    int httpPoolMaxPerRoute();
+    
+    @Key("http.pool.lease.timeout.ms")
+    @DefaultValue("10000")
+    long httpPoolLeaseTimeoutMs();
+    
+    @Key("http.pool.idle.timeout.ms")
+    @DefaultValue("30000")
+    long httpPoolIdleTimeoutMs();
+    
+    @Key("http.pool.eviction.interval.ms")
+    @DefaultValue("5000")
+    long httpPoolEvictionIntervalMs();
+    
+    @Key("http.keep.alive.ms")
+    @DefaultValue("30000")
+    long httpKeepAliveMs();
+    
+    @Key("json.blackbird.enabled")
+    @DefaultValue("false")
+    boolean jsonBlackbirdEnabled();
+    
+    @Key("fake.server.enabled")
+    @DefaultValue("false")
+    boolean fakeServerEnabled();
+    
+    @Key("fake.server.books")
+    @DefaultValue("200")
+    int fakeServerBooks();
+    
+    @Key("fake.server.authors")
+    @DefaultValue("600")
+    int fakeServerAuthors();
+    
+    @Key("fake.server.persist.writes")
+    @DefaultValue("false")
+    boolean fakeServerPersistWrites();
+    
+    @Key("fake.server.threads")
+    @DefaultValue("32")
+    int fakeServerThreads();
+    
+    @Key("traffic.mode")
+    @DefaultValue("live")
+    String trafficMode();
+    
+    @Key("traffic.store.path")
+    @DefaultValue("target/traffic")
+    String trafficStorePath();
+    
+    @Key("traffic.replay.strict")
+    @DefaultValue("false")
+    boolean trafficReplayStrict();
+    
+    @Key("data.seed")
+    @DefaultValue("0")
+    long dataSeed();
+    
+    @Key("data.corpus.size")
+    @DefaultValue("1000")
+    int dataCorpusSize();
+    
+    @Key("data.corpus.parallel")
+    @DefaultValue("true")
+    boolean dataCorpusParallel();
+    
+    @Key("id.range.min")
+    @DefaultValue("1000000")
+    long idRangeMin();
+    
+    @Key("id.range.max")
+    @DefaultValue("2147483647")
+    long idRangeMax();
+    
+    @Key("id.block.size")
+    @DefaultValue("100")
+    int idBlockSize();
+    
+    @Key("id.partition.index")
+    @DefaultValue("0")
+    int idPartitionIndex();
+    
+    @Key("id.partition.count")
+    @DefaultValue("1")
+    int idPartitionCount();
+    
+    @Key("cleanup.enabled")
+    @DefaultValue("true")
+    boolean cleanupEnabled();
+    
+    @Key("cleanup.scope")
+    @DefaultValue("suite")
+    String cleanupScope();
+    
+    @Key("cleanup.batch.size")
+    @DefaultValue("100")
+    int cleanupBatchSize();
+    
+    @Key("cleanup.max.in.flight")
+    @DefaultValue("16")
+    int cleanupMaxInFlight();
+    
+    @Key("cleanup.retries")
+    @DefaultValue("2")
+    int cleanupRetries();
+    
+    @Key("cache.enabled")
+    @DefaultValue("false")
+    boolean cacheEnabled();
+    
+    @Key("cache.ttl.ms")
+    @DefaultValue("5000")
+    long cacheTtlMs();
+    
+    @Key("cache.max.bytes")
+    @DefaultValue("33554432")
+    long cacheMaxBytes();
+    
+    @Key("metrics.enabled")
+    @DefaultValue("true")
+    boolean metricsEnabled();
+    
+    @Key("metrics.output.dir")
+    @DefaultValue("target/metrics")
+    String metricsOutputDir();
+    
+    @Key("latency.baseline.dir")
+    @DefaultValue("latency-baselines")
+    String latencyBaselineDir();
+    
+    @Key("latency.baseline.history")
+    @DefaultValue("20")
+    int latencyBaselineHistory();
+    
+    @Key("latency.gate.alpha")
+    @DefaultValue("0.01")
+    double latencyGateAlpha();
+    
+    @Key("latency.gate.min.effect")
+    @DefaultValue("0.33")
+    double latencyGateMinEffect();
+    
+    @Key("latency.gate.max.regression.percent")
+    @DefaultValue("20")
+    double latencyGateMaxRegressionPercent();
+    
+    @Key("latency.gate.min.samples")
+    @DefaultValue("20")
+    long latencyGateMinSamples();
+    
+    @Key("latency.gate.promote")
+    @DefaultValue("false")
+    boolean latencyGatePromote();
+    
+    @Key("hedge.enabled")
+    @DefaultValue("false")
+    boolean hedgeEnabled();
+    
+    @Key("hedge.delay.percentile")
+    @DefaultValue("95")
+    double hedgeDelayPercentile();
+    
+    @Key("hedge.delay.min.ms")
+    @DefaultValue("10")
+    long hedgeDelayMinMs();
+    
+    @Key("hedge.min.samples")
+    @DefaultValue("20")
+    int hedgeMinSamples();
+    
+    @Key("hedge.window.size")
+    @DefaultValue("1000")
+    int hedgeWindowSize();
+    
+    @Key("hedge.max.percent")
+    @DefaultValue("5")
+    double hedgeMaxPercent();
+    
+    @Key("rate.limit.rps")
+    @DefaultValue("0")
+    double rateLimitRps();
+    
+    @Key("rate.limit.burst")
+    @DefaultValue("10")
+    int rateLimitBurst();
+    
+    @Key("rate.limit.endpoints")
+    @DefaultValue("")
+    String rateLimitEndpoints();
+    
+    @Key("bulk.max.in.flight")
+    @DefaultValue("32")
+    int bulkMaxInFlight();
+    
+    @Key("load.target.rps")
+    @DefaultValue("20")
+    double loadTargetRps();
+    
+    @Key("load.duration.seconds")
+    @DefaultValue("30")
+    int loadDurationSeconds();
+    
+    @Key("load.max.in.flight")
+    @DefaultValue("1000")
+    int loadMaxInFlight();
+    
+    @Key("slo.warmup.iterations")
+    @DefaultValue("5")
+    int sloWarmupIterations();
+    
+    @Key("slo.iterations")
+    @DefaultValue("50")
+    int sloIterations();
+    
+    @Key("slo.concurrency")
+    @DefaultValue("4")
+    int sloConcurrency();
+    
     @Key("test.environment")
     @DefaultValue("QA")
     String environment();
@@ -4,24 +4,43 @@ import org.aeonbits.owner.ConfigFactory;
 
 public class ConfigurationManager {
     
-    private static ApiConfig config;
+    private static volatile ApiConfig config;
     
     private ConfigurationManager() {
     }
     
     public static ApiConfig getConfig() {
-        if (config == null) {
+        ApiConfig current = config;
+        if (current == null) {
             synchronized (ConfigurationManager.class) {
-                if (config == null) {
-                    config = ConfigFactory.create(ApiConfig.class);
+                current = config;
+                if (current == null) {
+                    current = ConfigFactory.create(ApiConfig.class);
+                    config = current;
                 }
             }
         }
-        return config;
+        return current;
     }
     
+    /**
+     * Re-reads all configuration sources. Only what is read per request follows
+     * the new values: the request specs cached in {@code SpecRegistry} are
+     * rebuilt on next access, and the clients, {@code ClientTraffic} and
+     * {@code ResourceTracker} read the config on every call, so
+     * {@code base.uri}, {@code traffic.mode} and the {@code cleanup.*} settings
+     * take effect at once.
+     * <p>
+     * Singletons built from the config on first use keep the values they were
+     * built with: {@code HttpTransport}, {@code AsyncHttpEngine},
+     * {@code RetryExecutor}, {@code RateLimits}, {@code HedgingExecutor},
+     * {@code ResponseCache}, {@code DataCorpus} and {@code IdAllocator}. Their
+     * settings must be in place before the first request, e.g. as system
+     * properties on the command line.
+     */
     public static void reload() {
-        config = null;
-        getConfig();
+        synchronized (ConfigurationManager.class) {
+            config = ConfigFactory.create(ApiConfig.class);
+        }
     }
 }
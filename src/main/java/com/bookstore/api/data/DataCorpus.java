@@ -0,0 +1,185 @@
+package com.bookstore.api.data;
+
+import com.bookstore.api.config.ApiConfig;
+import com.bookstore.api.config.ConfigurationManager;
+import com.bookstore.api.models.Author;
+import com.bookstore.api.models.Book;
+import com.bookstore.api.traffic.TrafficMode;
+import com.bookstore.api.traffic.TrafficRecorder;
+import com.bookstore.api.traffic.TrafficReplayer;
+import com.github.javafaker.Faker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Pre-generated books and authors, built once from a seed and then served
+ * without touching Faker.
+ * <p>
+ * The corpus is generated in fixed-size chunks, each from its own seeded
+ * {@link Random}, so the same seed always yields the same corpus whether the
+ * chunks are generated in parallel or not. Every thread reads through its own
+ * cursor, starting at a different offset, so serving data takes no locks; a
+ * single-threaded run with the same seed sees the same sequence of records.
+ * <p>
+ * {@code data.seed=0} picks a fresh seed per run and logs it, so a failing run
+ * can be repeated with {@code -Ddata.seed=<logged seed>}. With
+ * {@code traffic.mode=record} the seed is saved in the traffic store, and
+ * {@code traffic.mode=replay} reuses it, so replayed requests carry the bodies
+ * that were recorded.
+ */
+public final class DataCorpus {
+
+    private static final Logger log = LoggerFactory.getLogger(DataCorpus.class);
+
+    private static final int CHUNK_SIZE = 256;
+    private static final int CURSOR_STRIDE = 7919;
+    private static final int MAX_BOOK_ID = 10000;
+    private static final int MAX_AGE_DAYS = 3650;
+    // Dates are relative to a fixed instant so the corpus does not change from day to day
+    private static final LocalDateTime BASE_DATE = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final DateTimeFormatter formatter = DateTimeFormatter.ISO_DATE_TIME;
+
+    private static volatile DataCorpus instance;
+
+    private final long seed;
+    private final Book[] books;
+    private final Author[] authors;
+    private final AtomicInteger threads = new AtomicInteger();
+    private final ThreadLocal<int[]> cursors = ThreadLocal.withInitial(this::newCursor);
+
+    private DataCorpus(long seed, Book[] books, Author[] authors) {
+        this.seed = seed;
+        this.books = books;
+        this.authors = authors;
+    }
+
+    /**
+     * The corpus shared by the test suite, configured from {@code data.*}.
+     */
+    public static DataCorpus getInstance() {
+        if (instance == null) {
+            synchronized (DataCorpus.class) {
+                if (instance == null) {
+                    ApiConfig config = ConfigurationManager.getConfig();
+                    instance = generate(seedFor(config), config.dataCorpusSize(), config.dataCorpusParallel());
+                }
+            }
+        }
+        return instance;
+    }
+
+    private static long seedFor(ApiConfig config) {
+        TrafficMode mode = TrafficMode.from(config.trafficMode());
+        Path store = Path.of(config.trafficStorePath());
+        if (mode == TrafficMode.REPLAY) {
+            long recorded = TrafficReplayer.recordedSeed(store);
+            if (recorded == 0) {
+                log.warn("{} has no saved data seed; request bodies will only match the recording if data.seed does", store);
+            } else {
+                if (config.dataSeed() != 0 && config.dataSeed() != recorded) {
+                    log.warn("Ignoring data.seed={}: replaying {} needs the recorded data.seed={}", config.dataSeed(), store, recorded);
+                }
+                return recorded;
+            }
+        }
+        long seed = config.dataSeed() != 0 ? config.dataSeed() : System.nanoTime();
+        if (mode == TrafficMode.RECORD) {
+            TrafficRecorder.saveSeed(store, seed);
+        }
+        return seed;
+    }
+
+    /**
+     * Generates {@code size} books and {@code size} authors from {@code seed}.
+     */
+    public static DataCorpus generate(long seed, int size, boolean parallel) {
+        long startNanos = System.nanoTime();
+        int count = Math.max(1, size);
+        Book[] books = new Book[count];
+        Author[] authors = new Author[count];
+        int chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        // Creating a Faker loads its YAML dictionaries, so each worker thread reuses one and only reseeds it per chunk
+        ThreadLocal<Random> randoms = ThreadLocal.withInitial(Random::new);
+        ThreadLocal<Faker> fakers = ThreadLocal.withInitial(() -> new Faker(randoms.get()));
+        IntStream range = IntStream.range(0, chunks);
+        (parallel ? range.parallel() : range).forEach(chunk -> {
+            Random random = randoms.get();
+            random.setSeed(seed * 31 + chunk);
+            generateChunk(chunk, random, fakers.get(), books, authors);
+        });
+        log.info("Test data corpus of {} books and {} authors generated in {} ms with data.seed={}",
+                count, count, (System.nanoTime() - startNanos) / 1_000_000, seed);
+        return new DataCorpus(seed, books, authors);
+    }
+
+    /**
+     * @return a new copy of the calling thread's next book, without an ID
+     */
+    public Book nextBook() {
+        Book template = books[next(0, books.length)];
+        return Book.builder()
+                .title(template.getTitle())
+                .description(template.getDescription())
+                .pageCount(template.getPageCount())
+                .excerpt(template.getExcerpt())
+                .publishDate(template.getPublishDate())
+                .build();
+    }
+
+    /**
+     * @return a new copy of the calling thread's next author, without an ID
+     */
+    public Author nextAuthor() {
+        Author template = authors[next(1, authors.length)];
+        return Author.builder()
+                .idBook(template.getIdBook())
+                .firstName(template.getFirstName())
+                .lastName(template.getLastName())
+                .build();
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int size() {
+        return books.length;
+    }
+
+    private int next(int kind, int length) {
+        int[] cursor = cursors.get();
+        int index = cursor[kind];
+        cursor[kind] = index + 1 == length ? 0 : index + 1;
+        return index;
+    }
+
+    private int[] newCursor() {
+        int start = (int) ((long) threads.getAndIncrement() * CURSOR_STRIDE % books.length);
+        return new int[]{start, start};
+    }
+
+    private static void generateChunk(int chunk, Random random, Faker faker, Book[] books, Author[] authors) {
+        int end = Math.min(books.length, (chunk + 1) * CHUNK_SIZE);
+        for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+            books[i] = Book.builder()
+                    .title(faker.book().title())
+                    .description(faker.lorem().paragraph())
+                    .pageCount(random.nextInt(900) + 100)
+                    .excerpt(faker.lorem().sentence())
+                    .publishDate(BASE_DATE.minusDays(random.nextInt(MAX_AGE_DAYS - 1) + 1).format(formatter))
+                    .build();
+            authors[i] = Author.builder()
+                    .idBook(random.nextInt(MAX_BOOK_ID - 1) + 1)
+                    .firstName(faker.name().firstName())
+                    .lastName(faker.name().lastName())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.bookstore.api.data;
+
+import com.bookstore.api.config.ApiConfig;
+import com.bookstore.api.config.ConfigurationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hands out IDs that are unique across threads, and across JVM forks that are
+ * given distinct partitions, without any coordination between them.
+ * <p>
+ * {@code [min, max]} is split evenly into {@code partitionCount} partitions and
+ * this JVM only uses partition {@code partitionIndex}. Within it, each thread
+ * claims a block of {@code blockSize} consecutive IDs with one atomic add and
+ * then serves IDs from that block on its own, so allocation is lock-free and
+ * almost always touches no shared state. IDs left in a thread's block when
+ * the thread ends are not reused.
+ */
+public final class IdAllocator {
+
+    private static volatile IdAllocator instance;
+
+    private final long partitionStart;
+    private final long partitionEnd;
+    private final int blockSize;
+    private final AtomicLong nextBlock;
+    private final LongAdder allocated = new LongAdder();
+    private final LongAdder blocksClaimed = new LongAdder();
+    // {next ID, end of block (exclusive)}
+    private final ThreadLocal<long[]> blocks = ThreadLocal.withInitial(() -> new long[2]);
+
+    public IdAllocator(long min, long max, int blockSize, int partitionIndex, int partitionCount) {
+        if (min < 1 || max > Integer.MAX_VALUE || min > max) {
+            throw new IllegalArgumentException("ID range must be within 1.." + Integer.MAX_VALUE + ", got " + min + ".." + max);
+        }
+        if (partitionCount < 1 || partitionIndex < 0 || partitionIndex >= partitionCount) {
+            throw new IllegalArgumentException("Partition " + partitionIndex + " of " + partitionCount + " does not exist");
+        }
+        long partitionSize = (max - min + 1) / partitionCount;
+        if (partitionSize < 1) {
+            throw new IllegalArgumentException("ID range " + min + ".." + max + " is too small for " + partitionCount + " partitions");
+        }
+        this.partitionStart = min + partitionIndex * partitionSize;
+        this.partitionEnd = partitionIndex == partitionCount - 1 ? max + 1 : partitionStart + partitionSize;
+        this.blockSize = Math.max(1, blockSize);
+        this.nextBlock = new AtomicLong(partitionStart);
+    }
+
+    /**
+     * The allocator shared by the test suite, configured from {@code id.*}.
+     */
+    public static IdAllocator getInstance() {
+        if (instance == null) {
+            synchronized (IdAllocator.class) {
+                if (instance == null) {
+                    ApiConfig config = ConfigurationManager.getConfig();
+                    instance = new IdAllocator(config.idRangeMin(), config.idRangeMax(), config.idBlockSize(),
+                            config.idPartitionIndex(), config.idPartitionCount());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * @throws IllegalStateException when this partition has no IDs left
+     */
+    public int nextId() {
+        long[] block = blocks.get();
+        if (block[0] == block[1]) {
+            claimBlock(block);
+        }
+        allocated.increment();
+        return (int) block[0]++;
+    }
+
+    public long getAllocatedCount() {
+        return allocated.sum();
+    }
+
+    public long getBlocksClaimed() {
+        return blocksClaimed.sum();
+    }
+
+    /**
+     * @return IDs in this partition not yet claimed by any thread
+     */
+    public long getUnclaimedCount() {
+        return Math.max(0, partitionEnd - nextBlock.get());
+    }
+
+    public long getPartitionStart() {
+        return partitionStart;
+    }
+
+    /**
+     * @return the first ID after this partition
+     */
+    public long getPartitionEnd() {
+        return partitionEnd;
+    }
+
+    private void claimBlock(long[] block) {
+        long start = nextBlock.getAndAdd(blockSize);
+        if (start >= partitionEnd) {
+            throw new IllegalStateException("ID partition " + partitionStart + ".." + (partitionEnd - 1) + " is exhausted");
+        }
+        block[0] = start;
+        block[1] = Math.min(start + blockSize, partitionEnd);
+        blocksClaimed.increment();
+    }
+}
@@ -2,32 +2,22 @@ package com.bookstore.api.data;
 
 import com.bookstore.api.models.Author;
 import com.bookstore.api.models.Book;
-import com.github.javafaker.Faker;
-
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.concurrent.ThreadLocalRandom;
 
+/**
+ * Test data for create/update tests. Random books and authors are served from
+ * the seeded {@link DataCorpus}; each call returns a new, mutable object. IDs
+ * come from {@link IdAllocator}, so no two threads or forks send the same one.
+ */
 public class TestDataFactory {
     
-    private static final Faker faker = new Faker();
-    private static final DateTimeFormatter formatter = DateTimeFormatter.ISO_DATE_TIME;
-    
     public static Book createRandomBook() {
-        return Book.builder()
-                .id(generateRandomId())
-                .title(faker.book().title())
-                .description(faker.lorem().paragraph())
-                .pageCount(ThreadLocalRandom.current().nextInt(100, 1000))
-                .excerpt(faker.lorem().sentence())
-                .publishDate(generateRandomDate())
-                .build();
+        Book book = DataCorpus.getInstance().nextBook();
+        book.setId(IdAllocator.getInstance().nextId());
+        return book;
     }
     
     public static Book createBookWithoutId() {
-        Book book = createRandomBook();
-        book.setId(null);
-        return book;
+        return DataCorpus.getInstance().nextBook();
     }
     
     public static Book createInvalidBook() {
@@ -42,18 +32,13 @@ public class TestDataFactory {
     }
     
     public static Author createRandomAuthor() {
-        return Author.builder()
-                .id(generateRandomId())
-                .idBook(generateRandomId())
-                .firstName(faker.name().firstName())
-                .lastName(faker.name().lastName())
-                .build();
+        Author author = DataCorpus.getInstance().nextAuthor();
+        author.setId(IdAllocator.getInstance().nextId());
+        return author;
     }
     
     public static Author createAuthorWithoutId() {
-        Author author = createRandomAuthor();
-        author.setId(null);
-        return author;
+        return DataCorpus.getInstance().nextAuthor();
     }
     
     public static Author createInvalidAuthor() {
@@ -64,14 +49,4 @@ public class TestDataFactory {
                 .lastName("")
                 .build();
     }
-    
-    private static Integer generateRandomId() {
-        return ThreadLocalRandom.current().nextInt(1, 10000);
-    }
-    
-    private static String generateRandomDate() {
-        LocalDateTime randomDate = LocalDateTime.now()
-                .minusDays(ThreadLocalRandom.current().nextInt(1, 3650));
-        return randomDate.format(formatter);
-    }
 }
@@ -0,0 +1,113 @@
+package com.bookstore.api.http;
+
+import com.bookstore.api.config.ApiConfig;
+import com.bookstore.api.config.ConfigurationManager;
+import com.bookstore.api.metrics.LatencyMetrics;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Shared non-blocking HTTP engine based on {@link java.net.http.HttpClient}.
+ * <p>
+ * Requests are multiplexed over the client's selector thread, so thousands of
+ * requests can be in flight without a thread parked per request. The engine is
+ * created lazily from the current {@link ApiConfig}.
+ * <p>
+ * With {@code metrics.enabled}, every request is recorded in
+ * {@link LatencyMetrics} like REST Assured requests are by {@code MetricsFilter}:
+ * async and bulk calls and streamed lists. Hedged GETs are timed by
+ * {@code MetricsFilter}, so their attempts are sent unrecorded.
+ */
+public final class AsyncHttpEngine {
+
+    private static volatile AsyncHttpEngine instance;
+
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+    private final boolean metricsEnabled;
+
+    private AsyncHttpEngine(ApiConfig config) {
+        requestTimeout = Duration.ofMillis(config.timeout());
+        metricsEnabled = config.metricsEnabled();
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(requestTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    public static AsyncHttpEngine getInstance() {
+        AsyncHttpEngine current = instance;
+        if (current == null) {
+            synchronized (AsyncHttpEngine.class) {
+                current = instance;
+                if (current == null) {
+                    current = new AsyncHttpEngine(ConfigurationManager.getConfig());
+                    instance = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    public <T> CompletableFuture<HttpResponse<T>> send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) {
+        return send(request, bodyHandler, true);
+    }
+
+    /**
+     * @param recordLatency false when the caller's latency is recorded elsewhere
+     * @return the client's own future, so cancelling it cancels the exchange
+     */
+    public <T> CompletableFuture<HttpResponse<T>> send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler,
+                                                       boolean recordLatency) {
+        long startNanos = System.nanoTime();
+        CompletableFuture<HttpResponse<T>> response = httpClient.sendAsync(request, bodyHandler);
+        if (metricsEnabled && recordLatency) {
+            response.whenComplete((result, error) -> {
+                if (!isCancellation(error)) {
+                    record(request, result != null ? result.statusCode() : 0, startNanos);
+                }
+            });
+        }
+        return response;
+    }
+
+    /**
+     * Blocking send; with a streaming body handler the latency is the time to the response headers.
+     */
+    public <T> HttpResponse<T> sendAndWait(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler)
+            throws IOException, InterruptedException {
+        long startNanos = System.nanoTime();
+        int statusCode = 0;
+        try {
+            HttpResponse<T> response = httpClient.send(request, bodyHandler);
+            statusCode = response.statusCode();
+            return response;
+        } finally {
+            if (metricsEnabled) {
+                record(request, statusCode, startNanos);
+            }
+        }
+    }
+
+    private static void record(HttpRequest request, int statusCode, long startNanos) {
+        LatencyMetrics.getInstance().record(request.method(), request.uri().getRawPath(),
+                statusCode, System.nanoTime() - startNanos);
+    }
+
+    private static boolean isCancellation(Throwable error) {
+        // The client may report a cancelled exchange wrapped in a CompletionException
+        return error instanceof CancellationException
+                || error instanceof CompletionException && error.getCause() instanceof CancellationException;
+    }
+}
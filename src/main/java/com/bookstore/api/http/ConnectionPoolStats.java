@@ -0,0 +1,18 @@
+package com.bookstore.api.http;
+
+import lombok.Value;
+
+/**
+ * Point-in-time view of the shared connection pool. {@code connectionsOpened}
+ * is cumulative, so a value that keeps growing while {@code available} stays
+ * low means connections are being churned rather than reused.
+ */
+@Value
+public class ConnectionPoolStats {
+
+    int leased;
+    int available;
+    int pending;
+    int max;
+    long connectionsOpened;
+}
@@ -0,0 +1,177 @@
+package com.bookstore.api.http;
+
+import com.bookstore.api.config.ApiConfig;
+import com.bookstore.api.config.ConfigurationManager;
+import io.restassured.config.HttpClientConfig;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHost;
+import org.apache.http.client.params.ClientPNames;
+import org.apache.http.conn.ClientConnectionOperator;
+import org.apache.http.conn.OperatedClientConnection;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.DefaultClientConnectionOperator;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.util.EntityUtils;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared, pooled HTTP transport used by every REST Assured request.
+ * <p>
+ * By default REST Assured creates a new {@link DefaultHttpClient} (and with it
+ * a new connection) per request. This class keeps a single client backed by a
+ * {@link PoolingClientConnectionManager} so keep-alive connections are reused
+ * across requests and threads. REST Assured 5.x still requires an
+ * {@code AbstractHttpClient}, which is why the 4.x connection manager API is
+ * used here.
+ * <p>
+ * Every response body is read into memory as soon as it arrives, which
+ * hands the connection back to the pool whether or not the caller reads it.
+ * A request waits at most {@code http.pool.lease.timeout.ms} for a free
+ * connection.
+ * <p>
+ * Pool limits are read from {@link ApiConfig} when the transport is first used.
+ */
+// The 4.x client API is deprecated, but REST Assured needs it; see above
+@SuppressWarnings("deprecation")
+public final class HttpTransport {
+
+    private static volatile HttpTransport instance;
+
+    private final CountingConnectionManager connectionManager;
+    private final DefaultHttpClient httpClient;
+    private final ScheduledExecutorService evictor;
+
+    private HttpTransport(ApiConfig config) {
+        connectionManager = new CountingConnectionManager(SchemeRegistryFactory.createDefault());
+        connectionManager.setMaxTotal(config.httpPoolMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(config.httpPoolMaxPerRoute());
+
+        httpClient = new DefaultHttpClient(connectionManager);
+        HttpParams params = httpClient.getParams();
+        HttpConnectionParams.setConnectionTimeout(params, config.timeout());
+        HttpConnectionParams.setSoTimeout(params, config.timeout());
+        params.setLongParameter(ClientPNames.CONN_MANAGER_TIMEOUT, config.httpPoolLeaseTimeoutMs());
+
+        // The connection only goes back to the pool once its entity has been read to the end.
+        // REST Assured buffers bodies lazily, so a caller that only checks the status would keep
+        // it leased forever; reading the entity here releases it as soon as the response arrives.
+        httpClient.addResponseInterceptor((response, context) -> {
+            HttpEntity entity = response.getEntity();
+            if (entity != null && entity.isStreaming()) {
+                response.setEntity(new ByteArrayEntity(EntityUtils.toByteArray(entity), ContentType.get(entity)));
+            }
+        });
+
+        long keepAliveMs = config.httpKeepAliveMs();
+        httpClient.setKeepAliveStrategy((response, context) -> {
+            long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return serverKeepAlive > 0 ? serverKeepAlive : keepAliveMs;
+        });
+
+        long idleTimeoutMs = config.httpPoolIdleTimeoutMs();
+        evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "http-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictor.scheduleWithFixedDelay(() -> {
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(idleTimeoutMs, TimeUnit.MILLISECONDS);
+        }, config.httpPoolEvictionIntervalMs(), config.httpPoolEvictionIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    public static HttpTransport getInstance() {
+        HttpTransport current = instance;
+        if (current == null) {
+            synchronized (HttpTransport.class) {
+                current = instance;
+                if (current == null) {
+                    current = new HttpTransport(ConfigurationManager.getConfig());
+                    instance = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * @return REST Assured client config that routes every request through the shared pool
+     */
+    public HttpClientConfig httpClientConfig() {
+        return HttpClientConfig.httpClientConfig()
+                .httpClientFactory(() -> httpClient)
+                .reuseHttpClientInstance();
+    }
+
+    public ConnectionPoolStats getPoolStats() {
+        PoolStats total = connectionManager.getTotalStats();
+        return new ConnectionPoolStats(
+                total.getLeased(),
+                total.getAvailable(),
+                total.getPending(),
+                total.getMax(),
+                connectionManager.operator.opened.get());
+    }
+
+    /**
+     * Closes all pooled connections. The next call to {@link #getInstance()}
+     * creates a new pool from the current configuration.
+     */
+    public static void shutdown() {
+        synchronized (HttpTransport.class) {
+            if (instance != null) {
+                instance.evictor.shutdownNow();
+                instance.connectionManager.shutdown();
+                instance = null;
+            }
+        }
+    }
+
+    private static final class CountingConnectionManager extends PoolingClientConnectionManager {
+
+        // Assigned from createConnectionOperator(), which the super constructor calls,
+        // so this field must not have an initializer.
+        private CountingConnectionOperator operator;
+
+        private CountingConnectionManager(SchemeRegistry schemeRegistry) {
+            super(schemeRegistry);
+        }
+
+        @Override
+        protected ClientConnectionOperator createConnectionOperator(SchemeRegistry schemeRegistry) {
+            operator = new CountingConnectionOperator(schemeRegistry);
+            return operator;
+        }
+    }
+
+    private static final class CountingConnectionOperator extends DefaultClientConnectionOperator {
+
+        private final AtomicLong opened = new AtomicLong();
+
+        private CountingConnectionOperator(SchemeRegistry schemeRegistry) {
+            super(schemeRegistry);
+        }
+
+        @Override
+        public void openConnection(OperatedClientConnection conn, HttpHost target, InetAddress local,
+                                   HttpContext context, HttpParams params) throws IOException {
+            super.openConnection(conn, target, local, context, params);
+            opened.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.bookstore.api.http;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.net.URI;
+
+/**
+ * Holds REST Assured requests back until {@link RateLimits} has a slot for
+ * them. It runs right after the response cache, so cache hits take no slot,
+ * and before the logging filters, so the time spent waiting does not show up
+ * as response time.
+ */
+public class RateLimitFilter implements OrderedFilter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        RateLimits.getInstance().acquire(URI.create(requestSpec.getURI()).getRawPath());
+        return ctx.next(requestSpec, responseSpec);
+    }
+
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE + 1;
+    }
+}
@@ -0,0 +1,66 @@
+package com.bookstore.api.http;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket implemented as GCRA (generic cell rate algorithm).
+ * <p>
+ * Instead of a token count that has to be refilled, the limiter keeps one
+ * number, the theoretical arrival time (TAT) of the next request, and moves it
+ * forward by one emission interval per request with a compare-and-set. A
+ * request may go at {@code TAT - burst tolerance} at the earliest, so up to
+ * {@code burst} requests can go back to back after an idle period, and after
+ * that one per interval. Callers reserve a slot and are told how long to wait
+ * for it; nobody blocks while holding shared state.
+ */
+public final class RateLimiter {
+
+    private final String name;
+    private final double permitsPerSecond;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong theoreticalArrival;
+    private final LongSupplier nanoClock;
+
+    public RateLimiter(String name, double permitsPerSecond, int burst) {
+        this(name, permitsPerSecond, burst, System::nanoTime);
+    }
+
+    RateLimiter(String name, double permitsPerSecond, int burst, LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("Rate of " + name + " must be positive, got " + permitsPerSecond);
+        }
+        this.name = name;
+        this.permitsPerSecond = permitsPerSecond;
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+        this.toleranceNanos = intervalNanos * (Math.max(1, burst) - 1);
+        this.nanoClock = nanoClock;
+        this.theoreticalArrival = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Reserves the next slot.
+     *
+     * @return nanoseconds the caller has to wait before sending; 0 if it may send now
+     */
+    public long reserve() {
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long tat = theoreticalArrival.get();
+            long sendAt = Math.max(now, tat - toleranceNanos);
+            long nextTat = Math.max(tat, now) + intervalNanos;
+            if (theoreticalArrival.compareAndSet(tat, nextTat)) {
+                return sendAt - now;
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+}
@@ -0,0 +1,185 @@
+package com.bookstore.api.http;
+
+import com.bookstore.api.config.ApiConfig;
+import com.bookstore.api.config.ConfigurationManager;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * The client-side rate limits shared by every API client in the JVM: one
+ * {@link RateLimiter} for all requests ({@code rate.limit.rps}) and optional
+ * ones per endpoint ({@code rate.limit.endpoints}, e.g.
+ * {@code /Books=20,/Authors=10}, matched as whole leading path segments of
+ * the path after the API version, so {@code /Books} covers {@code /Books/3}
+ * but not {@code /BooksArchive}; the longest match wins). A request waits for a slot in both the
+ * global and its endpoint's limiter.
+ * <p>
+ * With no limits configured, {@link #reserve(String)} returns immediately.
+ */
+public final class RateLimits {
+
+    private static volatile RateLimits instance;
+
+    private final RateLimiter global;
+    private final String pathPrefix;
+    private final List<EndpointLimit> endpoints;
+    private final boolean enabled;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    // Microseconds
+    private final Histogram waits = new ConcurrentHistogram(3);
+
+    private RateLimits(ApiConfig config) {
+        this(config.rateLimitRps(), config.rateLimitBurst(), config.apiVersion(), config.rateLimitEndpoints(),
+                System::nanoTime);
+    }
+
+    RateLimits(double rps, int burst, String pathPrefix, String endpointSpec, LongSupplier nanoClock) {
+        this.global = rps > 0 ? new RateLimiter("global", rps, burst, nanoClock) : null;
+        this.pathPrefix = pathPrefix;
+        this.endpoints = parseEndpoints(endpointSpec, burst, nanoClock);
+        this.enabled = global != null || !endpoints.isEmpty();
+    }
+
+    public static RateLimits getInstance() {
+        if (instance == null) {
+            synchronized (RateLimits.class) {
+                if (instance == null) {
+                    instance = new RateLimits(ConfigurationManager.getConfig());
+                }
+            }
+        }
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Reserves a slot for a request to {@code path} and records the wait.
+     *
+     * @return nanoseconds the caller has to wait before sending
+     */
+    public long reserve(String path) {
+        if (!enabled) {
+            return 0;
+        }
+        long wait = global != null ? global.reserve() : 0;
+        RateLimiter endpoint = endpointFor(path);
+        if (endpoint != null) {
+            wait = Math.max(wait, endpoint.reserve());
+        }
+        requests.increment();
+        if (wait > 0) {
+            throttled.increment();
+            waitNanos.add(wait);
+            waits.recordValue(wait / 1000);
+        }
+        return wait;
+    }
+
+    /**
+     * Blocks the calling thread until a request to {@code path} may be sent.
+     */
+    public void acquire(String path) {
+        long wait = reserve(path);
+        if (wait > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while rate limited", e);
+            }
+        }
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    /**
+     * @return requests that had to wait for a slot
+     */
+    public long getThrottledCount() {
+        return throttled.sum();
+    }
+
+    public double getTotalWaitMs() {
+        return waitNanos.sum() / 1_000_000.0;
+    }
+
+    public double getWaitMs(double percentile) {
+        return waits.getTotalCount() == 0 ? 0 : waits.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public double getMaxWaitMs() {
+        return waits.getTotalCount() == 0 ? 0 : waits.getMaxValue() / 1000.0;
+    }
+
+    private RateLimiter endpointFor(String path) {
+        if (endpoints.isEmpty()) {
+            return null;
+        }
+        String relative = path.startsWith(pathPrefix) ? path.substring(pathPrefix.length()) : path;
+        for (EndpointLimit endpoint : endpoints) {
+            if (endpoint.matches(relative)) {
+                return endpoint.limiter;
+            }
+        }
+        return null;
+    }
+
+    private static List<EndpointLimit> parseEndpoints(String spec, int burst, LongSupplier nanoClock) {
+        List<EndpointLimit> limits = new ArrayList<>();
+        if (spec == null || spec.isBlank()) {
+            return limits;
+        }
+        for (String entry : spec.split(",")) {
+            int separator = entry.lastIndexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("rate.limit.endpoints entry must be <path>=<rps>, got '" + entry + "'");
+            }
+            String prefix = entry.substring(0, separator).trim();
+            double rps = Double.parseDouble(entry.substring(separator + 1).trim());
+            limits.add(new EndpointLimit(prefix, new RateLimiter(prefix, rps, burst, nanoClock)));
+        }
+        // Longest prefix first, so the most specific limit applies
+        limits.sort(Comparator.comparingInt((EndpointLimit limit) -> limit.prefix.length()).reversed());
+        return limits;
+    }
+
+    private static final class EndpointLimit {
+
+        private final String prefix;
+        private final RateLimiter limiter;
+
+        private EndpointLimit(String prefix, RateLimiter limiter) {
+            this.prefix = prefix;
+            this.limiter = limiter;
+        }
+
+        /**
+         * @return whether {@code path} is the prefix itself or lies below it
+         */
+        private boolean matches(String path) {
+            if (!path.startsWith(prefix)) {
+                return false;
+            }
+            if (path.length() == prefix.length() || prefix.endsWith("/")) {
+                return true;
+            }
+            char next = path.charAt(prefix.length());
+            return next == '/' || next == '?';
+        }
+    }
+}
@@ -1,19 +1,77 @@
 package com.bookstore.api.listeners;
 
-import io.qameta.allure.Attachment;
+import com.bookstore.api.config.ApiConfig;
+import com.bookstore.api.config.ConfigurationManager;
+import com.bookstore.api.logging.ExchangeLogBuffer;
+import com.bookstore.api.logging.LoggedExchange;
+import com.bookstore.api.reporting.AllureAttachmentWriter;
+import com.bookstore.api.reporting.AttachmentMode;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
-public class AllureListener implements ITestListener {
-    
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Attaches the HTTP exchanges in the test's {@link ExchangeLogBuffer}, and the
+ * failure message, to the Allure report. Runs after the test method but before
+ * Allure closes the test, and only for the tests {@code allure.attach.mode}
+ * selects; the attachments themselves are written in the background by
+ * {@link AllureAttachmentWriter}.
+ */
+public class AllureListener implements ITestListener, IInvokedMethodListener {
+
     @Override
-    public void onTestFailure(ITestResult result) {
-        saveTextLog("Test Failed: " + result.getName());
-        saveTextLog("Error Message: " + result.getThrowable().getMessage());
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        if (!method.isTestMethod()) {
+            return;
+        }
+        ApiConfig config = ConfigurationManager.getConfig();
+        boolean failed = result.getStatus() == ITestResult.FAILURE;
+        if (!shouldAttach(AttachmentMode.from(config.allureAttachMode()), failed, config.allureAttachSampleRate())) {
+            return;
+        }
+
+        AllureAttachmentWriter writer = AllureAttachmentWriter.getInstance();
+        int maxBytes = config.allureAttachMaxBytes();
+        if (failed && result.getThrowable() != null) {
+            String message = "Test Failed: " + result.getName() + "\nError Message: " + result.getThrowable().getMessage();
+            writer.attachText("Failure", () -> message, maxBytes);
+        }
+        ExchangeLogBuffer buffer = ExchangeLogBuffer.current();
+        if (buffer == null) {
+            return;
+        }
+        for (LoggedExchange exchange : buffer.getExchanges()) {
+            String name = exchange.getMethod() + " " + exchange.getUri()
+                    + (exchange.getStatusLine() != null ? " -> " + exchange.getStatusLine() : " -> failed");
+            writer.attachText(name, () -> {
+                StringBuilder out = new StringBuilder(1024);
+                exchange.format(out);
+                return out.toString();
+            }, maxBytes);
+        }
     }
-    
-    @Attachment(value = "{0}", type = "text/plain")
-    public String saveTextLog(String message) {
-        return message;
+
+    @Override
+    public void onFinish(ITestContext context) {
+        if (AttachmentMode.from(ConfigurationManager.getConfig().allureAttachMode()) != AttachmentMode.OFF) {
+            AllureAttachmentWriter.getInstance().flush();
+        }
+    }
+
+    private static boolean shouldAttach(AttachmentMode mode, boolean failed, double sampleRate) {
+        switch (mode) {
+            case ALWAYS:
+                return true;
+            case FAILURE:
+                return failed;
+            case SAMPLED:
+                return failed || ThreadLocalRandom.current().nextDouble() < sampleRate;
+            default:
+                return false;
+        }
     }
 }
@@ -0,0 +1,60 @@
+package com.bookstore.api.listeners;
+
+import com.bookstore.api.config.ApiConfig;
+import com.bookstore.api.config.ConfigurationManager;
+import com.bookstore.api.logging.ExchangeLogBuffer;
+import com.bookstore.api.logging.ExchangeLogWriter;
+import com.bookstore.api.logging.LogMode;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+/**
+ * Gives every test its own {@link ExchangeLogBuffer} and hands the buffer to
+ * the {@link ExchangeLogWriter} when the test fails, or after every test with
+ * {@code log.mode=always}. The buffer is also kept with {@code log.mode=off}
+ * while Allure attachments are enabled, since {@link AllureListener} reads it.
+ */
+public class ExchangeLogListener implements ITestListener {
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        ApiConfig config = ConfigurationManager.getConfig();
+        if (ExchangeLogBuffer.isEnabled(config)) {
+            ExchangeLogBuffer.begin(testName(result), config.logBufferExchanges());
+        }
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        finish(LogMode.from(ConfigurationManager.getConfig().logMode()) == LogMode.ALWAYS);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        finish(LogMode.from(ConfigurationManager.getConfig().logMode()) != LogMode.OFF);
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        finish(LogMode.from(ConfigurationManager.getConfig().logMode()) == LogMode.ALWAYS);
+    }
+
+    @Override
+    public void onFinish(ITestContext context) {
+        if (LogMode.from(ConfigurationManager.getConfig().logMode()) != LogMode.OFF) {
+            ExchangeLogWriter.getInstance().flush();
+        }
+    }
+
+    private static void finish(boolean write) {
+        ExchangeLogBuffer buffer = ExchangeLogBuffer.end();
+        if (write && buffer != null && !buffer.isEmpty()) {
+            ExchangeLogWriter.getInstance().write(buffer.getTestName(), buffer.getExchanges(), buffer.getDroppedCount());
+        }
+    }
+
+    private static String testName(ITestResult result) {
+        return result.getTestClass().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName();
+    }
+}
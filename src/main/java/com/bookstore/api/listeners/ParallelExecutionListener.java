@@ -0,0 +1,64 @@
+package com.bookstore.api.listeners;
+
+import com.bookstore.api.config.ApiConfig;
+import com.bookstore.api.config.ConfigurationManager;
+import com.bookstore.api.traffic.TrafficMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Applies {@code parallel.execution}, {@code parallel.mode} and {@code thread.count}
+ * from {@link ApiConfig} to every suite before it runs, so parallelism is
+ * controlled from configuration rather than hardcoded in testng.xml.
+ * Data provider rows use the same thread count as test methods.
+ * <p>
+ * With {@code traffic.mode=record} or {@code replay} suites run serially:
+ * test data and IDs are handed out per thread in the order threads ask for
+ * them, so only a serial run sends the same request bodies every time.
+ */
+public class ParallelExecutionListener implements IAlterSuiteListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ParallelExecutionListener.class);
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        ApiConfig config = ConfigurationManager.getConfig();
+        TrafficMode trafficMode = TrafficMode.from(config.trafficMode());
+        for (XmlSuite suite : suites) {
+            if (config.isParallelExecution() && trafficMode != TrafficMode.LIVE) {
+                log.warn("Suite '{}' runs serially: traffic.mode={} needs the same request bodies on every run",
+                        suite.getName(), config.trafficMode());
+            }
+            if (!config.isParallelExecution() || trafficMode != TrafficMode.LIVE) {
+                suite.setParallel(XmlSuite.ParallelMode.NONE);
+                continue;
+            }
+            XmlSuite.ParallelMode mode = parallelMode(config.parallelMode());
+            suite.setParallel(mode);
+            suite.setThreadCount(config.threadCount());
+            suite.setDataProviderThreadCount(config.threadCount());
+            log.info("Suite '{}' runs {} in parallel on {} threads", suite.getName(), mode, config.threadCount());
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException for anything but a TestNG parallel mode, instead of
+     *                                  TestNG's silent fallback to running serially
+     */
+    static XmlSuite.ParallelMode parallelMode(String value) {
+        String name = value == null ? "" : value.trim();
+        for (XmlSuite.ParallelMode mode : XmlSuite.ParallelMode.values()) {
+            if (mode.toString().equalsIgnoreCase(name)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Unknown parallel.mode '" + value + "', expected one of "
+                + Arrays.toString(XmlSuite.ParallelMode.values()).toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,108 @@
+package com.bookstore.api.listeners;
+
+import com.bookstore.api.cache.ResponseCache;
+import com.bookstore.api.config.ApiConfig;
+import com.bookstore.api.config.ConfigurationManager;
+import com.bookstore.api.data.IdAllocator;
+import com.bookstore.api.http.HttpTransport;
+import com.bookstore.api.http.RateLimits;
+import com.bookstore.api.metrics.LatencyMetrics;
+import com.bookstore.api.reporting.AllureAttachmentWriter;
+import com.bookstore.api.reporting.AttachmentMode;
+import com.bookstore.api.resilience.CircuitBreaker;
+import com.bookstore.api.resilience.HedgingExecutor;
+import com.bookstore.api.resilience.RetryExecutor;
+import com.bookstore.api.traffic.TrafficMode;
+import com.bookstore.api.traffic.TrafficRecorder;
+import com.bookstore.api.traffic.TrafficReplayer;
+import com.bookstore.api.utils.SchemaValidator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import java.nio.file.Path;
+
+/**
+ * Logs client-side transport and validation statistics once the whole suite has finished.
+ */
+public class SuiteStatsListener implements ISuiteListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SuiteStatsListener.class);
+
+    @Override
+    public void onFinish(ISuite suite) {
+        ApiConfig config = ConfigurationManager.getConfig();
+        if (config.httpPoolEnabled()) {
+            log.info("Connection pool after suite '{}': {}", suite.getName(), HttpTransport.getInstance().getPoolStats());
+        }
+        if (SchemaValidator.getValidationCount() > 0) {
+            log.info("Schema validation: {} calls, {} elements, {} ms total, {} compiled schemas",
+                    SchemaValidator.getValidationCount(), SchemaValidator.getValidatedElementCount(),
+                    String.format("%.1f", SchemaValidator.getTotalValidationTimeMs()), SchemaValidator.getCachedSchemaCount());
+        }
+        if (config.cacheEnabled()) {
+            ResponseCache cache = ResponseCache.getInstance();
+            log.info("Response cache: {} lookups, {} hits, {} revalidated (304), {} modified, {} misses, hit ratio {}%; "
+                            + "{} entries ({} KB), {} evicted, {} invalidated by writes, {} not stored as a write overlapped them",
+                    cache.getLookupCount(), cache.getHitCount(), cache.getRevalidatedCount(), cache.getModifiedCount(),
+                    cache.getMissCount(), String.format("%.1f", cache.getHitRatio() * 100), cache.size(),
+                    cache.getSizeBytes() / 1024, cache.getEvictionCount(), cache.getInvalidationCount(),
+                    cache.getStaleDiscardCount());
+        }
+        RateLimits rateLimits = RateLimits.getInstance();
+        if (rateLimits.isEnabled()) {
+            log.info("Rate limiting: {} of {} requests throttled, {} ms waited in total (p50 {} ms, p99 {} ms, max {} ms)",
+                    rateLimits.getThrottledCount(), rateLimits.getRequestCount(), String.format("%.1f", rateLimits.getTotalWaitMs()),
+                    String.format("%.1f", rateLimits.getWaitMs(50)), String.format("%.1f", rateLimits.getWaitMs(99)),
+                    String.format("%.1f", rateLimits.getMaxWaitMs()));
+        }
+        RetryExecutor retries = RetryExecutor.getInstance();
+        if (retries.getRetryCount() > 0 || retries.getBudgetExhaustedCount() > 0 || retries.getTripCount() > 0) {
+            log.info("Retries: {} of {} calls retried {} times in total, {} recovered, {} denied by the retry budget; "
+                            + "circuit breakers tripped {} times and rejected {} calls",
+                    retries.getRetriedCallCount(), retries.getCallCount(), retries.getRetryCount(), retries.getRecoveredCount(),
+                    retries.getBudgetExhaustedCount(), retries.getTripCount(), retries.getRejectedCount());
+            for (CircuitBreaker breaker : retries.getTrippedBreakers()) {
+                log.info("Circuit breaker {}: tripped {} times, rejected {} calls, now {}",
+                        breaker.getName(), breaker.getTrips(), breaker.getRejectedCount(), breaker.getState());
+            }
+        }
+        HedgingExecutor hedging = HedgingExecutor.getInstance();
+        if (hedging.isEnabled()) {
+            log.info("Hedged GETs: {} of {} requests hedged, hedge answered first {} times, {} losers cancelled, "
+                            + "{} slow requests not hedged because of hedge.max.percent",
+                    hedging.getHedgedCount(), hedging.getRequestCount(), hedging.getHedgeWonCount(),
+                    hedging.getCancelledCount(), hedging.getCappedCount());
+        }
+        IdAllocator ids = IdAllocator.getInstance();
+        if (ids.getAllocatedCount() > 0) {
+            log.info("ID allocation: {} IDs in {} blocks from partition {}..{}, {} unclaimed",
+                    ids.getAllocatedCount(), ids.getBlocksClaimed(), ids.getPartitionStart(), ids.getPartitionEnd() - 1,
+                    ids.getUnclaimedCount());
+        }
+        if (AttachmentMode.from(config.allureAttachMode()) != AttachmentMode.OFF) {
+            AllureAttachmentWriter attachments = AllureAttachmentWriter.getInstance();
+            attachments.flush();
+            log.info("Allure attachments: {} written, {} KB, {} truncated, {} waited for the writer",
+                    attachments.getAttachmentCount(), attachments.getBytesWritten() / 1024,
+                    attachments.getTruncatedCount(), attachments.getBlockedCount());
+        }
+        LatencyMetrics metrics = LatencyMetrics.getInstance();
+        if (config.metricsEnabled() && !metrics.isEmpty()) {
+            Path directory = Path.of(config.metricsOutputDir());
+            metrics.export(directory);
+            log.info("Latency metrics: {} series written to {} and {}", metrics.getSeries().size(),
+                    directory.resolve(LatencyMetrics.JSON_FILE), directory.resolve(LatencyMetrics.PROMETHEUS_FILE));
+        }
+        TrafficMode trafficMode = TrafficMode.from(config.trafficMode());
+        if (trafficMode == TrafficMode.RECORD) {
+            TrafficRecorder recorder = TrafficRecorder.forDirectory(Path.of(config.trafficStorePath()));
+            log.info("Traffic recorded: {} exchanges in {}", recorder.getRecordedCount(), recorder.getDirectory());
+        } else if (trafficMode == TrafficMode.REPLAY) {
+            TrafficReplayer replayer = TrafficReplayer.forDirectory(Path.of(config.trafficStorePath()));
+            log.info("Traffic replayed from {}: {} exact hits, {} same-path hits, {} misses",
+                    replayer.getDirectory(), replayer.getHits(), replayer.getFallbackHits(), replayer.getMisses());
+        }
+    }
+}
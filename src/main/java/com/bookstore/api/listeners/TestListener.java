@@ -1,80 +1,61 @@
 package com.bookstore.api.listeners;
 
-import com.aventstack.extentreports.ExtentReports;
-import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
-import com.aventstack.extentreports.markuputils.ExtentColor;
-import com.aventstack.extentreports.markuputils.MarkupHelper;
-import com.aventstack.extentreports.reporter.ExtentSparkReporter;
-import com.aventstack.extentreports.reporter.configuration.Theme;
-import org.testng.ITestContext;
+import com.bookstore.api.config.ApiConfig;
+import com.bookstore.api.config.ConfigurationManager;
+import com.bookstore.api.reporting.ExtentReportWriter;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
-import java.io.File;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+/**
+ * Feeds test results to the ExtentReports report. Callbacks only enqueue
+ * events for {@link ExtentReportWriter}, which owns the report; all
+ * {@code <test>} blocks of the suite share it.
+ */
+public class TestListener implements ITestListener, ISuiteListener {
+
+    private static final String EXTENT_TEST_ID = "extent.test.id";
 
-public class TestListener implements ITestListener {
-    
-    private static ExtentReports extent;
-    private static ThreadLocal<ExtentTest> extentTest = new ThreadLocal<>();
-    
-    @Override
-    public void onStart(ITestContext context) {
-        String timestamp = new SimpleDateFormat("yyyy.MM.dd.HH.mm.ss").format(new Date());
-        String reportPath = "test-output/extent-reports/ExtentReport_" + timestamp + ".html";
-        
-        File reportDir = new File("test-output/extent-reports");
-        if (!reportDir.exists()) {
-            reportDir.mkdirs();
-        }
-        
-        ExtentSparkReporter sparkReporter = new ExtentSparkReporter(reportPath);
-        sparkReporter.config().setDocumentTitle("Bookstore API Test Automation Report");
-        sparkReporter.config().setReportName("API Test Results");
-        sparkReporter.config().setTheme(Theme.STANDARD);
-        sparkReporter.config().setTimeStampFormat("EEEE, MMMM dd, yyyy, hh:mm a '('zzz')'");
-        
-        extent = new ExtentReports();
-        extent.attachReporter(sparkReporter);
-        extent.setSystemInfo("Environment", "QA");
-        extent.setSystemInfo("API Base URL", "https://fakerestapi.azurewebsites.net");
-        extent.setSystemInfo("Tester", "Automation Framework");
-    }
-    
     @Override
     public void onTestStart(ITestResult result) {
-        ExtentTest test = extent.createTest(
+        long id = writer().testStarted(
                 result.getMethod().getMethodName(),
                 result.getMethod().getDescription()
         );
-        extentTest.set(test);
+        result.setAttribute(EXTENT_TEST_ID, id);
     }
-    
+
     @Override
     public void onTestSuccess(ITestResult result) {
-        extentTest.get().log(Status.PASS,
-                MarkupHelper.createLabel(result.getName() + " PASSED", ExtentColor.GREEN));
+        finish(result, Status.PASS, null);
     }
-    
+
     @Override
     public void onTestFailure(ITestResult result) {
-        extentTest.get().log(Status.FAIL,
-                MarkupHelper.createLabel(result.getName() + " FAILED", ExtentColor.RED));
-        extentTest.get().log(Status.FAIL, result.getThrowable());
+        finish(result, Status.FAIL, result.getThrowable());
     }
-    
+
     @Override
     public void onTestSkipped(ITestResult result) {
-        extentTest.get().log(Status.SKIP,
-                MarkupHelper.createLabel(result.getName() + " SKIPPED", ExtentColor.ORANGE));
+        finish(result, Status.SKIP, null);
     }
-    
+
     @Override
-    public void onFinish(ITestContext context) {
-        if (extent != null) {
-            extent.flush();
+    public void onFinish(ISuite suite) {
+        writer().flush();
+    }
+
+    private static void finish(ITestResult result, Status status, Throwable throwable) {
+        Object id = result.getAttribute(EXTENT_TEST_ID);
+        if (id != null) {
+            writer().testFinished((Long) id, result.getName(), status, throwable);
         }
     }
+
+    private static ExtentReportWriter writer() {
+        ApiConfig config = ConfigurationManager.getConfig();
+        return ExtentReportWriter.getInstance(config.extentFlushEveryTests(), config.extentTestsPerReport());
+    }
 }
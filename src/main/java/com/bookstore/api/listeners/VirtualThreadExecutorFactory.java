@@ -0,0 +1,62 @@
+package com.bookstore.api.listeners;
+
+import com.bookstore.api.utils.ThreadPools;
+import org.testng.IDynamicGraph;
+import org.testng.ISuite;
+import org.testng.ITestNGMethod;
+import org.testng.internal.thread.graph.GraphThreadPoolExecutor;
+import org.testng.thread.IExecutorFactory;
+import org.testng.thread.ITestNGThreadPoolExecutor;
+import org.testng.thread.IThreadWorkerFactory;
+
+import java.util.Comparator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TestNG executor factory that runs suites and test methods on the threads
+ * chosen by {@link ThreadPools}, i.e. virtual threads when {@code thread.type=virtual}
+ * and the JVM supports them. The pool size still follows {@code thread.count}.
+ * <p>
+ * TestNG 7.8 only accepts a custom executor factory on its command line, which
+ * Surefire does not forward, so this is used when running TestNG directly:
+ * <pre>
+ * java -cp ... org.testng.TestNG \
+ *     -threadpoolfactoryclass com.bookstore.api.listeners.VirtualThreadExecutorFactory \
+ *     src/test/resources/testng.xml
+ * </pre>
+ */
+public class VirtualThreadExecutorFactory implements IExecutorFactory {
+
+    @Override
+    public ITestNGThreadPoolExecutor newSuiteExecutor(String name,
+                                                     IDynamicGraph<ISuite> graph,
+                                                     IThreadWorkerFactory<ISuite> factory,
+                                                     int corePoolSize,
+                                                     int maximumPoolSize,
+                                                     long keepAliveTime,
+                                                     TimeUnit unit,
+                                                     BlockingQueue<Runnable> workQueue,
+                                                     Comparator<ISuite> comparator) {
+        GraphThreadPoolExecutor<ISuite> executor = new GraphThreadPoolExecutor<>(
+                name, graph, factory, corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, comparator);
+        executor.setThreadFactory(ThreadPools.threadFactory(name));
+        return executor;
+    }
+
+    @Override
+    public ITestNGThreadPoolExecutor newTestMethodExecutor(String name,
+                                                          IDynamicGraph<ITestNGMethod> graph,
+                                                          IThreadWorkerFactory<ITestNGMethod> factory,
+                                                          int corePoolSize,
+                                                          int maximumPoolSize,
+                                                          long keepAliveTime,
+                                                          TimeUnit unit,
+                                                          BlockingQueue<Runnable> workQueue,
+                                                          Comparator<ITestNGMethod> comparator) {
+        GraphThreadPoolExecutor<ITestNGMethod> executor = new GraphThreadPoolExecutor<>(
+                name, graph, factory, corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, comparator);
+        executor.setThreadFactory(ThreadPools.threadFactory(name));
+        return executor;
+    }
+}
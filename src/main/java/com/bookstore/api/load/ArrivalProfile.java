@@ -0,0 +1,161 @@
+package com.bookstore.api.load;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Describes when requests should start in an open-model load run.
+ * <p>
+ * Arrival times are derived from the cumulative number of arrivals N(t) of the
+ * profile, so the n-th request is scheduled at the exact time N(t) reaches n,
+ * independent of how long earlier requests took.
+ */
+public abstract class ArrivalProfile {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    public abstract Duration getDuration();
+
+    /**
+     * @return seconds from the start of the run at which arrival {@code index}
+     * (zero based) is due, or a negative value if the profile ends first
+     */
+    protected abstract double arrivalSeconds(long index);
+
+    /**
+     * @return nanoseconds from the start of the run at which arrival {@code index}
+     * is due, or {@code -1} once the profile has no more arrivals
+     */
+    public long arrivalOffsetNanos(long index) {
+        double seconds = arrivalSeconds(index);
+        if (seconds < 0 || Double.isNaN(seconds) || seconds >= getDuration().toNanos() / (double) NANOS_PER_SECOND) {
+            return -1;
+        }
+        return (long) (seconds * NANOS_PER_SECOND);
+    }
+
+    public static ArrivalProfile constant(double requestsPerSecond, Duration duration) {
+        return new Ramp(requestsPerSecond, requestsPerSecond, duration);
+    }
+
+    public static ArrivalProfile ramp(double fromRequestsPerSecond, double toRequestsPerSecond, Duration duration) {
+        return new Ramp(fromRequestsPerSecond, toRequestsPerSecond, duration);
+    }
+
+    public static StepsBuilder steps() {
+        return new StepsBuilder();
+    }
+
+    private static final class Ramp extends ArrivalProfile {
+
+        private final double fromRate;
+        private final double slope;
+        private final Duration duration;
+
+        private Ramp(double fromRate, double toRate, Duration duration) {
+            if (fromRate < 0 || toRate < 0 || (fromRate == 0 && toRate == 0)) {
+                throw new IllegalArgumentException("Arrival rates must be non-negative and not both zero");
+            }
+            this.fromRate = fromRate;
+            this.slope = (toRate - fromRate) / (duration.toNanos() / (double) NANOS_PER_SECOND);
+            this.duration = duration;
+        }
+
+        @Override
+        public Duration getDuration() {
+            return duration;
+        }
+
+        @Override
+        protected double arrivalSeconds(long index) {
+            // N(t) = fromRate * t + slope * t^2 / 2, solved for N(t) = index
+            if (slope == 0) {
+                return index / fromRate;
+            }
+            double discriminant = fromRate * fromRate + 2 * slope * index;
+            if (discriminant < 0) {
+                return -1;
+            }
+            return (Math.sqrt(discriminant) - fromRate) / slope;
+        }
+
+        @Override
+        public String toString() {
+            return slope == 0
+                    ? String.format("constant(%.1f rps, %s)", fromRate, duration)
+                    : String.format("ramp(%.1f rps, %+.2f rps/s, %s)", fromRate, slope, duration);
+        }
+    }
+
+    private static final class Steps extends ArrivalProfile {
+
+        private final double[] rates;
+        private final double[] stageSeconds;
+        private final Duration duration;
+
+        private Steps(List<double[]> stages) {
+            rates = new double[stages.size()];
+            stageSeconds = new double[stages.size()];
+            long totalNanos = 0;
+            for (int i = 0; i < stages.size(); i++) {
+                rates[i] = stages.get(i)[0];
+                stageSeconds[i] = stages.get(i)[1];
+                totalNanos += (long) (stageSeconds[i] * NANOS_PER_SECOND);
+            }
+            duration = Duration.ofNanos(totalNanos);
+        }
+
+        @Override
+        public Duration getDuration() {
+            return duration;
+        }
+
+        @Override
+        protected double arrivalSeconds(long index) {
+            double remaining = index;
+            double offset = 0;
+            for (int i = 0; i < rates.length; i++) {
+                double arrivalsInStage = rates[i] * stageSeconds[i];
+                if (rates[i] > 0 && remaining < arrivalsInStage) {
+                    return offset + remaining / rates[i];
+                }
+                remaining -= arrivalsInStage;
+                offset += stageSeconds[i];
+            }
+            return -1;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder description = new StringBuilder("steps(");
+            for (int i = 0; i < rates.length; i++) {
+                description.append(i == 0 ? "" : ", ").append(String.format("%.1f rps for %.1fs", rates[i], stageSeconds[i]));
+            }
+            return description.append(')').toString();
+        }
+    }
+
+    public static final class StepsBuilder {
+
+        private final List<double[]> stages = new ArrayList<>();
+
+        private StepsBuilder() {
+        }
+
+        public StepsBuilder step(double requestsPerSecond, Duration duration) {
+            if (requestsPerSecond < 0) {
+                throw new IllegalArgumentException("Arrival rate must be non-negative");
+            }
+            stages.add(new double[]{requestsPerSecond, duration.toNanos() / (double) NANOS_PER_SECOND});
+            return this;
+        }
+
+        public ArrivalProfile build() {
+            if (stages.isEmpty()) {
+                throw new IllegalStateException("At least one step is required");
+            }
+            return new Steps(stages);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.bookstore.api.load;
+
+import com.bookstore.api.config.ConfigurationManager;
+import com.bookstore.api.utils.ThreadPools;
+import io.restassured.response.Response;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Open-model load generator.
+ * <p>
+ * A single scheduler thread starts requests at the times given by an
+ * {@link ArrivalProfile}, regardless of whether earlier requests have
+ * completed. Each request runs on its own worker (virtual threads when
+ * {@code thread.type=virtual}), and its latency is measured from the time it
+ * was <i>supposed</i> to start. This avoids coordinated omission: a slow
+ * response cannot hold back the requests scheduled after it.
+ * <pre>
+ * LoadReport report = LoadEngine.builder()
+ *         .profile(ArrivalProfile.constant(50, Duration.ofSeconds(30)))
+ *         .operation("getBookById", 3, () -&gt; booksApi.getBookById(1))
+ *         .operation("getAllAuthors", 1, authorsApi::getAllAuthors)
+ *         .build()
+ *         .run();
+ * </pre>
+ */
+public class LoadEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadEngine.class);
+
+    private final ArrivalProfile profile;
+    private final List<Operation> operations;
+    private final int[] cumulativeWeights;
+    private final int maxInFlight;
+
+    private LoadEngine(Builder builder) {
+        this.profile = builder.profile;
+        this.operations = builder.operations;
+        this.maxInFlight = builder.maxInFlight;
+        this.cumulativeWeights = new int[operations.size()];
+        int total = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            total += operations.get(i).weight;
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public LoadReport run() {
+        log.info("Starting load run {} with {} operations", profile, operations.size());
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        ExecutorService workers = ThreadPools.newExecutor("load-worker", maxInFlight);
+        long start = System.nanoTime();
+
+        try {
+            for (long index = 0; ; index++) {
+                long offset = profile.arrivalOffsetNanos(index);
+                if (offset < 0) {
+                    break;
+                }
+                long intendedStart = start + offset;
+                long wait;
+                while ((wait = intendedStart - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                Operation operation = pick(index);
+                if (!inFlight.tryAcquire()) {
+                    operation.dropped.increment();
+                    continue;
+                }
+                workers.execute(() -> {
+                    try {
+                        operation.execute(intendedStart);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        } finally {
+            workers.shutdown();
+        }
+
+        try {
+            long timeoutMs = ConfigurationManager.getConfig().timeout();
+            if (!workers.awaitTermination(timeoutMs, TimeUnit.MILLISECONDS)) {
+                log.warn("Load run still had requests in flight after {} ms", timeoutMs);
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            workers.shutdownNow();
+        }
+
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        List<OperationStats> stats = new ArrayList<>();
+        for (Operation operation : operations) {
+            stats.add(operation.toStats(elapsedSeconds));
+        }
+        LoadReport report = new LoadReport(profile, elapsedSeconds, stats);
+        log.info("\n{}", report.format());
+        return report;
+    }
+
+    private Operation pick(long index) {
+        int slot = (int) (index % cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (slot < cumulativeWeights[i]) {
+                return operations.get(i);
+            }
+        }
+        return operations.get(operations.size() - 1);
+    }
+
+    private static final class Operation {
+
+        private final String name;
+        private final int weight;
+        private final Supplier<Response> request;
+        private final Histogram latency = new ConcurrentHistogram(3);
+        private final Histogram serviceTime = new ConcurrentHistogram(3);
+        private final Histogram startLag = new ConcurrentHistogram(3);
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+
+        private Operation(String name, int weight, Supplier<Response> request) {
+            this.name = name;
+            this.weight = weight;
+            this.request = request;
+        }
+
+        private void execute(long intendedStart) {
+            long actualStart = System.nanoTime();
+            boolean failed = true;
+            try {
+                Response response = request.get();
+                failed = response == null || response.getStatusCode() >= 400;
+            } catch (Exception e) {
+                // REST Assured rethrows checked I/O exceptions undeclared, so RuntimeException is not enough
+                log.debug("Load request {} failed", name, e);
+            } finally {
+                long end = System.nanoTime();
+                requests.increment();
+                if (failed) {
+                    errors.increment();
+                }
+                latency.recordValue(toMicros(end - intendedStart));
+                serviceTime.recordValue(toMicros(end - actualStart));
+                startLag.recordValue(toMicros(Math.max(0, actualStart - intendedStart)));
+            }
+        }
+
+        private OperationStats toStats(double elapsedSeconds) {
+            return new OperationStats(name, requests.sum(), errors.sum(), dropped.sum(),
+                    latency.copy(), serviceTime.copy(), startLag.copy(), elapsedSeconds);
+        }
+
+        private static long toMicros(long nanos) {
+            return TimeUnit.NANOSECONDS.toMicros(nanos);
+        }
+    }
+
+    public static final class Builder {
+
+        private ArrivalProfile profile;
+        private final List<Operation> operations = new ArrayList<>();
+        private int maxInFlight = ConfigurationManager.getConfig().loadMaxInFlight();
+
+        private Builder() {
+        }
+
+        public Builder profile(ArrivalProfile profile) {
+            this.profile = profile;
+            return this;
+        }
+
+        /**
+         * Adds an operation. Arrivals are distributed between operations in
+         * proportion to their weights.
+         */
+        public Builder operation(String name, int weight, Supplier<Response> request) {
+            if (weight <= 0) {
+                throw new IllegalArgumentException("Operation weight must be positive");
+            }
+            operations.add(new Operation(name, weight, request));
+            return this;
+        }
+
+        public Builder operation(String name, Supplier<Response> request) {
+            return operation(name, 1, request);
+        }
+
+        /**
+         * Upper bound on concurrently outstanding requests. Arrivals beyond it
+         * are counted as dropped instead of silently delaying the schedule.
+         */
+        public Builder maxInFlight(int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+            return this;
+        }
+
+        public LoadEngine build() {
+            if (profile == null) {
+                throw new IllegalStateException("An arrival profile is required");
+            }
+            if (operations.isEmpty()) {
+                throw new IllegalStateException("At least one operation is required");
+            }
+            return new LoadEngine(this);
+        }
+    }
+}
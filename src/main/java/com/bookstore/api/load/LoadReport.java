@@ -0,0 +1,75 @@
+package com.bookstore.api.load;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Summary of a finished load run with one {@link OperationStats} per operation.
+ */
+public class LoadReport {
+
+    private final ArrivalProfile profile;
+    private final double elapsedSeconds;
+    private final List<OperationStats> operations;
+
+    LoadReport(ArrivalProfile profile, double elapsedSeconds, List<OperationStats> operations) {
+        this.profile = profile;
+        this.elapsedSeconds = elapsedSeconds;
+        this.operations = Collections.unmodifiableList(operations);
+    }
+
+    public ArrivalProfile getProfile() {
+        return profile;
+    }
+
+    public double getElapsedSeconds() {
+        return elapsedSeconds;
+    }
+
+    public List<OperationStats> getOperations() {
+        return operations;
+    }
+
+    public OperationStats getOperation(String name) {
+        return operations.stream()
+                .filter(stats -> stats.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("No operation named " + name));
+    }
+
+    public long getTotalRequests() {
+        return operations.stream().mapToLong(OperationStats::getRequests).sum();
+    }
+
+    public long getTotalErrors() {
+        return operations.stream().mapToLong(OperationStats::getErrors).sum();
+    }
+
+    public long getTotalDropped() {
+        return operations.stream().mapToLong(OperationStats::getDropped).sum();
+    }
+
+    /**
+     * @return a plain-text table; latency columns are coordinated-omission corrected
+     */
+    public String format() {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("Load run %s finished in %.1fs%n", profile, elapsedSeconds));
+        table.append(String.format("%-24s %8s %7s %7s %9s %9s %9s %9s %9s %11s %11s%n",
+                "operation", "requests", "errors", "dropped", "rps",
+                "p50 ms", "p90 ms", "p99 ms", "max ms", "svc p99 ms", "lag p99 ms"));
+        for (OperationStats stats : operations) {
+            table.append(String.format("%-24s %8d %7d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %11.2f %11.2f%n",
+                    stats.getName(), stats.getRequests(), stats.getErrors(), stats.getDropped(),
+                    stats.getThroughput(), stats.getLatencyMs(50), stats.getLatencyMs(90),
+                    stats.getLatencyMs(99), stats.getMaxLatencyMs(), stats.getServiceTimeMs(99),
+                    stats.getStartLagMs(99)));
+        }
+        return table.toString();
+    }
+
+    @Override
+    public String toString() {
+        return format();
+    }
+}
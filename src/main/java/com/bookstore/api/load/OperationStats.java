@@ -0,0 +1,93 @@
+package com.bookstore.api.load;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Results of one named operation in a load run. All histograms are in microseconds.
+ * <ul>
+ *     <li>latency: completion time minus <i>intended</i> start time, i.e. corrected
+ *     for coordinated omission, so queuing delay in the generator or the client
+ *     counts against the system under test</li>
+ *     <li>service time: completion time minus <i>actual</i> start time, which is what
+ *     a closed-model loop would have reported</li>
+ *     <li>start lag: actual minus intended start time</li>
+ * </ul>
+ */
+public class OperationStats {
+
+    private final String name;
+    private final long requests;
+    private final long errors;
+    private final long dropped;
+    private final Histogram latency;
+    private final Histogram serviceTime;
+    private final Histogram startLag;
+    private final double elapsedSeconds;
+
+    OperationStats(String name, long requests, long errors, long dropped,
+                   Histogram latency, Histogram serviceTime, Histogram startLag, double elapsedSeconds) {
+        this.name = name;
+        this.requests = requests;
+        this.errors = errors;
+        this.dropped = dropped;
+        this.latency = latency;
+        this.serviceTime = serviceTime;
+        this.startLag = startLag;
+        this.elapsedSeconds = elapsedSeconds;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * @return arrivals that were never sent because the in-flight limit was reached
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
+    public double getErrorRate() {
+        return requests == 0 ? 0 : (double) errors / requests;
+    }
+
+    public double getThroughput() {
+        return elapsedSeconds == 0 ? 0 : requests / elapsedSeconds;
+    }
+
+    public double getLatencyMs(double percentile) {
+        return toMillis(latency.getValueAtPercentile(percentile));
+    }
+
+    public double getServiceTimeMs(double percentile) {
+        return toMillis(serviceTime.getValueAtPercentile(percentile));
+    }
+
+    public double getStartLagMs(double percentile) {
+        return toMillis(startLag.getValueAtPercentile(percentile));
+    }
+
+    public double getMaxLatencyMs() {
+        return toMillis(latency.getMaxValue());
+    }
+
+    public Histogram getLatencyHistogram() {
+        return latency;
+    }
+
+    public Histogram getServiceTimeHistogram() {
+        return serviceTime;
+    }
+
+    private static double toMillis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,108 @@
+package com.bookstore.api.logging;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Captures each request and response into the running test's
+ * {@link ExchangeLogBuffer} instead of printing it. Capturing only copies
+ * references and a body prefix of at most {@code maxBodyChars}; formatting
+ * happens later on the {@link ExchangeLogWriter} thread, and only for tests
+ * whose log is actually written.
+ * <p>
+ * Requests made outside a test (e.g. from a load generator pool) are written
+ * straight away in {@link LogMode#ALWAYS} and ignored otherwise. Whether a
+ * buffered exchange is ever written, or attached to Allure, is decided when
+ * the test finishes.
+ */
+public class BufferedLoggingFilter implements OrderedFilter {
+
+    private final LogMode mode;
+    private final boolean logRequests;
+    private final boolean logResponses;
+    private final int maxBodyChars;
+
+    public BufferedLoggingFilter(LogMode mode, boolean logRequests, boolean logResponses, int maxBodyChars) {
+        this.mode = mode;
+        this.logRequests = logRequests;
+        this.logResponses = logResponses;
+        this.maxBodyChars = maxBodyChars;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        ExchangeLogBuffer buffer = ExchangeLogBuffer.current();
+        if (buffer == null && mode != LogMode.ALWAYS) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+
+        long startNanos = System.nanoTime();
+        Response response;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+        } catch (RuntimeException e) {
+            capture(buffer, exchange(requestSpec, null, startNanos, e.toString()));
+            throw e;
+        }
+        capture(buffer, exchange(requestSpec, response, startNanos, null));
+        return response;
+    }
+
+    /**
+     * Runs just outside the traffic filter, so replayed responses are captured too.
+     */
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE - 1;
+    }
+
+    private LoggedExchange exchange(FilterableRequestSpecification requestSpec, Response response,
+                                    long startNanos, String error) {
+        String requestBody = null;
+        int requestBodyLength = 0;
+        if (logRequests && requestSpec.getBody() != null) {
+            Object body = requestSpec.getBody();
+            String text = body instanceof byte[] ? new String((byte[]) body, StandardCharsets.UTF_8) : body.toString();
+            requestBodyLength = text.length();
+            requestBody = text.length() > maxBodyChars ? text.substring(0, maxBodyChars) : text;
+        }
+
+        byte[] responseBody = null;
+        int responseBodyLength = 0;
+        if (response != null && logResponses) {
+            byte[] body = response.asByteArray();
+            responseBodyLength = body.length;
+            responseBody = body.length > maxBodyChars ? Arrays.copyOf(body, maxBodyChars) : body;
+        }
+
+        return new LoggedExchange(
+                requestSpec.getMethod(),
+                requestSpec.getURI(),
+                logRequests ? requestSpec.getHeaders() : null,
+                requestBody,
+                requestBodyLength,
+                response != null ? response.getStatusLine() : null,
+                response != null && logResponses ? response.getHeaders() : null,
+                responseBody,
+                responseBodyLength,
+                (System.nanoTime() - startNanos) / 1_000_000,
+                error);
+    }
+
+    private static void capture(ExchangeLogBuffer buffer, LoggedExchange exchange) {
+        if (buffer != null) {
+            buffer.add(exchange);
+        } else {
+            ExchangeLogWriter.getInstance().write(Thread.currentThread().getName(), List.of(exchange), 0);
+        }
+    }
+}
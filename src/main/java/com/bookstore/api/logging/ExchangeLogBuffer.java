@@ -0,0 +1,91 @@
+package com.bookstore.api.logging;
+
+import com.bookstore.api.config.ApiConfig;
+import com.bookstore.api.reporting.AttachmentMode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded ring of the most recent exchanges made by the running test. A buffer
+ * is bound to the test's thread between {@link #begin} and {@link #end}; once
+ * it is full, each new exchange replaces the oldest one.
+ */
+public final class ExchangeLogBuffer {
+
+    private static final ThreadLocal<ExchangeLogBuffer> current = new ThreadLocal<>();
+
+    private final String testName;
+    private final LoggedExchange[] ring;
+    private long added;
+
+    private ExchangeLogBuffer(String testName, int capacity) {
+        this.testName = testName;
+        this.ring = new LoggedExchange[Math.max(1, capacity)];
+    }
+
+    /**
+     * Whether tests get a buffer at all: it is needed for the log and for Allure attachments.
+     */
+    public static boolean isEnabled(ApiConfig config) {
+        return LogMode.from(config.logMode()) != LogMode.OFF
+                || AttachmentMode.from(config.allureAttachMode()) != AttachmentMode.OFF;
+    }
+
+    /**
+     * Binds a new, empty buffer to the calling thread, replacing any previous one.
+     */
+    public static ExchangeLogBuffer begin(String testName, int capacity) {
+        ExchangeLogBuffer buffer = new ExchangeLogBuffer(testName, capacity);
+        current.set(buffer);
+        return buffer;
+    }
+
+    /**
+     * @return the buffer bound to the calling thread, or {@code null} outside a test
+     */
+    public static ExchangeLogBuffer current() {
+        return current.get();
+    }
+
+    /**
+     * Unbinds and returns the calling thread's buffer.
+     */
+    public static ExchangeLogBuffer end() {
+        ExchangeLogBuffer buffer = current.get();
+        current.remove();
+        return buffer;
+    }
+
+    public void add(LoggedExchange exchange) {
+        ring[(int) (added % ring.length)] = exchange;
+        added++;
+    }
+
+    /**
+     * @return the buffered exchanges, oldest first
+     */
+    public List<LoggedExchange> getExchanges() {
+        int size = (int) Math.min(added, ring.length);
+        List<LoggedExchange> exchanges = new ArrayList<>(size);
+        for (long i = added - size; i < added; i++) {
+            exchanges.add(ring[(int) (i % ring.length)]);
+        }
+        return exchanges;
+    }
+
+    /**
+     * @return how many older exchanges were overwritten because the buffer was full
+     */
+    public long getDroppedCount() {
+        return Math.max(0, added - ring.length);
+    }
+
+    public boolean isEmpty() {
+        return added == 0;
+    }
+
+    public String getTestName() {
+        return testName;
+    }
+}
@@ -0,0 +1,73 @@
+package com.bookstore.api.logging;
+
+import com.bookstore.api.utils.BackgroundWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Formats and writes captured exchanges on a {@link BackgroundWriter}, so test
+ * threads never wait on string building or console I/O.
+ */
+public final class ExchangeLogWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(ExchangeLogWriter.class);
+
+    private static final int QUEUE_CAPACITY = 256;
+    private static final long FLUSH_TIMEOUT_SECONDS = 10;
+
+    private static volatile ExchangeLogWriter instance;
+
+    private final BackgroundWriter writer = new BackgroundWriter("exchange-log-writer", QUEUE_CAPACITY);
+    private final LongAdder written = new LongAdder();
+
+    private ExchangeLogWriter() {
+    }
+
+    public static ExchangeLogWriter getInstance() {
+        if (instance == null) {
+            synchronized (ExchangeLogWriter.class) {
+                if (instance == null) {
+                    instance = new ExchangeLogWriter();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Queues the exchanges of one test for writing under a single heading.
+     */
+    public void write(String title, List<LoggedExchange> exchanges, long dropped) {
+        if (exchanges.isEmpty()) {
+            return;
+        }
+        writer.submit(() -> {
+            StringBuilder out = new StringBuilder(1024 * exchanges.size());
+            out.append("HTTP exchanges of ").append(title);
+            if (dropped > 0) {
+                out.append(" (").append(dropped).append(" earlier exchanges dropped)");
+            }
+            out.append('\n');
+            for (LoggedExchange exchange : exchanges) {
+                exchange.format(out);
+            }
+            log.info(out.toString());
+            written.add(exchanges.size());
+        });
+    }
+
+    /**
+     * Waits until everything queued so far has been written.
+     */
+    public void flush() {
+        writer.flush(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+}
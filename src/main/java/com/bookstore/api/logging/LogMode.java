@@ -0,0 +1,22 @@
+package com.bookstore.api.logging;
+
+/**
+ * When captured request/response logs are written, from {@code log.mode}.
+ */
+public enum LogMode {
+
+    /** Exchanges are buffered per test and written only if the test fails. */
+    FAILURE,
+    /** Exchanges are buffered per test and written when it finishes, whatever the outcome. */
+    ALWAYS,
+    /** Nothing is captured. */
+    OFF;
+
+    public static LogMode from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown log.mode '" + value + "', expected failure, always or off", e);
+        }
+    }
+}
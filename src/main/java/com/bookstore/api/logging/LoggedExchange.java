@@ -0,0 +1,68 @@
+package com.bookstore.api.logging;
+
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One request/response pair as captured by {@link BufferedLoggingFilter}.
+ * Bodies are already cut to the configured limit; everything else is kept as
+ * captured and only turned into text by {@link #format(StringBuilder)}, which
+ * runs on the log writer thread.
+ */
+@Value
+public class LoggedExchange {
+
+    String method;
+    String uri;
+    /** {@code null} when request logging is disabled. */
+    Headers requestHeaders;
+    String requestBody;
+    int requestBodyLength;
+    /** {@code null} when the request failed before a response arrived. */
+    String statusLine;
+    /** {@code null} when response logging is disabled. */
+    Headers responseHeaders;
+    byte[] responseBody;
+    int responseBodyLength;
+    long timeMs;
+    String error;
+
+    public void format(StringBuilder out) {
+        out.append("Request: ").append(method).append(' ').append(uri).append('\n');
+        if (requestHeaders != null) {
+            appendHeaders(out, requestHeaders);
+            if (requestBody != null) {
+                appendBody(out, requestBody, requestBody.length() < requestBodyLength, requestBodyLength + " chars");
+            }
+        }
+        if (error != null) {
+            out.append("Failed after ").append(timeMs).append(" ms: ").append(error).append('\n');
+            return;
+        }
+        out.append("Response: ").append(statusLine).append(" (").append(timeMs).append(" ms)\n");
+        if (responseHeaders != null) {
+            appendHeaders(out, responseHeaders);
+            if (responseBodyLength > 0) {
+                appendBody(out, new String(responseBody, StandardCharsets.UTF_8),
+                        responseBody.length < responseBodyLength, responseBodyLength + " bytes");
+            }
+        }
+    }
+
+    private static void appendHeaders(StringBuilder out, Headers headers) {
+        for (Header header : headers) {
+            out.append("    ").append(header.getName()).append(": ").append(header.getValue()).append('\n');
+        }
+    }
+
+    private static void appendBody(StringBuilder out, String body, boolean truncated, String fullLength) {
+        out.append(body);
+        if (truncated) {
+            out.append("... [truncated, ").append(fullLength).append(" in total]");
+        }
+        out.append('\n');
+    }
+}
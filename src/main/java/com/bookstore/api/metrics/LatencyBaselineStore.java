@@ -0,0 +1,85 @@
+package com.bookstore.api.metrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Local store of latency exports, outside {@code target/} so it survives
+ * {@code mvn clean}:
+ * <pre>
+ * latency-baselines/
+ * ├── baseline.json                  # the run new runs are compared against
+ * └── history/latency-&lt;time&gt;.json    # every gated run, newest {@code historySize} kept
+ * </pre>
+ */
+public final class LatencyBaselineStore {
+
+    static final String BASELINE_FILE = "baseline.json";
+    private static final String HISTORY_DIR = "history";
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final Path directory;
+    private final int historySize;
+
+    public LatencyBaselineStore(Path directory, int historySize) {
+        this.directory = directory;
+        this.historySize = Math.max(0, historySize);
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public Optional<LatencySnapshot> loadBaseline() {
+        Path baseline = directory.resolve(BASELINE_FILE);
+        return Files.exists(baseline) ? Optional.of(LatencySnapshot.read(baseline)) : Optional.empty();
+    }
+
+    /**
+     * Makes {@code export} the baseline for the following runs.
+     */
+    public Path promote(Path export) {
+        try {
+            Files.createDirectories(directory);
+            Path baseline = directory.resolve(BASELINE_FILE);
+            Path temp = Files.createTempFile(directory, BASELINE_FILE, ".tmp");
+            Files.copy(export, temp, StandardCopyOption.REPLACE_EXISTING);
+            return Files.move(temp, baseline, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store latency baseline in " + directory, e);
+        }
+    }
+
+    /**
+     * Copies {@code export} into the history and drops the oldest entries beyond {@code historySize}.
+     */
+    public Path archive(Path export) {
+        Path history = directory.resolve(HISTORY_DIR);
+        try {
+            Files.createDirectories(history);
+            Path target = history.resolve("latency-" + LocalDateTime.now().format(TIMESTAMP) + ".json");
+            Files.copy(export, target, StandardCopyOption.REPLACE_EXISTING);
+            List<Path> entries;
+            try (Stream<Path> files = Files.list(history)) {
+                entries = files.filter(file -> file.getFileName().toString().endsWith(".json"))
+                        .sorted()
+                        .collect(Collectors.toList());
+            }
+            for (int i = 0; i < entries.size() - historySize; i++) {
+                Files.deleteIfExists(entries.get(i));
+            }
+            return target;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to archive latency export in " + history, e);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.bookstore.api.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Two-sample statistics on HdrHistograms, used to compare the latencies of
+ * one series between a baseline and the current run. Samples in the same
+ * histogram bucket are treated as ties.
+ */
+public final class LatencyDistribution {
+
+    private LatencyDistribution() {
+    }
+
+    /**
+     * One-sided Kolmogorov-Smirnov statistic D+ = max(F_baseline(x) - F_current(x)):
+     * how far the current run's distribution lies to the right of (is slower than) the baseline.
+     */
+    public static double ksSlowerStatistic(Histogram baseline, Histogram current) {
+        List<long[]> base = buckets(baseline);
+        List<long[]> cur = buckets(current);
+        double n = baseline.getTotalCount();
+        double m = current.getTotalCount();
+        if (n == 0 || m == 0) {
+            return 0;
+        }
+        double max = 0;
+        long baseCount = 0;
+        long curCount = 0;
+        int i = 0;
+        int j = 0;
+        while (i < base.size() || j < cur.size()) {
+            long value = Math.min(i < base.size() ? base.get(i)[0] : Long.MAX_VALUE,
+                    j < cur.size() ? cur.get(j)[0] : Long.MAX_VALUE);
+            while (i < base.size() && base.get(i)[0] == value) {
+                baseCount += base.get(i++)[1];
+            }
+            while (j < cur.size() && cur.get(j)[0] == value) {
+                curCount += cur.get(j++)[1];
+            }
+            double difference = baseCount / n - curCount / m;
+            max = Math.max(max, difference);
+        }
+        return max;
+    }
+
+    /**
+     * Asymptotic p-value of the one-sided statistic D+ for samples of size n and m.
+     */
+    public static double ksOneSidedPValue(double dPlus, long n, long m) {
+        if (n == 0 || m == 0) {
+            return 1;
+        }
+        double effective = (double) n * m / (n + m);
+        return Math.min(1, Math.exp(-2 * effective * dPlus * dPlus));
+    }
+
+    /**
+     * Cliff's delta, P(current &gt; baseline) - P(current &lt; baseline): 0 when
+     * neither is faster, 1 when every current sample is slower than every
+     * baseline sample. |delta| of 0.147, 0.33 and 0.474 are commonly read as
+     * small, medium and large effects.
+     */
+    public static double cliffsDelta(Histogram baseline, Histogram current) {
+        List<long[]> base = buckets(baseline);
+        List<long[]> cur = buckets(current);
+        if (base.isEmpty() || cur.isEmpty()) {
+            return 0;
+        }
+        // For each current bucket, count baseline samples strictly below and strictly above it
+        double greater = 0;
+        double less = 0;
+        long baseTotal = baseline.getTotalCount();
+        long below = 0;
+        int i = 0;
+        for (long[] bucket : cur) {
+            while (i < base.size() && base.get(i)[0] < bucket[0]) {
+                below += base.get(i)[1];
+                i++;
+            }
+            long equal = i < base.size() && base.get(i)[0] == bucket[0] ? base.get(i)[1] : 0;
+            greater += (double) bucket[1] * below;
+            less += (double) bucket[1] * (baseTotal - below - equal);
+        }
+        return (greater - less) / ((double) baseTotal * current.getTotalCount());
+    }
+
+    /**
+     * @return {highest equivalent value, count} of every non-empty bucket, in ascending order
+     */
+    private static List<long[]> buckets(Histogram histogram) {
+        List<long[]> buckets = new ArrayList<>();
+        Iterator<HistogramIterationValue> values = histogram.recordedValues().iterator();
+        while (values.hasNext()) {
+            HistogramIterationValue value = values.next();
+            buckets.add(new long[]{value.getValueIteratedTo(), value.getCountAtValueIteratedTo()});
+        }
+        return buckets;
+    }
+}
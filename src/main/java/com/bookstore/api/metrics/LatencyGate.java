@@ -0,0 +1,249 @@
+package com.bookstore.api.metrics;
+
+import com.bookstore.api.config.ApiConfig;
+import com.bookstore.api.config.ConfigurationManager;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Compares the latencies of the current run with the stored baseline and
+ * fails when an endpoint got slower. Run by the {@code latency-gate} Maven
+ * profile after the tests.
+ * <p>
+ * A series (method, path template, status class) with at least
+ * {@code latency.gate.min.samples} samples on both sides is a regression
+ * when it is significantly slower and the slowdown is material:
+ * <ul>
+ *     <li>significant: the one-sided Kolmogorov-Smirnov test rejects "not slower"
+ *     at {@code latency.gate.alpha}. It compares whole distributions, so a
+ *     slower tail is caught even when the mean barely moves</li>
+ *     <li>material: p90 grew by more than {@code latency.gate.max.regression.percent},
+ *     or p50 did and Cliff's delta is at least {@code latency.gate.min.effect}.
+ *     Large runs make tiny shifts significant; these limits keep such shifts from
+ *     failing the build</li>
+ * </ul>
+ * The baseline is pinned: runs are always compared with the same one, so a
+ * series cannot drift slower a few percent per run without ever failing.
+ * A run only replaces it when promoted explicitly with
+ * {@code latency.gate.promote=true} and it passes the gate.
+ */
+public final class LatencyGate {
+
+    private static final Logger log = LoggerFactory.getLogger(LatencyGate.class);
+
+    static final String REPORT_FILE = "latency-gate.txt";
+
+    private final double alpha;
+    private final double minEffect;
+    private final double maxRegressionPercent;
+    private final long minSamples;
+
+    public LatencyGate(double alpha, double minEffect, double maxRegressionPercent, long minSamples) {
+        this.alpha = alpha;
+        this.minEffect = minEffect;
+        this.maxRegressionPercent = maxRegressionPercent;
+        this.minSamples = Math.max(1, minSamples);
+    }
+
+    public static LatencyGate fromConfig(ApiConfig config) {
+        return new LatencyGate(config.latencyGateAlpha(), config.latencyGateMinEffect(),
+                config.latencyGateMaxRegressionPercent(), config.latencyGateMinSamples());
+    }
+
+    public static void main(String[] args) {
+        ApiConfig config = ConfigurationManager.getConfig();
+        Path export = Path.of(config.metricsOutputDir()).resolve(LatencyMetrics.JSON_FILE);
+        if (!Files.exists(export)) {
+            throw new IllegalStateException("No latency export at " + export + "; run the tests with metrics.enabled=true first");
+        }
+        LatencyBaselineStore store = new LatencyBaselineStore(Path.of(config.latencyBaselineDir()), config.latencyBaselineHistory());
+        LatencySnapshot current = LatencySnapshot.read(export);
+        Optional<LatencySnapshot> baseline = store.loadBaseline();
+        store.archive(export);
+        if (baseline.isEmpty()) {
+            if (config.latencyGatePromote()) {
+                store.promote(export);
+                log.info("No latency baseline in {}; this run ({} series) is now the baseline",
+                        store.getDirectory(), current.getSeries().size());
+            } else {
+                log.warn("No latency baseline in {}; nothing to compare with. Run with -Dlatency.gate.promote=true "
+                        + "to make a run the baseline", store.getDirectory());
+            }
+            return;
+        }
+
+        List<Comparison> comparisons = LatencyGate.fromConfig(config).compare(baseline.get(), current);
+        String report = format(comparisons);
+        log.info("\n{}", report);
+        try {
+            Files.writeString(export.resolveSibling(REPORT_FILE), report, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + REPORT_FILE, e);
+        }
+        List<Comparison> regressions = new ArrayList<>();
+        for (Comparison comparison : comparisons) {
+            if (comparison.isRegression()) {
+                regressions.add(comparison);
+            }
+        }
+        if (!regressions.isEmpty()) {
+            StringBuilder message = new StringBuilder("Latency regression in ").append(regressions.size()).append(" series:");
+            for (Comparison regression : regressions) {
+                message.append("\n  ").append(regression.getSeries()).append(String.format(
+                        ": p50 %+.1f%%, p90 %+.1f%%, Cliff's delta %.2f, KS p=%.2g",
+                        regression.getP50ChangePercent(), regression.getP90ChangePercent(),
+                        regression.getCliffsDelta(), regression.getPValue()));
+            }
+            throw new IllegalStateException(message.toString());
+        }
+        if (config.latencyGatePromote()) {
+            store.promote(export);
+            log.info("Latency gate passed; this run is now the baseline in {}", store.getDirectory());
+        }
+    }
+
+    /**
+     * @return one comparison per series in the current run, ordered as in its export
+     */
+    public List<Comparison> compare(LatencySnapshot baseline, LatencySnapshot current) {
+        List<Comparison> comparisons = new ArrayList<>();
+        for (Map.Entry<String, Histogram> entry : current.getSeries().entrySet()) {
+            comparisons.add(compare(entry.getKey(), baseline.getSeries().get(entry.getKey()), entry.getValue()));
+        }
+        return Collections.unmodifiableList(comparisons);
+    }
+
+    Comparison compare(String series, Histogram baseline, Histogram current) {
+        if (baseline == null) {
+            return new Comparison(series, Verdict.NEW, null, current, 1, 0);
+        }
+        if (baseline.getTotalCount() < minSamples || current.getTotalCount() < minSamples) {
+            return new Comparison(series, Verdict.TOO_FEW_SAMPLES, baseline, current, 1, 0);
+        }
+        double dPlus = LatencyDistribution.ksSlowerStatistic(baseline, current);
+        double pValue = LatencyDistribution.ksOneSidedPValue(dPlus, baseline.getTotalCount(), current.getTotalCount());
+        double delta = LatencyDistribution.cliffsDelta(baseline, current);
+        Comparison comparison = new Comparison(series, Verdict.OK, baseline, current, pValue, delta);
+        if (pValue >= alpha) {
+            return comparison;
+        }
+        boolean tailSlower = comparison.getP90ChangePercent() > maxRegressionPercent;
+        boolean medianSlower = comparison.getP50ChangePercent() > maxRegressionPercent && delta >= minEffect;
+        return new Comparison(series, tailSlower || medianSlower ? Verdict.REGRESSION : Verdict.SLOWER,
+                baseline, current, pValue, delta);
+    }
+
+    static String format(List<Comparison> comparisons) {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%-44s %8s %8s %9s %9s %9s %9s %8s %9s  %s%n",
+                "series", "base n", "cur n", "base p50", "cur p50", "p50 %", "p90 %", "delta", "KS p", "verdict"));
+        for (Comparison c : comparisons) {
+            Histogram baseline = c.getBaseline();
+            boolean judged = c.getVerdict() != Verdict.NEW && c.getVerdict() != Verdict.TOO_FEW_SAMPLES;
+            table.append(String.format("%-44s %8s %8d %9s %9.2f %9s %9s %8s %9s  %s%n", c.getSeries(),
+                    baseline == null ? "-" : String.valueOf(baseline.getTotalCount()), c.getCurrent().getTotalCount(),
+                    baseline == null ? "-" : String.format("%.2f", baseline.getValueAtPercentile(50) / 1000.0),
+                    c.getCurrent().getValueAtPercentile(50) / 1000.0,
+                    baseline == null ? "-" : String.format("%+.1f", c.getP50ChangePercent()),
+                    baseline == null ? "-" : String.format("%+.1f", c.getP90ChangePercent()),
+                    judged ? String.format("%.2f", c.getCliffsDelta()) : "-",
+                    judged ? String.format("%.2g", c.getPValue()) : "-",
+                    c.getVerdict()));
+        }
+        return table.toString();
+    }
+
+    public enum Verdict {
+        /** Not significantly or not substantially slower */
+        OK,
+        /** Significantly slower, but not by enough to fail the gate */
+        SLOWER,
+        /** Fails the gate */
+        REGRESSION,
+        /** Not in the baseline */
+        NEW,
+        /** Fewer than latency.gate.min.samples samples on one side */
+        TOO_FEW_SAMPLES
+    }
+
+    public static final class Comparison {
+
+        private final String series;
+        private final Verdict verdict;
+        private final Histogram baseline;
+        private final Histogram current;
+        private final double pValue;
+        private final double cliffsDelta;
+
+        Comparison(String series, Verdict verdict, Histogram baseline, Histogram current, double pValue, double cliffsDelta) {
+            this.series = series;
+            this.verdict = verdict;
+            this.baseline = baseline;
+            this.current = current;
+            this.pValue = pValue;
+            this.cliffsDelta = cliffsDelta;
+        }
+
+        public String getSeries() {
+            return series;
+        }
+
+        public Verdict getVerdict() {
+            return verdict;
+        }
+
+        public boolean isRegression() {
+            return verdict == Verdict.REGRESSION;
+        }
+
+        /**
+         * @return the baseline histogram in microseconds, or null for a new series
+         */
+        public Histogram getBaseline() {
+            return baseline;
+        }
+
+        public Histogram getCurrent() {
+            return current;
+        }
+
+        /**
+         * @return p-value of the one-sided KS test against "the current run is not slower"
+         */
+        public double getPValue() {
+            return pValue;
+        }
+
+        public double getCliffsDelta() {
+            return cliffsDelta;
+        }
+
+        public double getP50ChangePercent() {
+            return changePercent(50);
+        }
+
+        public double getP90ChangePercent() {
+            return changePercent(90);
+        }
+
+        private double changePercent(double percentile) {
+            if (baseline == null) {
+                return 0;
+            }
+            double before = baseline.getValueAtPercentile(percentile);
+            return before == 0 ? 0 : (current.getValueAtPercentile(percentile) / before - 1) * 100;
+        }
+    }
+}
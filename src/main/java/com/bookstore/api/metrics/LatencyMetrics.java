@@ -0,0 +1,145 @@
+package com.bookstore.api.metrics;
+
+import com.bookstore.api.utils.JsonUtils;
+import com.bookstore.api.utils.PathTemplates;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Request latencies of the whole run, one {@link LatencySeries} per HTTP
+ * method, endpoint template ({@code /api/v1/Books/{id}}, not
+ * {@code /api/v1/Books/42}) and status class. Exported at the end of the
+ * suite as JSON (with each histogram encoded, so runs can be merged or
+ * compared later) and in the Prometheus text format.
+ */
+public final class LatencyMetrics {
+
+    public static final String JSON_FILE = "latency.json";
+    public static final String PROMETHEUS_FILE = "latency.prom";
+
+    private static final String METRIC = "bookstore_api_request_duration_seconds";
+    private static final double[] QUANTILES = {0.5, 0.9, 0.95, 0.99, 0.999};
+
+    private static volatile LatencyMetrics instance;
+
+    private final Map<String, LatencySeries> series = new ConcurrentHashMap<>();
+    // Raw path -> template, so the regex runs once per distinct path
+    private final Map<String, String> templates = new ConcurrentHashMap<>();
+
+    private LatencyMetrics() {
+    }
+
+    public static LatencyMetrics getInstance() {
+        if (instance == null) {
+            synchronized (LatencyMetrics.class) {
+                if (instance == null) {
+                    instance = new LatencyMetrics();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * @param statusCode the response status, or 0 when the request failed without one
+     */
+    public void record(String method, String rawPath, int statusCode, long nanos) {
+        String path = templates.size() < 10_000
+                ? templates.computeIfAbsent(rawPath, PathTemplates::of)
+                : PathTemplates.of(rawPath);
+        String status = statusCode == 0 ? "error" : statusCode / 100 + "xx";
+        String key = method + ' ' + path + ' ' + status;
+        LatencySeries target = series.get(key);
+        if (target == null) {
+            target = series.computeIfAbsent(key, ignored -> new LatencySeries(method, path, status));
+        }
+        target.record(nanos);
+    }
+
+    /**
+     * @return all series, ordered by path, method and status
+     */
+    public List<LatencySeries> getSeries() {
+        List<LatencySeries> snapshot = new ArrayList<>(series.values());
+        snapshot.sort(Comparator.comparing(LatencySeries::getPath)
+                .thenComparing(LatencySeries::getMethod)
+                .thenComparing(LatencySeries::getStatus));
+        return snapshot;
+    }
+
+    public boolean isEmpty() {
+        return series.isEmpty();
+    }
+
+    /**
+     * Writes {@value #JSON_FILE} and {@value #PROMETHEUS_FILE} to {@code directory}.
+     */
+    public void export(Path directory) {
+        List<LatencySeries> snapshot = getSeries();
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(directory.resolve(JSON_FILE), toJson(snapshot), StandardCharsets.UTF_8);
+            Files.writeString(directory.resolve(PROMETHEUS_FILE), toPrometheus(snapshot), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write latency metrics to " + directory, e);
+        }
+    }
+
+    static String toJson(List<LatencySeries> snapshot) {
+        List<Map<String, Object>> entries = new ArrayList<>(snapshot.size());
+        for (LatencySeries s : snapshot) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("method", s.getMethod());
+            entry.put("path", s.getPath());
+            entry.put("status", s.getStatus());
+            entry.put("count", s.getCount());
+            entry.put("meanMs", s.getMeanMs());
+            entry.put("minMs", s.getMinMs());
+            entry.put("p50Ms", s.getLatencyMs(50));
+            entry.put("p90Ms", s.getLatencyMs(90));
+            entry.put("p95Ms", s.getLatencyMs(95));
+            entry.put("p99Ms", s.getLatencyMs(99));
+            entry.put("p999Ms", s.getLatencyMs(99.9));
+            entry.put("maxMs", s.getMaxMs());
+            entry.put("histogramUnit", "us");
+            entry.put("histogram", s.encodeHistogram());
+            entries.add(entry);
+        }
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("generatedAt", Instant.now().toString());
+        root.put("series", entries);
+        return JsonUtils.toJson(root);
+    }
+
+    static String toPrometheus(List<LatencySeries> snapshot) {
+        StringBuilder out = new StringBuilder();
+        out.append("# HELP ").append(METRIC).append(" Client-observed latency of API requests.\n");
+        out.append("# TYPE ").append(METRIC).append(" summary\n");
+        for (LatencySeries s : snapshot) {
+            String labels = "method=\"" + escape(s.getMethod()) + "\",path=\"" + escape(s.getPath())
+                    + "\",status=\"" + escape(s.getStatus()) + "\"";
+            for (double quantile : QUANTILES) {
+                out.append(METRIC).append('{').append(labels).append(",quantile=\"").append(quantile).append("\"} ")
+                        .append(s.getLatencyMs(quantile * 100) / 1000.0).append('\n');
+            }
+            out.append(METRIC).append("_sum{").append(labels).append("} ").append(s.getSumSeconds()).append('\n');
+            out.append(METRIC).append("_count{").append(labels).append("} ").append(s.getCount()).append('\n');
+        }
+        return out.toString();
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
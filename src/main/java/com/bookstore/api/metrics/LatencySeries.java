@@ -0,0 +1,90 @@
+package com.bookstore.api.metrics;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies of one method, endpoint template and status class, in
+ * microseconds. Recording is wait-free, so any number of request threads can
+ * record at once.
+ */
+public final class LatencySeries {
+
+    private final String method;
+    private final String path;
+    private final String status;
+    private final Histogram histogram = new ConcurrentHistogram(3);
+    private final LongAdder sumNanos = new LongAdder();
+
+    LatencySeries(String method, String path, String status) {
+        this.method = method;
+        this.path = path;
+        this.status = status;
+    }
+
+    void record(long nanos) {
+        histogram.recordValue(Math.max(0, nanos / 1000));
+        sumNanos.add(nanos);
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @return the status class, e.g. {@code 2xx}, or {@code error} when no response was received
+     */
+    public String getStatus() {
+        return status;
+    }
+
+    public long getCount() {
+        return histogram.getTotalCount();
+    }
+
+    public double getSumSeconds() {
+        return sumNanos.sum() / 1e9;
+    }
+
+    public double getMeanMs() {
+        return histogram.getMean() / 1000.0;
+    }
+
+    public double getLatencyMs(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public double getMinMs() {
+        return histogram.getMinValue() / 1000.0;
+    }
+
+    public double getMaxMs() {
+        return histogram.getMaxValue() / 1000.0;
+    }
+
+    /**
+     * @return a copy of the histogram, in microseconds
+     */
+    public Histogram getHistogram() {
+        return histogram.copy();
+    }
+
+    /**
+     * @return the histogram in HdrHistogram's compressed form, Base64 encoded
+     */
+    public String encodeHistogram() {
+        Histogram copy = histogram.copy();
+        ByteBuffer buffer = ByteBuffer.allocate(copy.getNeededByteBufferCapacity());
+        int length = copy.encodeIntoCompressedByteBuffer(buffer);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+    }
+}
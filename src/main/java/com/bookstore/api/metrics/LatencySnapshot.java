@@ -0,0 +1,58 @@
+package com.bookstore.api.metrics;
+
+import com.bookstore.api.utils.JsonUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+
+/**
+ * The histograms of one run, read back from a {@value LatencyMetrics#JSON_FILE} export.
+ */
+public final class LatencySnapshot {
+
+    private final Path file;
+    private final Map<String, Histogram> series;
+
+    private LatencySnapshot(Path file, Map<String, Histogram> series) {
+        this.file = file;
+        this.series = Collections.unmodifiableMap(series);
+    }
+
+    public static LatencySnapshot read(Path file) {
+        try {
+            JsonNode root = JsonUtils.getObjectMapper().readTree(file.toFile());
+            Map<String, Histogram> series = new LinkedHashMap<>();
+            for (JsonNode entry : root.path("series")) {
+                String key = entry.path("method").asText() + ' ' + entry.path("path").asText() + ' '
+                        + entry.path("status").asText();
+                byte[] encoded = Base64.getDecoder().decode(entry.path("histogram").asText());
+                series.put(key, Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(encoded), 0));
+            }
+            return new LatencySnapshot(file, series);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read latency snapshot " + file, e);
+        } catch (DataFormatException | IllegalArgumentException e) {
+            throw new IllegalStateException("Latency snapshot " + file + " holds an invalid histogram", e);
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * @return histograms in microseconds, keyed by {@code "<method> <path template> <status class>"}
+     */
+    public Map<String, Histogram> getSeries() {
+        return series;
+    }
+}
@@ -0,0 +1,39 @@
+package com.bookstore.api.metrics;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.net.URI;
+
+/**
+ * Records the latency of every REST Assured request in {@link LatencyMetrics}.
+ * It runs after the cache and rate limiter, so cache hits and time spent
+ * waiting for a slot are not counted, but before logging and replay.
+ * Requests sent with the JDK client are recorded by {@code AsyncHttpEngine}.
+ */
+public class MetricsFilter implements OrderedFilter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long startNanos = System.nanoTime();
+        int statusCode = 0;
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            statusCode = response.getStatusCode();
+            return response;
+        } finally {
+            LatencyMetrics.getInstance().record(requestSpec.getMethod(), URI.create(requestSpec.getURI()).getRawPath(),
+                    statusCode, System.nanoTime() - startNanos);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE + 2;
+    }
+}
@@ -0,0 +1,109 @@
+package com.bookstore.api.reporting;
+
+import com.bookstore.api.utils.BackgroundWriter;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Adds attachments to the running Allure test without building or writing
+ * them on the test thread. The attachment is registered on the caller's
+ * thread, which only reserves a file name in the test result; the content is
+ * produced and written to the results directory on a {@link BackgroundWriter}.
+ */
+public final class AllureAttachmentWriter {
+
+    private static final int QUEUE_CAPACITY = 128;
+    private static final long FLUSH_TIMEOUT_SECONDS = 30;
+    private static final String TRUNCATED = "\n... [truncated]";
+
+    private static volatile AllureAttachmentWriter instance;
+
+    private final BackgroundWriter writer = new BackgroundWriter("allure-attachment-writer", QUEUE_CAPACITY);
+    private final LongAdder attachments = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+    private final LongAdder truncated = new LongAdder();
+
+    private AllureAttachmentWriter() {
+    }
+
+    public static AllureAttachmentWriter getInstance() {
+        if (instance == null) {
+            synchronized (AllureAttachmentWriter.class) {
+                if (instance == null) {
+                    instance = new AllureAttachmentWriter();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Attaches text to the test or step running on the calling thread.
+     *
+     * @param content  called on the writer thread; must not depend on thread-local state
+     * @param maxBytes content beyond this many UTF-8 bytes is cut off
+     */
+    public void attachText(String name, Supplier<String> content, int maxBytes) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String source = lifecycle.prepareAttachment(name, "text/plain", ".txt");
+        attachments.increment();
+        writer.submit(() -> {
+            byte[] bytes = content.get().getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > maxBytes) {
+                bytes = truncate(bytes, maxBytes);
+                truncated.increment();
+            }
+            lifecycle.writeAttachment(source, new ByteArrayInputStream(bytes));
+            bytesWritten.add(bytes.length);
+        });
+    }
+
+    /**
+     * Cuts {@code bytes} to at most {@code maxBytes}, backing off to a character
+     * boundary so no UTF-8 sequence is split, and appends the truncation marker.
+     */
+    static byte[] truncate(byte[] bytes, int maxBytes) {
+        int cut = Math.max(0, maxBytes);
+        // Continuation bytes are 10xxxxxx; the character they belong to starts before them
+        while (cut > 0 && (bytes[cut] & 0xC0) == 0x80) {
+            cut--;
+        }
+        byte[] marker = TRUNCATED.getBytes(StandardCharsets.UTF_8);
+        byte[] result = Arrays.copyOf(bytes, cut + marker.length);
+        System.arraycopy(marker, 0, result, cut, marker.length);
+        return result;
+    }
+
+    /**
+     * Waits until every attachment queued so far is on disk.
+     */
+    public void flush() {
+        writer.flush(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public long getAttachmentCount() {
+        return attachments.sum();
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    public long getTruncatedCount() {
+        return truncated.sum();
+    }
+
+    /**
+     * @return how many attachments had to wait for room in the writer queue
+     */
+    public long getBlockedCount() {
+        return writer.getBlockedCount();
+    }
+}
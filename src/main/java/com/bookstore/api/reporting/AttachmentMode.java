@@ -0,0 +1,25 @@
+package com.bookstore.api.reporting;
+
+/**
+ * Which tests get their HTTP exchanges attached to the Allure report, from {@code allure.attach.mode}.
+ */
+public enum AttachmentMode {
+
+    /** Only failed tests. */
+    FAILURE,
+    /** Failed tests, plus passed tests picked at {@code allure.attach.sample.rate}. */
+    SAMPLED,
+    /** Every test. */
+    ALWAYS,
+    /** None. */
+    OFF;
+
+    public static AttachmentMode from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown allure.attach.mode '" + value
+                    + "', expected failure, sampled, always or off", e);
+        }
+    }
+}
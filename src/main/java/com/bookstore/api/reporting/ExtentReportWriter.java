@@ -0,0 +1,184 @@
+package com.bookstore.api.reporting;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.ExtentColor;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.aventstack.extentreports.reporter.configuration.Theme;
+import com.bookstore.api.utils.BackgroundWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Builds the ExtentReports HTML report on a single {@link BackgroundWriter}
+ * thread. Listener callbacks only enqueue small events, so they never contend
+ * on the report. The report is flushed to disk every {@code flushEveryTests}
+ * finished tests, and after {@code testsPerReport} tests it is closed and a new
+ * part is started, so the tests held in memory stay bounded on long runs.
+ */
+public final class ExtentReportWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(ExtentReportWriter.class);
+
+    private static final String REPORT_DIR = "test-output/extent-reports";
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final long FLUSH_TIMEOUT_SECONDS = 60;
+
+    private static volatile ExtentReportWriter instance;
+
+    private final BackgroundWriter writer = new BackgroundWriter("extent-report-writer", QUEUE_CAPACITY);
+    private final AtomicLong testIds = new AtomicLong();
+    private final String timestamp = new SimpleDateFormat("yyyy.MM.dd.HH.mm.ss").format(new Date());
+    private final String reportDir;
+    private final int flushEveryTests;
+    private final int testsPerReport;
+
+    // Owned by the writer thread
+    private final Map<Long, RunningTest> runningTests = new HashMap<>();
+    private ExtentReports extent;
+    private int part;
+    private int testsInPart;
+    private int unflushedTests;
+
+    private ExtentReportWriter(int flushEveryTests, int testsPerReport) {
+        this(REPORT_DIR, flushEveryTests, testsPerReport);
+    }
+
+    ExtentReportWriter(String reportDir, int flushEveryTests, int testsPerReport) {
+        this.reportDir = reportDir;
+        this.flushEveryTests = Math.max(1, flushEveryTests);
+        this.testsPerReport = Math.max(1, testsPerReport);
+    }
+
+    public static ExtentReportWriter getInstance(int flushEveryTests, int testsPerReport) {
+        if (instance == null) {
+            synchronized (ExtentReportWriter.class) {
+                if (instance == null) {
+                    instance = new ExtentReportWriter(flushEveryTests, testsPerReport);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * @return an ID to pass to {@link #testFinished} for the same test
+     */
+    public long testStarted(String name, String description) {
+        long id = testIds.incrementAndGet();
+        writer.submit(() -> {
+            if (extent == null || testsInPart >= testsPerReport) {
+                startPart();
+            }
+            testsInPart++;
+            runningTests.put(id, new RunningTest(extent.createTest(name, description), extent));
+        });
+        return id;
+    }
+
+    public void testFinished(long id, String name, Status status, Throwable throwable) {
+        writer.submit(() -> {
+            RunningTest running = runningTests.remove(id);
+            if (running == null) {
+                return;
+            }
+            ExtentTest test = running.test;
+            test.log(status, MarkupHelper.createLabel(name + " " + label(status), color(status)));
+            if (throwable != null) {
+                test.log(status, throwable);
+            }
+            if (running.report != extent) {
+                // Started before the report was rotated; rewrite that part with the result
+                running.report.flush();
+            } else if (++unflushedTests >= flushEveryTests) {
+                flushReport();
+            }
+        });
+    }
+
+    /**
+     * Writes everything queued so far to the current report part and waits for it.
+     */
+    public void flush() {
+        writer.submit(this::flushReport);
+        writer.flush(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private void startPart() {
+        if (extent != null) {
+            extent.flush();
+            log.info("ExtentReports part {} closed after {} tests", part, testsInPart);
+        }
+        part++;
+        testsInPart = 0;
+        unflushedTests = 0;
+
+        File dir = new File(reportDir);
+        if (!dir.exists()) {
+            dir.mkdirs();
+        }
+        String reportPath = reportDir + "/ExtentReport_" + timestamp + (part > 1 ? "_part" + part : "") + ".html";
+
+        ExtentSparkReporter sparkReporter = new ExtentSparkReporter(reportPath);
+        sparkReporter.config().setDocumentTitle("Bookstore API Test Automation Report");
+        sparkReporter.config().setReportName("API Test Results" + (part > 1 ? " (part " + part + ")" : ""));
+        sparkReporter.config().setTheme(Theme.STANDARD);
+        sparkReporter.config().setTimeStampFormat("EEEE, MMMM dd, yyyy, hh:mm a '('zzz')'");
+
+        extent = new ExtentReports();
+        extent.attachReporter(sparkReporter);
+        extent.setSystemInfo("Environment", "QA");
+        extent.setSystemInfo("API Base URL", "https://fakerestapi.azurewebsites.net");
+        extent.setSystemInfo("Tester", "Automation Framework");
+    }
+
+    private void flushReport() {
+        if (extent != null) {
+            extent.flush();
+            unflushedTests = 0;
+        }
+    }
+
+    private static String label(Status status) {
+        switch (status) {
+            case PASS:
+                return "PASSED";
+            case FAIL:
+                return "FAILED";
+            default:
+                return "SKIPPED";
+        }
+    }
+
+    private static ExtentColor color(Status status) {
+        switch (status) {
+            case PASS:
+                return ExtentColor.GREEN;
+            case FAIL:
+                return ExtentColor.RED;
+            default:
+                return ExtentColor.ORANGE;
+        }
+    }
+
+    private static final class RunningTest {
+
+        private final ExtentTest test;
+        private final ExtentReports report;
+
+        private RunningTest(ExtentTest test, ExtentReports report) {
+            this.test = test;
+            this.report = report;
+        }
+    }
+}
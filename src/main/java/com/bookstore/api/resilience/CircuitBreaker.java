@@ -0,0 +1,149 @@
+package com.bookstore.api.resilience;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker for one endpoint.
+ * <p>
+ * While closed, the outcomes of the last {@code windowSize} calls are kept;
+ * once at least {@code minCalls} are recorded and the failure rate reaches
+ * {@code failureRateThreshold}, the breaker opens and calls fail fast for
+ * {@code openMs}. After that a single trial call is let through (half-open):
+ * if it succeeds the breaker closes with an empty window, otherwise it opens
+ * again.
+ */
+public final class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final boolean[] window;
+    private final int minCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+
+    private State state = State.CLOSED;
+    private int next;
+    private int calls;
+    private int failures;
+    private long openedAt;
+    private boolean trialInFlight;
+    private long trips;
+    private long rejected;
+
+    public CircuitBreaker(String name, int windowSize, int minCalls, double failureRateThreshold, long openMs) {
+        this(name, windowSize, minCalls, failureRateThreshold, openMs, System::nanoTime);
+    }
+
+    CircuitBreaker(String name, int windowSize, int minCalls, double failureRateThreshold, long openMs,
+                   LongSupplier nanoClock) {
+        this.name = name;
+        this.window = new boolean[Math.max(1, windowSize)];
+        this.minCalls = Math.max(1, Math.min(minCalls, window.length));
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openMs * 1_000_000;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @return {@code false} if the call must not be made; the caller then fails fast
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && nanoClock.getAsLong() - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.HALF_OPEN && !trialInFlight) {
+            trialInFlight = true;
+            return true;
+        }
+        rejected++;
+        return false;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            reset(State.CLOSED);
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            trip();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (calls >= minCalls && (double) failures / calls >= failureRateThreshold) {
+                trip();
+            }
+        }
+    }
+
+    /**
+     * Ends a call that produced no outcome, e.g. one that threw an {@link Error}:
+     * nothing is recorded, but a half-open trial slot is freed for the next call.
+     */
+    public synchronized void onAbandoned() {
+        if (state == State.HALF_OPEN) {
+            trialInFlight = false;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * @return how many times the breaker opened
+     */
+    public synchronized long getTrips() {
+        return trips;
+    }
+
+    /**
+     * @return calls refused while the breaker was open
+     */
+    public synchronized long getRejectedCount() {
+        return rejected;
+    }
+
+    private void record(boolean failed) {
+        if (calls == window.length) {
+            if (window[next]) {
+                failures--;
+            }
+        } else {
+            calls++;
+        }
+        window[next] = failed;
+        if (failed) {
+            failures++;
+        }
+        next = (next + 1) % window.length;
+    }
+
+    private void trip() {
+        reset(State.OPEN);
+        openedAt = nanoClock.getAsLong();
+        trips++;
+    }
+
+    private void reset(State newState) {
+        state = newState;
+        next = 0;
+        calls = 0;
+        failures = 0;
+        trialInFlight = false;
+    }
+}
@@ -0,0 +1,11 @@
+package com.bookstore.api.resilience;
+
+/**
+ * Thrown instead of sending a request while the endpoint's {@link CircuitBreaker} is open.
+ */
+public class CircuitOpenException extends RuntimeException {
+
+    public CircuitOpenException(String endpoint) {
+        super("Circuit breaker for " + endpoint + " is open; request not sent");
+    }
+}
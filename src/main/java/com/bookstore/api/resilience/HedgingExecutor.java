@@ -0,0 +1,245 @@
+package com.bookstore.api.resilience;
+
+import com.bookstore.api.config.ApiConfig;
+import com.bookstore.api.config.ConfigurationManager;
+import com.bookstore.api.http.AsyncHttpEngine;
+import com.bookstore.api.http.RateLimits;
+import com.bookstore.api.traffic.TrafficMode;
+import com.bookstore.api.utils.PathTemplates;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends GET requests with hedging: if the first attempt has not answered
+ * within the endpoint's usual latency, a second identical request is sent and
+ * whichever answers first is used; the other is cancelled.
+ * <p>
+ * The hedge delay is the {@code hedge.delay.percentile} of the endpoint's
+ * recent latencies (the last {@code hedge.window.size} responses, numeric IDs
+ * folded into {@code {id}}), but at least {@code hedge.delay.min.ms}. Until
+ * {@code hedge.min.samples} responses are known, requests are not hedged. At
+ * most {@code hedge.max.percent} of requests are hedged, so a slow API does
+ * not get twice the load.
+ * <p>
+ * Requests go through {@link AsyncHttpEngine}, whose futures can be cancelled.
+ * {@link HedgingFilter} calls this from the end of the REST Assured chain, so
+ * the first attempt's rate limit slot and latency are taken care of by the
+ * filters before it; only the hedge takes a slot of its own. Hedging is only
+ * used against the live API ({@code traffic.mode=live}).
+ */
+public final class HedgingExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(HedgingExecutor.class);
+
+    private static volatile HedgingExecutor instance;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final long minDelayMicros;
+    private final int minSamples;
+    private final int windowSize;
+    private final double maxPercent;
+    private final Map<String, LatencyWindow> windows = new ConcurrentHashMap<>();
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong fired = new AtomicLong();
+    private final LongAdder won = new LongAdder();
+    private final LongAdder capped = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+
+    private HedgingExecutor(ApiConfig config) {
+        this(config.hedgeEnabled() && TrafficMode.from(config.trafficMode()) == TrafficMode.LIVE,
+                config.hedgeDelayPercentile(), config.hedgeDelayMinMs(), config.hedgeMinSamples(),
+                config.hedgeWindowSize(), config.hedgeMaxPercent());
+        if (config.hedgeEnabled() && !enabled) {
+            log.warn("hedge.enabled is ignored with traffic.mode={}: recorded traffic must not depend on which attempt won",
+                    config.trafficMode());
+        }
+    }
+
+    HedgingExecutor(boolean enabled, double percentile, long minDelayMs, int minSamples, int windowSize, double maxPercent) {
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.minDelayMicros = minDelayMs * 1000;
+        this.minSamples = Math.max(1, minSamples);
+        this.windowSize = Math.max(this.minSamples, windowSize);
+        this.maxPercent = maxPercent;
+    }
+
+    public static HedgingExecutor getInstance() {
+        if (instance == null) {
+            synchronized (HedgingExecutor.class) {
+                if (instance == null) {
+                    instance = new HedgingExecutor(ConfigurationManager.getConfig());
+                }
+            }
+        }
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sends {@code request}, hedging it if the first attempt is slow.
+     *
+     * @throws UncheckedIOException if the request failed with an I/O error
+     */
+    public HttpResponse<byte[]> send(HttpRequest request) {
+        LatencyWindow window = windows.computeIfAbsent(PathTemplates.of(request.uri().getRawPath()),
+                endpoint -> new LatencyWindow());
+        requests.incrementAndGet();
+        CompletableFuture<HttpResponse<byte[]>> primary = attempt(request, window, false);
+        long delayMicros = window.delayMicros();
+        try {
+            if (delayMicros < 0) {
+                return primary.get();
+            }
+            try {
+                return primary.get(delayMicros, TimeUnit.MICROSECONDS);
+            } catch (TimeoutException e) {
+                if (!tryAcquireHedge()) {
+                    capped.increment();
+                    return primary.get();
+                }
+            }
+
+            CompletableFuture<HttpResponse<byte[]>> hedge = attempt(request, window, true);
+            CompletableFuture<HttpResponse<byte[]>> first = new CompletableFuture<>();
+            primary.thenAccept(first::complete);
+            hedge.thenAccept(first::complete);
+            // Fails only once both attempts failed
+            CompletableFuture.allOf(primary, hedge).whenComplete((ignored, error) -> {
+                if (error != null) {
+                    first.completeExceptionally(error);
+                }
+            });
+            HttpResponse<byte[]> response = first.get();
+            CompletableFuture<HttpResponse<byte[]>> loser = response == hedge.getNow(null) ? primary : hedge;
+            if (loser == primary) {
+                won.increment();
+            }
+            if (loser.cancel(true)) {
+                cancelled.increment();
+            }
+            return response;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null
+                    ? e.getCause().getCause() : e.getCause();
+            if (cause instanceof IOException) {
+                throw new UncheckedIOException((IOException) cause);
+            }
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            primary.cancel(true);
+            throw new IllegalStateException("Interrupted while waiting for " + request.uri(), e);
+        }
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    /**
+     * @return requests for which a second attempt was sent
+     */
+    public long getHedgedCount() {
+        return fired.get();
+    }
+
+    /**
+     * @return hedged requests answered by the second attempt
+     */
+    public long getHedgeWonCount() {
+        return won.sum();
+    }
+
+    /**
+     * @return slow requests that were not hedged because {@code hedge.max.percent} was reached
+     */
+    public long getCappedCount() {
+        return capped.sum();
+    }
+
+    public long getCancelledCount() {
+        return cancelled.sum();
+    }
+
+    private boolean tryAcquireHedge() {
+        while (true) {
+            long current = fired.get();
+            if ((current + 1) * 100.0 > requests.get() * maxPercent) {
+                return false;
+            }
+            if (fired.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> attempt(HttpRequest request, LatencyWindow window, boolean hedge) {
+        if (hedge) {
+            RateLimits.getInstance().acquire(request.uri().getRawPath());
+        }
+        long start = System.nanoTime();
+        // MetricsFilter records the hedged request as a whole
+        CompletableFuture<HttpResponse<byte[]>> response = AsyncHttpEngine.getInstance()
+                .send(request, HttpResponse.BodyHandlers.ofByteArray(), false);
+        response.thenRun(() -> window.record((System.nanoTime() - start) / 1000));
+        return response;
+    }
+
+    /**
+     * Latencies of the current and the previous {@code windowSize} responses, in microseconds.
+     */
+    private final class LatencyWindow {
+
+        private volatile Histogram current = new ConcurrentHistogram(3);
+        private volatile Histogram previous;
+
+        void record(long micros) {
+            Histogram histogram = current;
+            histogram.recordValue(micros);
+            if (histogram.getTotalCount() >= windowSize) {
+                synchronized (this) {
+                    if (current == histogram) {
+                        previous = histogram;
+                        current = new ConcurrentHistogram(3);
+                    }
+                }
+            }
+        }
+
+        /**
+         * @return the hedge delay, or -1 while too few latencies are known
+         */
+        long delayMicros() {
+            Histogram histogram = current;
+            if (histogram.getTotalCount() < minSamples) {
+                histogram = previous;
+                if (histogram == null) {
+                    return -1;
+                }
+            }
+            return Math.max(minDelayMicros, histogram.getValueAtPercentile(percentile));
+        }
+    }
+}
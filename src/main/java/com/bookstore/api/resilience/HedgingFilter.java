@@ -0,0 +1,62 @@
+package com.bookstore.api.resilience;
+
+import com.bookstore.api.http.AsyncHttpEngine;
+import com.bookstore.api.utils.SyntheticResponses;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Sends REST Assured GETs through {@link HedgingExecutor} instead of REST
+ * Assured's own client. It runs last in the chain, so the response cache,
+ * rate limiter, metrics and logging filters see a hedged GET like any other
+ * request, and the latency recorded is the one the test waited for.
+ * <p>
+ * It is only added against the live API, so it never meets the traffic
+ * recording filter.
+ */
+public class HedgingFilter implements OrderedFilter {
+
+    // Set by the JDK HTTP client itself
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host", "upgrade");
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (!"GET".equals(requestSpec.getMethod())) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(requestSpec.getURI()))
+                .timeout(AsyncHttpEngine.getInstance().getRequestTimeout())
+                .GET();
+        for (Header header : requestSpec.getHeaders()) {
+            if (!RESTRICTED_HEADERS.contains(header.getName().toLowerCase())) {
+                request.header(header.getName(), header.getValue());
+            }
+        }
+        HttpResponse<byte[]> response = HedgingExecutor.getInstance().send(request.build());
+
+        List<Header> headers = new ArrayList<>();
+        response.headers().map().forEach((name, values) -> values.forEach(value -> headers.add(new Header(name, value))));
+        String statusLine = (response.version() == HttpClient.Version.HTTP_2 ? "HTTP/2" : "HTTP/1.1") + " " + response.statusCode();
+        return SyntheticResponses.of(response.statusCode(), statusLine, new Headers(headers), response.body(), requestSpec.getConfig());
+    }
+
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE;
+    }
+}
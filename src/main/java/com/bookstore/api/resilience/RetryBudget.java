@@ -0,0 +1,51 @@
+package com.bookstore.api.resilience;
+
+/**
+ * Caps retries at a share of the traffic, so that when the API is failing
+ * retries cannot multiply the load on it.
+ * <p>
+ * The budget is a token bucket holding at most {@code burst} tokens. Every
+ * first attempt deposits {@code ratio} of a token and every retry withdraws a
+ * whole one; a retry without a token left is not made. Over time at most
+ * {@code ratio} retries are made per request, plus a burst of {@code burst}.
+ */
+public final class RetryBudget {
+
+    private final double ratio;
+    private final double burst;
+    private double tokens;
+    private long exhausted;
+
+    public RetryBudget(double ratio, int burst) {
+        this.ratio = Math.max(0, ratio);
+        this.burst = Math.max(0, burst);
+        this.tokens = this.burst;
+    }
+
+    public synchronized void onRequest() {
+        tokens = Math.min(burst, tokens + ratio);
+    }
+
+    /**
+     * @return {@code true} if a retry may be made; its token has then been spent
+     */
+    public synchronized boolean tryAcquire() {
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        exhausted++;
+        return false;
+    }
+
+    public synchronized double getTokens() {
+        return tokens;
+    }
+
+    /**
+     * @return retries that were not made because the budget was empty
+     */
+    public synchronized long getExhaustedCount() {
+        return exhausted;
+    }
+}
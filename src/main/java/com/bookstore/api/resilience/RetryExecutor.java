@@ -0,0 +1,258 @@
+package com.bookstore.api.resilience;
+
+import com.bookstore.api.config.ApiConfig;
+import com.bookstore.api.config.ConfigurationManager;
+import com.bookstore.api.utils.PathTemplates;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Retry layer under {@link com.bookstore.api.clients.BaseApiClient}.
+ * <p>
+ * A call is retried when it throws an I/O error (timeout, refused or reset
+ * connection) or returns 429 or 5xx, up to {@code retry.count} times. Only
+ * idempotent methods are retried unless {@code retry.non.idempotent=true}.
+ * The wait before retry {@code n} is drawn uniformly from
+ * {@code [0, min(retry.backoff.max.ms, retry.backoff.base.ms * 2^n)]} ("full
+ * jitter"), or longer if the response asks for it with {@code Retry-After}.
+ * Every retry must also get a token from the shared {@link RetryBudget}.
+ * <p>
+ * Each endpoint has its own {@link CircuitBreaker}; while it is open, calls
+ * throw {@link CircuitOpenException} without being sent. Numeric path segments
+ * are folded into {@code {id}}, so {@code /Books/1} and {@code /Books/2} share
+ * a breaker.
+ */
+public final class RetryExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(RetryExecutor.class);
+
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of("GET", "HEAD", "OPTIONS", "PUT", "DELETE");
+
+    private static volatile RetryExecutor instance;
+
+    private final boolean enabled;
+    private final int maxRetries;
+    private final boolean retryNonIdempotent;
+    private final long backoffBaseMs;
+    private final long backoffMaxMs;
+    private final RetryBudget budget;
+    private final boolean breakerEnabled;
+    private final int breakerWindow;
+    private final int breakerMinCalls;
+    private final double breakerFailureRate;
+    private final long breakerOpenMs;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder retriedCalls = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder recovered = new LongAdder();
+
+    private RetryExecutor(ApiConfig config) {
+        this.enabled = config.retryEnabled();
+        this.maxRetries = Math.max(0, config.retryCount());
+        this.retryNonIdempotent = config.retryNonIdempotent();
+        this.backoffBaseMs = Math.max(1, config.retryBackoffBaseMs());
+        this.backoffMaxMs = Math.max(backoffBaseMs, config.retryBackoffMaxMs());
+        this.budget = new RetryBudget(config.retryBudgetRatio(), config.retryBudgetBurst());
+        this.breakerEnabled = config.circuitBreakerEnabled();
+        this.breakerWindow = config.circuitBreakerWindow();
+        this.breakerMinCalls = config.circuitBreakerMinCalls();
+        this.breakerFailureRate = config.circuitBreakerFailureRate();
+        this.breakerOpenMs = config.circuitBreakerOpenMs();
+    }
+
+    public static RetryExecutor getInstance() {
+        if (instance == null) {
+            synchronized (RetryExecutor.class) {
+                if (instance == null) {
+                    instance = new RetryExecutor(ConfigurationManager.getConfig());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Runs {@code call}, which must send a new request each time it is invoked.
+     *
+     * @param method HTTP method, deciding whether the call may be retried
+     * @param path   request path, naming the circuit breaker
+     * @throws CircuitOpenException if the endpoint's circuit breaker is open
+     */
+    public Response execute(String method, String path, Supplier<Response> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        CircuitBreaker breaker = breakerEnabled ? breakerFor(path) : null;
+        boolean retryable = retryNonIdempotent || IDEMPOTENT_METHODS.contains(method);
+        calls.increment();
+        budget.onRequest();
+
+        for (int attempt = 0; ; attempt++) {
+            if (breaker != null && !breaker.tryAcquire()) {
+                throw new CircuitOpenException(breaker.getName());
+            }
+            Response response = null;
+            RuntimeException failure = null;
+            try {
+                response = call.get();
+            } catch (RuntimeException e) {
+                failure = e;
+            } catch (Exception e) {
+                // REST Assured rethrows I/O errors undeclared
+                failure = new TransientFailure(e);
+            } catch (Error e) {
+                // Says nothing about the endpoint, but must not leave a half-open trial in flight forever
+                if (breaker != null) {
+                    breaker.onAbandoned();
+                }
+                throw e;
+            }
+
+            boolean failed = failure != null || isRetryableStatus(response.getStatusCode());
+            if (breaker != null) {
+                if (failed) {
+                    breaker.onFailure();
+                } else {
+                    breaker.onSuccess();
+                }
+            }
+            if (!failed) {
+                if (attempt > 0) {
+                    recovered.increment();
+                }
+                return response;
+            }
+            boolean transientFailure = failure == null || isTransient(failure);
+            if (!retryable || !transientFailure || attempt >= maxRetries || !budget.tryAcquire()) {
+                if (failure instanceof TransientFailure) {
+                    throw sneakyThrow(failure.getCause());
+                } else if (failure != null) {
+                    throw failure;
+                }
+                return response;
+            }
+
+            long delayMs = backoffMs(attempt, response);
+            if (attempt == 0) {
+                retriedCalls.increment();
+            }
+            retries.increment();
+            log.debug("Retrying {} {} in {} ms after {} (retry {} of {})", method, path, delayMs,
+                    failure instanceof TransientFailure ? failure.getCause() : failure != null ? failure : "HTTP " + response.getStatusCode(), attempt + 1, maxRetries);
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting to retry " + method + " " + path, e);
+            }
+        }
+    }
+
+    public long getCallCount() {
+        return calls.sum();
+    }
+
+    /**
+     * @return calls that were retried at least once
+     */
+    public long getRetriedCallCount() {
+        return retriedCalls.sum();
+    }
+
+    public long getRetryCount() {
+        return retries.sum();
+    }
+
+    /**
+     * @return calls that failed at first and then succeeded on a retry
+     */
+    public long getRecoveredCount() {
+        return recovered.sum();
+    }
+
+    public long getBudgetExhaustedCount() {
+        return budget.getExhaustedCount();
+    }
+
+    public long getTripCount() {
+        return breakers.values().stream().mapToLong(CircuitBreaker::getTrips).sum();
+    }
+
+    public long getRejectedCount() {
+        return breakers.values().stream().mapToLong(CircuitBreaker::getRejectedCount).sum();
+    }
+
+    /**
+     * @return breakers that have opened at least once
+     */
+    public List<CircuitBreaker> getTrippedBreakers() {
+        List<CircuitBreaker> tripped = new ArrayList<>();
+        for (CircuitBreaker breaker : breakers.values()) {
+            if (breaker.getTrips() > 0) {
+                tripped.add(breaker);
+            }
+        }
+        return tripped;
+    }
+
+    private CircuitBreaker breakerFor(String path) {
+        String endpoint = PathTemplates.of(path);
+        return breakers.computeIfAbsent(endpoint, name ->
+                new CircuitBreaker(name, breakerWindow, breakerMinCalls, breakerFailureRate, breakerOpenMs));
+    }
+
+    private long backoffMs(int attempt, Response response) {
+        long ceiling = Math.min(backoffMaxMs, backoffBaseMs << Math.min(attempt, 20));
+        long delay = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        String retryAfter = response != null ? response.getHeader("Retry-After") : null;
+        if (retryAfter != null) {
+            try {
+                delay = Math.max(delay, Math.min(backoffMaxMs, Long.parseLong(retryAfter.trim()) * 1000));
+            } catch (NumberFormatException e) {
+                // HTTP-date form; the jittered backoff is used instead
+            }
+        }
+        return delay;
+    }
+
+    private static boolean isRetryableStatus(int statusCode) {
+        return statusCode == 429 || statusCode >= 500;
+    }
+
+    private static boolean isTransient(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends Throwable> RuntimeException sneakyThrow(Throwable e) throws E {
+        throw (E) e;
+    }
+
+    /**
+     * Carries a checked exception through the retry loop so it can be rethrown unchanged.
+     */
+    private static final class TransientFailure extends RuntimeException {
+
+        private TransientFailure(Throwable cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.bookstore.api.server;
+
+import com.bookstore.api.config.ApiConfig;
+import com.bookstore.api.utils.WireCodec;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The FakeRestAPI resources served by {@link FakeRestApiServer}, with the
+ * fields their models accept and how seed records are generated.
+ */
+public enum FakeResource {
+
+    BOOKS(fields("id", FieldType.INT, "title", FieldType.STRING, "description", FieldType.STRING,
+            "pageCount", FieldType.INT, "excerpt", FieldType.STRING, "publishDate", FieldType.DATE_TIME),
+            null, null) {
+        @Override
+        ObjectNode seed(int id, int bookCount) {
+            ObjectNode book = newNode(id);
+            book.put("title", "Book " + id);
+            book.put("description", LOREM);
+            book.put("pageCount", id * 100);
+            book.put("excerpt", LOREM + LOREM);
+            book.put("publishDate", date(id));
+            return book;
+        }
+
+        @Override
+        String endpoint(ApiConfig config) {
+            return config.booksEndpoint();
+        }
+    },
+
+    AUTHORS(fields("id", FieldType.INT, "idBook", FieldType.INT, "firstName", FieldType.STRING,
+            "lastName", FieldType.STRING),
+            "/authors/books/", "idBook") {
+        @Override
+        ObjectNode seed(int id, int bookCount) {
+            ObjectNode author = newNode(id);
+            author.put("idBook", (id - 1) % Math.max(1, bookCount) + 1);
+            author.put("firstName", "First Name " + id);
+            author.put("lastName", "Last Name " + id);
+            return author;
+        }
+
+        @Override
+        String endpoint(ApiConfig config) {
+            return config.authorsEndpoint();
+        }
+    },
+
+    ACTIVITIES(fields("id", FieldType.INT, "title", FieldType.STRING, "dueDate", FieldType.DATE_TIME,
+            "completed", FieldType.BOOLEAN),
+            null, null) {
+        @Override
+        ObjectNode seed(int id, int bookCount) {
+            ObjectNode activity = newNode(id);
+            activity.put("title", "Activity " + id);
+            activity.put("dueDate", date(-id));
+            activity.put("completed", id % 2 == 0);
+            return activity;
+        }
+
+        @Override
+        String endpoint(ApiConfig config) {
+            return config.activitiesEndpoint();
+        }
+    },
+
+    USERS(fields("id", FieldType.INT, "userName", FieldType.STRING, "password", FieldType.STRING),
+            null, null) {
+        @Override
+        ObjectNode seed(int id, int bookCount) {
+            ObjectNode user = newNode(id);
+            user.put("userName", "User " + id);
+            user.put("password", "Password" + id);
+            return user;
+        }
+
+        @Override
+        String endpoint(ApiConfig config) {
+            return config.usersEndpoint();
+        }
+    },
+
+    COVER_PHOTOS(fields("id", FieldType.INT, "idBook", FieldType.INT, "url", FieldType.STRING),
+            "/books/covers/", "idBook") {
+        @Override
+        ObjectNode seed(int id, int bookCount) {
+            ObjectNode cover = newNode(id);
+            cover.put("idBook", (id - 1) % Math.max(1, bookCount) + 1);
+            cover.put("url", "https://placeholdit.imgix.net/~text?txtsize=33&txt=Book%20" + id + "&w=250&h=350");
+            return cover;
+        }
+
+        @Override
+        String endpoint(ApiConfig config) {
+            return config.coversEndpoint();
+        }
+    };
+
+    private static final String LOREM = "Lorem lorem lorem. Lorem lorem lorem. Lorem lorem lorem.\n";
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
+    private static final LocalDate SEED_DATE = LocalDate.of(2025, 1, 1);
+
+    private final Map<String, FieldType> fields;
+    private final String childPath;
+    private final String childField;
+
+    FakeResource(Map<String, FieldType> fields, String childPath, String childField) {
+        this.fields = fields;
+        this.childPath = childPath;
+        this.childField = childField;
+    }
+
+    /**
+     * @return a deterministic record; {@code bookCount} is used to spread references over the books
+     */
+    abstract ObjectNode seed(int id, int bookCount);
+
+    abstract String endpoint(ApiConfig config);
+
+    Map<String, FieldType> getFields() {
+        return fields;
+    }
+
+    /**
+     * @return path below the resource that lists records by parent book, e.g.
+     * {@code /authors/books/}, or {@code null}
+     */
+    String getChildPath() {
+        return childPath;
+    }
+
+    String getChildField() {
+        return childField;
+    }
+
+    private static ObjectNode newNode(int id) {
+        return WireCodec.getObjectMapper().createObjectNode().put("id", id);
+    }
+
+    private static String date(int daysBefore) {
+        return SEED_DATE.minusDays(daysBefore).atStartOfDay().atOffset(ZoneOffset.UTC).format(DATE_FORMAT);
+    }
+
+    private static Map<String, FieldType> fields(Object... namesAndTypes) {
+        Map<String, FieldType> fields = new LinkedHashMap<>();
+        for (int i = 0; i < namesAndTypes.length; i += 2) {
+            fields.put((String) namesAndTypes[i], (FieldType) namesAndTypes[i + 1]);
+        }
+        return fields;
+    }
+
+    /**
+     * JSON shapes accepted for a field, mirroring what FakeRestAPI's model
+     * binding accepts. {@code null} is accepted for every type.
+     */
+    enum FieldType {
+        INT {
+            @Override
+            boolean accepts(JsonNode value) {
+                return value.isInt();
+            }
+        },
+        STRING {
+            @Override
+            boolean accepts(JsonNode value) {
+                return value.isTextual();
+            }
+        },
+        BOOLEAN {
+            @Override
+            boolean accepts(JsonNode value) {
+                return value.isBoolean();
+            }
+        },
+        DATE_TIME {
+            @Override
+            boolean accepts(JsonNode value) {
+                if (!value.isTextual()) {
+                    return false;
+                }
+                try {
+                    DateTimeFormatter.ISO_DATE_TIME.parse(value.textValue());
+                    return true;
+                } catch (DateTimeParseException e) {
+                    try {
+                        LocalDateTime.parse(value.textValue() + "T00:00:00");
+                        return true;
+                    } catch (DateTimeParseException notADate) {
+                        return false;
+                    }
+                }
+            }
+        };
+
+        abstract boolean accepts(JsonNode value);
+    }
+}
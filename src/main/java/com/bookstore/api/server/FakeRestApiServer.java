@@ -0,0 +1,192 @@
+package com.bookstore.api.server;
+
+import com.bookstore.api.config.ApiConfig;
+import com.bookstore.api.config.ConfigurationManager;
+import com.bookstore.api.utils.ThreadPools;
+import com.bookstore.api.utils.WireCodec;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * In-process, in-memory stand-in for FakeRestAPI serving Books, Authors,
+ * Activities, Users and CoverPhotos on an ephemeral loopback port.
+ * <p>
+ * Requests are handled on virtual threads when {@code thread.type=virtual} is
+ * supported, otherwise on a pool of {@code fake.server.threads} platform
+ * threads. With {@code fake.server.enabled=true}, {@code BaseTest} starts the
+ * shared instance before the suite and points {@code base.uri} at it.
+ * <pre>
+ * FakeRestApiServer server = FakeRestApiServer.builder().books(100_000).authors(300_000).start();
+ * System.setProperty("base.uri", server.getBaseUri());
+ * </pre>
+ */
+public final class FakeRestApiServer {
+
+    private static final Logger log = LoggerFactory.getLogger(FakeRestApiServer.class);
+
+    private static final int BACKLOG = 1024;
+    private static final int SEEDED_ACTIVITIES = 30;
+    private static final int SEEDED_USERS = 10;
+
+    static {
+        // Responses are written in more than one packet; without this the JDK server can
+        // stall on Nagle's algorithm against the client's delayed ACK
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private static FakeRestApiServer shared;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<FakeResource, ResourceStore> stores = new EnumMap<>(FakeResource.class);
+
+    private FakeRestApiServer(Builder builder) throws IOException {
+        ApiConfig config = builder.config;
+        for (FakeResource resource : FakeResource.values()) {
+            stores.put(resource, new ResourceStore(resource));
+        }
+        stores.get(FakeResource.BOOKS).seed(builder.books, builder.books);
+        stores.get(FakeResource.AUTHORS).seed(builder.authors, builder.books);
+        stores.get(FakeResource.ACTIVITIES).seed(SEEDED_ACTIVITIES, builder.books);
+        stores.get(FakeResource.USERS).seed(SEEDED_USERS, builder.books);
+        stores.get(FakeResource.COVER_PHOTOS).seed(builder.books, builder.books);
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), builder.port), BACKLOG);
+        for (FakeResource resource : FakeResource.values()) {
+            String contextPath = config.apiVersion() + resource.endpoint(config);
+            server.createContext(contextPath, new ResourceHandler(contextPath, stores.get(resource), builder.persistWrites));
+        }
+        executor = ThreadPools.newExecutor("fake-server", builder.threads);
+        server.setExecutor(executor);
+    }
+
+    public static Builder builder() {
+        return new Builder(ConfigurationManager.getConfig());
+    }
+
+    /**
+     * Starts the instance shared by the test suite, configured from {@code fake.server.*},
+     * or returns it if it is already running.
+     */
+    public static synchronized FakeRestApiServer startShared() {
+        if (shared == null) {
+            shared = builder().start();
+        }
+        return shared;
+    }
+
+    public static synchronized void stopShared() {
+        if (shared != null) {
+            shared.stop();
+            shared = null;
+        }
+    }
+
+    public String getBaseUri() {
+        return "http://" + server.getAddress().getHostString() + ":" + getPort();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public ResourceStore getStore(FakeResource resource) {
+        return stores.get(resource);
+    }
+
+    /**
+     * Adds records to a resource, e.g. {@code Book} or {@code Author} models.
+     * Records without an ID get the next free one.
+     */
+    public void seed(FakeResource resource, Collection<?> records) {
+        ResourceStore store = stores.get(resource);
+        for (Object record : records) {
+            store.put(WireCodec.getObjectMapper().valueToTree(record));
+        }
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+        log.info("Fake REST API server on port {} stopped", getPort());
+    }
+
+    private void start() {
+        server.start();
+    }
+
+    public static final class Builder {
+
+        private final ApiConfig config;
+        private int port;
+        private int books;
+        private int authors;
+        private boolean persistWrites;
+        private int threads;
+
+        private Builder(ApiConfig config) {
+            this.config = config;
+            this.books = config.fakeServerBooks();
+            this.authors = config.fakeServerAuthors();
+            this.persistWrites = config.fakeServerPersistWrites();
+            this.threads = config.fakeServerThreads();
+        }
+
+        /**
+         * @param port fixed port to bind; 0 (the default) picks a free one
+         */
+        public Builder port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        public Builder books(int books) {
+            this.books = books;
+            return this;
+        }
+
+        public Builder authors(int authors) {
+            this.authors = authors;
+            return this;
+        }
+
+        /**
+         * @param persistWrites store POST/PUT bodies and apply DELETEs instead of only echoing them
+         */
+        public Builder persistWrites(boolean persistWrites) {
+            this.persistWrites = persistWrites;
+            return this;
+        }
+
+        public Builder threads(int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        public FakeRestApiServer start() {
+            long startNanos = System.nanoTime();
+            FakeRestApiServer fakeServer;
+            try {
+                fakeServer = new FakeRestApiServer(this);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to start fake REST API server", e);
+            }
+            fakeServer.start();
+            log.info("Fake REST API server started at {} with {} books and {} authors in {} ms",
+                    fakeServer.getBaseUri(), books, authors, (System.nanoTime() - startNanos) / 1_000_000);
+            return fakeServer;
+        }
+    }
+}
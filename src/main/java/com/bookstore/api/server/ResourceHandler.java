@@ -0,0 +1,215 @@
+package com.bookstore.api.server;
+
+import com.bookstore.api.utils.WireCodec;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serves one {@link FakeResource} the way FakeRestAPI does:
+ * <ul>
+ *     <li>{@code GET /}, {@code GET /{id}} and the by-book child lookup read the store</li>
+ *     <li>{@code POST} and {@code PUT} validate the body and echo it back</li>
+ *     <li>{@code DELETE} always returns 200</li>
+ * </ul>
+ * Writes only change the store when {@code persistWrites} is set.
+ */
+class ResourceHandler implements HttpHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(ResourceHandler.class);
+
+    private static final String CONTENT_TYPE = "application/json; charset=utf-8; v=1.0";
+    private static final byte[] NO_BODY = new byte[0];
+    private static final AtomicLong traceIds = new AtomicLong();
+
+    private final String contextPath;
+    private final ResourceStore store;
+    private final boolean persistWrites;
+
+    ResourceHandler(String contextPath, ResourceStore store, boolean persistWrites) {
+        this.contextPath = contextPath;
+        this.store = store;
+        this.persistWrites = persistWrites;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try {
+            route(exchange);
+        } catch (RuntimeException e) {
+            log.warn("Fake server failed on {} {}", exchange.getRequestMethod(), exchange.getRequestURI(), e);
+            send(exchange, 500, problem(500, "Internal Server Error", null));
+        } finally {
+            // The JDK server resets a keep-alive connection whose request body was left unread,
+            // which happens for bodiless DELETEs
+            try {
+                exchange.getRequestBody().transferTo(OutputStream.nullOutputStream());
+            } catch (IOException e) {
+                // Already read and closed while parsing a POST or PUT body, which drains it too;
+                // letting this escape would make the server drop the connection
+            } finally {
+                exchange.close();
+            }
+        }
+    }
+
+    private void route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath().substring(contextPath.length());
+        if (path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+
+        if (path.isEmpty()) {
+            switch (method) {
+                case "GET":
+                    send(exchange, 200, store.listJson());
+                    return;
+                case "POST":
+                    write(exchange, null);
+                    return;
+                default:
+                    send(exchange, 405, NO_BODY);
+                    return;
+            }
+        }
+
+        FakeResource resource = store.getResource();
+        String childPath = resource.getChildPath();
+        if (childPath != null && path.regionMatches(true, 0, childPath, 0, childPath.length())) {
+            Integer parentId = parseId(path.substring(childPath.length()));
+            if (!"GET".equals(method)) {
+                send(exchange, 405, NO_BODY);
+            } else if (parentId == null) {
+                send(exchange, 400, invalidId(path));
+            } else {
+                send(exchange, 200, store.listJsonWhere(resource.getChildField(), parentId));
+            }
+            return;
+        }
+
+        if (path.indexOf('/', 1) > 0) {
+            send(exchange, 404, NO_BODY);
+            return;
+        }
+        Integer id = parseId(path.substring(1));
+        if (id == null) {
+            send(exchange, 400, invalidId(path.substring(1)));
+            return;
+        }
+        switch (method) {
+            case "GET":
+                ObjectNode record = store.get(id);
+                if (record == null) {
+                    send(exchange, 404, problem(404, "Not Found", null));
+                } else {
+                    send(exchange, 200, WireCodec.toBytes(record));
+                }
+                return;
+            case "PUT":
+                write(exchange, id);
+                return;
+            case "DELETE":
+                if (persistWrites) {
+                    store.delete(id);
+                }
+                send(exchange, 200, NO_BODY);
+                return;
+            default:
+                send(exchange, 405, NO_BODY);
+        }
+    }
+
+    private void write(HttpExchange exchange, Integer pathId) throws IOException {
+        JsonNode body;
+        try {
+            body = WireCodec.getObjectMapper().readTree(exchange.getRequestBody());
+        } catch (JsonProcessingException e) {
+            send(exchange, 400, problem(400, "One or more validation errors occurred.",
+                    Map.of("$", List.of("The JSON value could not be parsed."))));
+            return;
+        }
+        if (body == null || !body.isObject()) {
+            send(exchange, 400, problem(400, "One or more validation errors occurred.",
+                    Map.of("$", List.of("The JSON value could not be converted to " + store.getResource() + "."))));
+            return;
+        }
+
+        ObjectNode record = WireCodec.getObjectMapper().createObjectNode();
+        Map<String, List<String>> errors = new LinkedHashMap<>();
+        Map<String, FakeResource.FieldType> fields = store.getResource().getFields();
+        for (Iterator<Map.Entry<String, JsonNode>> it = body.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = it.next();
+            FakeResource.FieldType type = fields.get(field.getKey());
+            if (type == null) {
+                continue;
+            }
+            JsonNode value = field.getValue();
+            if (!value.isNull() && !type.accepts(value)) {
+                errors.put("$." + field.getKey(), List.of("The JSON value could not be converted to " + type + "."));
+            }
+            record.set(field.getKey(), value);
+        }
+        if (!errors.isEmpty()) {
+            send(exchange, 400, problem(400, "One or more validation errors occurred.", errors));
+            return;
+        }
+        if (persistWrites) {
+            // PUT stores under the path ID; POST always gets a fresh ID from the store
+            record.put("id", pathId != null ? pathId : 0);
+            store.put(record);
+        } else if (!record.hasNonNull("id")) {
+            record.put("id", pathId != null ? pathId : 0);
+        }
+        send(exchange, 200, WireCodec.toBytes(record));
+    }
+
+    private static Integer parseId(String value) {
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static byte[] invalidId(String value) {
+        return problem(400, "One or more validation errors occurred.",
+                Map.of("id", List.of("The value '" + value + "' is not valid.")));
+    }
+
+    private static byte[] problem(int status, String title, Map<String, List<String>> errors) {
+        Map<String, Object> problem = new LinkedHashMap<>();
+        problem.put("type", "https://tools.ietf.org/html/rfc7231#section-6.5." + (status == 404 ? 4 : 1));
+        problem.put("title", title);
+        problem.put("status", status);
+        problem.put("traceId", String.format("00-%032x-%016x-00", traceIds.incrementAndGet(), status));
+        if (errors != null) {
+            problem.put("errors", errors);
+        }
+        return WireCodec.toBytes(problem);
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        if (body.length > 0) {
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+        }
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.bookstore.api.server;
+
+import com.bookstore.api.utils.WireCodec;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory records of one {@link FakeResource}, ordered by ID. Reads are
+ * lock-free; the serialized list is cached until the next write so repeated
+ * {@code GET} requests on large collections are served from one byte array.
+ */
+public class ResourceStore {
+
+    private final FakeResource resource;
+    private final ConcurrentNavigableMap<Integer, ObjectNode> records = new ConcurrentSkipListMap<>();
+    private final AtomicInteger lastId = new AtomicInteger();
+    private volatile byte[] listJson;
+
+    ResourceStore(FakeResource resource) {
+        this.resource = resource;
+    }
+
+    public FakeResource getResource() {
+        return resource;
+    }
+
+    public int size() {
+        return records.size();
+    }
+
+    public ObjectNode get(int id) {
+        return records.get(id);
+    }
+
+    /**
+     * Adds {@code count} generated records with IDs following the current highest ID.
+     */
+    public synchronized void seed(int count, int bookCount) {
+        for (int i = 0; i < count; i++) {
+            int id = lastId.incrementAndGet();
+            records.put(id, resource.seed(id, bookCount));
+        }
+        listJson = null;
+    }
+
+    /**
+     * Stores a record, assigning the next free ID when it has none (or 0).
+     *
+     * @return the stored record
+     */
+    public synchronized ObjectNode put(ObjectNode record) {
+        int id = record.path("id").asInt();
+        if (id == 0) {
+            id = lastId.incrementAndGet();
+            record.put("id", id);
+        } else {
+            lastId.accumulateAndGet(id, Math::max);
+        }
+        records.put(id, record);
+        listJson = null;
+        return record;
+    }
+
+    public synchronized boolean delete(int id) {
+        boolean removed = records.remove(id) != null;
+        if (removed) {
+            listJson = null;
+        }
+        return removed;
+    }
+
+    public synchronized void clear() {
+        records.clear();
+        lastId.set(0);
+        listJson = null;
+    }
+
+    byte[] listJson() {
+        byte[] cached = listJson;
+        if (cached != null) {
+            return cached;
+        }
+        synchronized (this) {
+            if (listJson == null) {
+                ArrayNode array = WireCodec.getObjectMapper().createArrayNode();
+                array.addAll(records.values());
+                listJson = WireCodec.toBytes(array);
+            }
+            return listJson;
+        }
+    }
+
+    byte[] listJsonWhere(String field, int value) {
+        ArrayNode array = WireCodec.getObjectMapper().createArrayNode();
+        for (ObjectNode record : records.values()) {
+            if (record.path(field).asInt() == value) {
+                array.add(record);
+            }
+        }
+        return WireCodec.toBytes(array);
+    }
+}
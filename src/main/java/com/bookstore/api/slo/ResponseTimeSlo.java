@@ -0,0 +1,256 @@
+package com.bookstore.api.slo;
+
+import com.bookstore.api.cache.ResponseCache;
+import com.bookstore.api.config.ApiConfig;
+import com.bookstore.api.config.ConfigurationManager;
+import com.bookstore.api.utils.ThreadPools;
+import io.restassured.response.Response;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Response-time objective for one operation, judged over many samples
+ * instead of a single response.
+ * <p>
+ * {@link #measure} first runs the operation {@code warmup} times and throws
+ * those samples away, so JIT compilation, connection setup and cold caches do
+ * not count. It then runs it {@code iterations} times from {@code concurrency}
+ * workers, each sending its next request as soon as the previous one answers
+ * (a closed model, unlike {@link com.bookstore.api.load.LoadEngine}), and
+ * records every latency in an HdrHistogram. Limits left at 0 are not checked.
+ * <pre>
+ * ResponseTimeSlo.builder("getAllBooks")
+ *         .p95Ms(1000)
+ *         .p99Ms(3000)
+ *         .minThroughput(5)
+ *         .build()
+ *         .measure(booksApi::getAllBooks)
+ *         .verify();
+ * </pre>
+ */
+public class ResponseTimeSlo {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseTimeSlo.class);
+
+    private final String name;
+    private final int warmup;
+    private final int iterations;
+    private final int concurrency;
+    private final double p50Ms;
+    private final double p95Ms;
+    private final double p99Ms;
+    private final double maxMs;
+    private final double minThroughput;
+    private final double maxErrorRate;
+
+    private ResponseTimeSlo(Builder builder) {
+        this.name = builder.name;
+        this.warmup = builder.warmup;
+        this.iterations = builder.iterations;
+        this.concurrency = builder.concurrency;
+        this.p50Ms = builder.p50Ms;
+        this.p95Ms = builder.p95Ms;
+        this.p99Ms = builder.p99Ms;
+        this.maxMs = builder.maxMs;
+        this.minThroughput = builder.minThroughput;
+        this.maxErrorRate = builder.maxErrorRate;
+    }
+
+    /**
+     * Starts an objective with warmup, iterations and concurrency from {@code slo.*}.
+     */
+    public static Builder builder(String name) {
+        return new Builder(name, ConfigurationManager.getConfig());
+    }
+
+    /**
+     * Runs the warmup and the measured iterations. GETs bypass the response
+     * cache, so every sample reaches the API. Responses with a status outside
+     * 2xx, and exceptions, count as errors; their latency is still recorded.
+     */
+    public SloResult measure(Supplier<Response> operation) {
+        if (warmup > 0) {
+            run(operation, warmup, new ConcurrentHistogram(3), new LongAdder());
+        }
+        Histogram latency = new ConcurrentHistogram(3);
+        LongAdder errors = new LongAdder();
+        long start = System.nanoTime();
+        run(operation, iterations, latency, errors);
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        SloResult result = new SloResult(this, latency, errors.sum(), elapsedSeconds);
+        log.info("\n{}", result.format());
+        return result;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getWarmup() {
+        return warmup;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public double getP50Ms() {
+        return p50Ms;
+    }
+
+    public double getP95Ms() {
+        return p95Ms;
+    }
+
+    public double getP99Ms() {
+        return p99Ms;
+    }
+
+    public double getMaxMs() {
+        return maxMs;
+    }
+
+    /**
+     * @return the lowest acceptable requests per second over the measured iterations
+     */
+    public double getMinThroughput() {
+        return minThroughput;
+    }
+
+    public double getMaxErrorRate() {
+        return maxErrorRate;
+    }
+
+    private void run(Supplier<Response> operation, int count, Histogram latency, LongAdder errors) {
+        int workers = Math.min(concurrency, count);
+        AtomicInteger remaining = new AtomicInteger(count);
+        ExecutorService executor = ThreadPools.newExecutor("slo-worker", workers);
+        List<Future<?>> futures = new ArrayList<>(workers);
+        try {
+            for (int i = 0; i < workers; i++) {
+                futures.add(executor.submit(() -> {
+                    while (remaining.getAndDecrement() > 0) {
+                        sample(operation, latency, errors);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(ConfigurationManager.getConfig().timeout() * (long) count, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while measuring " + name, e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Measuring " + name + " failed", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void sample(Supplier<Response> operation, Histogram latency, LongAdder errors) {
+        long start = System.nanoTime();
+        boolean ok = false;
+        try {
+            ok = ResponseCache.bypass(operation).getStatusCode() / 100 == 2;
+        } catch (Exception e) {
+            log.debug("SLO sample failed: {}", e.toString());
+        } finally {
+            latency.recordValue(Math.max(0, (System.nanoTime() - start) / 1000));
+            if (!ok) {
+                errors.increment();
+            }
+        }
+    }
+
+    public static final class Builder {
+
+        private final String name;
+        private int warmup;
+        private int iterations;
+        private int concurrency;
+        private double p50Ms;
+        private double p95Ms;
+        private double p99Ms;
+        private double maxMs;
+        private double minThroughput;
+        private double maxErrorRate;
+
+        private Builder(String name, ApiConfig config) {
+            this.name = name;
+            this.warmup = config.sloWarmupIterations();
+            this.iterations = config.sloIterations();
+            this.concurrency = config.sloConcurrency();
+        }
+
+        public Builder warmup(int warmup) {
+            this.warmup = Math.max(0, warmup);
+            return this;
+        }
+
+        public Builder iterations(int iterations) {
+            this.iterations = Math.max(1, iterations);
+            return this;
+        }
+
+        public Builder concurrency(int concurrency) {
+            this.concurrency = Math.max(1, concurrency);
+            return this;
+        }
+
+        public Builder p50Ms(double p50Ms) {
+            this.p50Ms = p50Ms;
+            return this;
+        }
+
+        public Builder p95Ms(double p95Ms) {
+            this.p95Ms = p95Ms;
+            return this;
+        }
+
+        public Builder p99Ms(double p99Ms) {
+            this.p99Ms = p99Ms;
+            return this;
+        }
+
+        public Builder maxMs(double maxMs) {
+            this.maxMs = maxMs;
+            return this;
+        }
+
+        public Builder minThroughput(double requestsPerSecond) {
+            this.minThroughput = requestsPerSecond;
+            return this;
+        }
+
+        /**
+         * @param maxErrorRate share of samples allowed to fail, 0 by default
+         */
+        public Builder maxErrorRate(double maxErrorRate) {
+            this.maxErrorRate = maxErrorRate;
+            return this;
+        }
+
+        public ResponseTimeSlo build() {
+            iterations = Math.max(1, iterations);
+            concurrency = Math.max(1, concurrency);
+            return new ResponseTimeSlo(this);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.bookstore.api.slo;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Latency distribution measured for a {@link ResponseTimeSlo}, in microseconds.
+ */
+public class SloResult {
+
+    private final ResponseTimeSlo slo;
+    private final Histogram latency;
+    private final long errors;
+    private final double elapsedSeconds;
+
+    SloResult(ResponseTimeSlo slo, Histogram latency, long errors, double elapsedSeconds) {
+        this.slo = slo;
+        this.latency = latency;
+        this.errors = errors;
+        this.elapsedSeconds = elapsedSeconds;
+    }
+
+    public ResponseTimeSlo getSlo() {
+        return slo;
+    }
+
+    public long getSamples() {
+        return latency.getTotalCount();
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public double getErrorRate() {
+        return getSamples() == 0 ? 0 : (double) errors / getSamples();
+    }
+
+    public double getThroughput() {
+        return elapsedSeconds == 0 ? 0 : getSamples() / elapsedSeconds;
+    }
+
+    public double getLatencyMs(double percentile) {
+        return latency.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public double getMaxLatencyMs() {
+        return latency.getMaxValue() / 1000.0;
+    }
+
+    public Histogram getLatencyHistogram() {
+        return latency;
+    }
+
+    /**
+     * @return one line per limit that was exceeded, empty when the objective is met
+     */
+    public List<String> getViolations() {
+        List<String> violations = new ArrayList<>();
+        checkLatency(violations, "p50", getLatencyMs(50), slo.getP50Ms());
+        checkLatency(violations, "p95", getLatencyMs(95), slo.getP95Ms());
+        checkLatency(violations, "p99", getLatencyMs(99), slo.getP99Ms());
+        checkLatency(violations, "max", getMaxLatencyMs(), slo.getMaxMs());
+        if (slo.getMinThroughput() > 0 && getThroughput() < slo.getMinThroughput()) {
+            violations.add(String.format("throughput %.1f/s is below %.1f/s", getThroughput(), slo.getMinThroughput()));
+        }
+        if (getErrorRate() > slo.getMaxErrorRate()) {
+            violations.add(String.format("error rate %.2f%% (%d of %d) is above %.2f%%",
+                    getErrorRate() * 100, errors, getSamples(), slo.getMaxErrorRate() * 100));
+        }
+        return violations;
+    }
+
+    public boolean isMet() {
+        return getViolations().isEmpty();
+    }
+
+    /**
+     * @throws AssertionError listing every exceeded limit, followed by the summary
+     */
+    public SloResult verify() {
+        List<String> violations = getViolations();
+        if (!violations.isEmpty()) {
+            throw new AssertionError("Response time SLO '" + slo.getName() + "' not met: "
+                    + String.join("; ", violations) + "\n" + summary());
+        }
+        return this;
+    }
+
+    /**
+     * @return the summary followed by HdrHistogram's percentile distribution in milliseconds
+     */
+    public String format() {
+        ByteArrayOutputStream distribution = new ByteArrayOutputStream();
+        try (PrintStream out = new PrintStream(distribution, true, StandardCharsets.UTF_8)) {
+            latency.outputPercentileDistribution(out, 5, 1000.0);
+        }
+        return summary() + "\nDistribution (ms):\n" + distribution.toString(StandardCharsets.UTF_8);
+    }
+
+    private String summary() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("Response time SLO '%s': %s%n", slo.getName(), isMet() ? "met" : "NOT met"));
+        text.append(String.format("%d samples after %d warmup, concurrency %d, %.2fs, %.1f/s, %d errors%n",
+                getSamples(), slo.getWarmup(), slo.getConcurrency(), elapsedSeconds, getThroughput(), errors));
+        text.append(String.format("%-10s %10s %10s%n", "", "actual", "limit"));
+        appendRow(text, "p50 ms", getLatencyMs(50), slo.getP50Ms());
+        appendRow(text, "p90 ms", getLatencyMs(90), 0);
+        appendRow(text, "p95 ms", getLatencyMs(95), slo.getP95Ms());
+        appendRow(text, "p99 ms", getLatencyMs(99), slo.getP99Ms());
+        appendRow(text, "max ms", getMaxLatencyMs(), slo.getMaxMs());
+        text.append(String.format("%-10s %10.1f %10s", "req/s", getThroughput(),
+                slo.getMinThroughput() > 0 ? String.format(">= %.1f", slo.getMinThroughput()) : "-"));
+        return text.toString();
+    }
+
+    private static void appendRow(StringBuilder text, String label, double actual, double limit) {
+        text.append(String.format("%-10s %10.2f %10s%n", label, actual, limit > 0 ? String.format("%.1f", limit) : "-"));
+    }
+
+    private static void checkLatency(List<String> violations, String label, double actualMs, double limitMs) {
+        if (limitMs > 0 && actualMs > limitMs) {
+            violations.add(String.format("%s %.2f ms is above %.1f ms", label, actualMs, limitMs));
+        }
+    }
+}
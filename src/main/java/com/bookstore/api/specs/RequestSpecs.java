@@ -1,36 +1,100 @@
 package com.bookstore.api.specs;
 
-import com.bookstore.api.config.ConfigurationManager;
-import io.qameta.allure.restassured.AllureRestAssured;
+import com.bookstore.api.cache.HttpCacheFilter;
+import com.bookstore.api.config.ApiConfig;
+import com.bookstore.api.http.HttpTransport;
+import com.bookstore.api.http.RateLimitFilter;
+import com.bookstore.api.http.RateLimits;
+import com.bookstore.api.logging.BufferedLoggingFilter;
+import com.bookstore.api.logging.ExchangeLogBuffer;
+import com.bookstore.api.logging.LogMode;
+import com.bookstore.api.metrics.MetricsFilter;
+import com.bookstore.api.resilience.HedgingExecutor;
+import com.bookstore.api.resilience.HedgingFilter;
+import com.bookstore.api.traffic.TrafficFilter;
+import com.bookstore.api.traffic.TrafficMode;
+import com.bookstore.api.utils.WireObjectMapper;
 import io.restassured.builder.RequestSpecBuilder;
-import io.restassured.filter.log.LogDetail;
+import io.restassured.config.ObjectMapperConfig;
+import io.restassured.config.RestAssuredConfig;
 import io.restassured.http.ContentType;
 import io.restassured.specification.RequestSpecification;
 
+import java.nio.file.Path;
+
+/**
+ * Entry point for request specifications. The {@code get*} methods return
+ * specs cached in {@link SpecRegistry}; the {@code build*} methods always
+ * construct a new spec and are what the registry calls on a cache miss.
+ */
 public class RequestSpecs {
 
+    private static final String DEFAULT_SPEC = "default";
+    private static final String BOOKS_SPEC = "books";
+    private static final String AUTHORS_SPEC = "authors";
+
     public static RequestSpecification getDefaultRequestSpec() {
-        return new RequestSpecBuilder()
-                .setBaseUri(ConfigurationManager.getConfig().baseUri())
-                .setBasePath(ConfigurationManager.getConfig().apiVersion())
-                .setContentType(ContentType.JSON)
-                .setAccept(ContentType.JSON)
-                .addFilter(new AllureRestAssured())
-                .log(LogDetail.ALL)
-                .build();
+        return SpecRegistry.get(DEFAULT_SPEC, RequestSpecs::buildDefaultRequestSpec);
     }
 
     public static RequestSpecification getBooksRequestSpec() {
+        return SpecRegistry.get(BOOKS_SPEC, RequestSpecs::buildBooksRequestSpec);
+    }
+
+    public static RequestSpecification getAuthorsRequestSpec() {
+        return SpecRegistry.get(AUTHORS_SPEC, RequestSpecs::buildAuthorsRequestSpec);
+    }
+
+    public static RequestSpecification buildDefaultRequestSpec(ApiConfig config) {
+        RequestSpecBuilder builder = new RequestSpecBuilder()
+                .setConfig(buildRestAssuredConfig(config))
+                .setBaseUri(config.baseUri())
+                .setBasePath(config.apiVersion())
+                .setContentType(ContentType.JSON)
+                .setAccept(ContentType.JSON);
+        if (ExchangeLogBuffer.isEnabled(config)) {
+            builder.addFilter(new BufferedLoggingFilter(LogMode.from(config.logMode()),
+                    config.logRequests(), config.logResponses(), config.logBodyMaxChars()));
+        }
+        if (config.cacheEnabled()) {
+            builder.addFilter(new HttpCacheFilter());
+        }
+        TrafficMode trafficMode = TrafficMode.from(config.trafficMode());
+        if (trafficMode != TrafficMode.REPLAY && RateLimits.getInstance().isEnabled()) {
+            builder.addFilter(new RateLimitFilter());
+        }
+        if (config.metricsEnabled()) {
+            builder.addFilter(new MetricsFilter());
+        }
+        if (HedgingExecutor.getInstance().isEnabled()) {
+            builder.addFilter(new HedgingFilter());
+        }
+        if (trafficMode != TrafficMode.LIVE) {
+            builder.addFilter(new TrafficFilter(trafficMode, Path.of(config.trafficStorePath()), config.trafficReplayStrict()));
+        }
+        return builder.build();
+    }
+
+    private static RestAssuredConfig buildRestAssuredConfig(ApiConfig config) {
+        RestAssuredConfig restAssuredConfig = RestAssuredConfig.config()
+                .objectMapperConfig(ObjectMapperConfig.objectMapperConfig().defaultObjectMapper(WireObjectMapper.INSTANCE));
+        if (config.httpPoolEnabled()) {
+            restAssuredConfig = restAssuredConfig.httpClient(HttpTransport.getInstance().httpClientConfig());
+        }
+        return restAssuredConfig;
+    }
+
+    public static RequestSpecification buildBooksRequestSpec(ApiConfig config) {
         return new RequestSpecBuilder()
-                .addRequestSpecification(getDefaultRequestSpec())
-                .setBasePath(ConfigurationManager.getConfig().apiVersion() + ConfigurationManager.getConfig().booksEndpoint())
+                .addRequestSpecification(buildDefaultRequestSpec(config))
+                .setBasePath(config.apiVersion() + config.booksEndpoint())
                 .build();
     }
 
-    public static RequestSpecification getAuthorsRequestSpec() {
+    public static RequestSpecification buildAuthorsRequestSpec(ApiConfig config) {
         return new RequestSpecBuilder()
-                .addRequestSpecification(getDefaultRequestSpec())
-                .setBasePath(ConfigurationManager.getConfig().apiVersion() + ConfigurationManager.getConfig().authorsEndpoint())
+                .addRequestSpecification(buildDefaultRequestSpec(config))
+                .setBasePath(config.apiVersion() + config.authorsEndpoint())
                 .build();
     }
 }
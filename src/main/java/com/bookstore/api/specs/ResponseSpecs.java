@@ -1,7 +1,6 @@
 package com.bookstore.api.specs;
 
 import io.restassured.builder.ResponseSpecBuilder;
-import io.restassured.filter.log.LogDetail;
 import io.restassured.specification.ResponseSpecification;
 import org.hamcrest.Matchers;
 
@@ -9,7 +8,6 @@ public class ResponseSpecs {
     
     public static ResponseSpecification getDefaultResponseSpec() {
         return new ResponseSpecBuilder()
-                .log(LogDetail.ALL)
                 .expectResponseTime(Matchers.lessThan(30000L))
                 .build();
     }
@@ -0,0 +1,67 @@
+package com.bookstore.api.specs;
+
+import com.bookstore.api.config.ApiConfig;
+import com.bookstore.api.config.ConfigurationManager;
+import io.restassured.specification.RequestSpecification;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Holds request specifications built once per configuration snapshot.
+ * <p>
+ * A snapshot is tied to the {@link ApiConfig} instance returned by
+ * {@link ConfigurationManager#getConfig()}; {@link ConfigurationManager#reload()}
+ * produces a new instance, which discards every cached spec on next access.
+ * <p>
+ * Cached specs are shared between threads and must never be modified directly.
+ * Always merge them into a fresh request with {@code given().spec(...)}, which
+ * copies the spec instead of mutating it.
+ */
+public final class SpecRegistry {
+
+    private static volatile Snapshot snapshot = new Snapshot(null);
+
+    private SpecRegistry() {
+    }
+
+    public static RequestSpecification get(String name, Function<ApiConfig, RequestSpecification> factory) {
+        Snapshot current = currentSnapshot();
+        return current.specs.computeIfAbsent(name, key -> factory.apply(current.config));
+    }
+
+    public static int size() {
+        return snapshot.specs.size();
+    }
+
+    public static void invalidate() {
+        synchronized (SpecRegistry.class) {
+            snapshot = new Snapshot(ConfigurationManager.getConfig());
+        }
+    }
+
+    private static Snapshot currentSnapshot() {
+        ApiConfig config = ConfigurationManager.getConfig();
+        Snapshot current = snapshot;
+        if (current.config != config) {
+            synchronized (SpecRegistry.class) {
+                current = snapshot;
+                if (current.config != config) {
+                    current = new Snapshot(config);
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private static final class Snapshot {
+        private final ApiConfig config;
+        private final Map<String, RequestSpecification> specs = new ConcurrentHashMap<>();
+
+        private Snapshot(ApiConfig config) {
+            this.config = config;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.bookstore.api.traffic;
+
+import com.bookstore.api.config.ApiConfig;
+import com.bookstore.api.config.ConfigurationManager;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Record/replay for requests sent with the JDK HTTP client: the async and
+ * bulk clients and {@code streamList}. Exchanges go to the same store and
+ * under the same keys as {@link TrafficFilter}'s, so a store recorded by one
+ * kind of client replays for the other.
+ */
+public final class ClientTraffic {
+
+    private ClientTraffic() {
+    }
+
+    public static TrafficMode mode() {
+        return TrafficMode.from(ConfigurationManager.getConfig().trafficMode());
+    }
+
+    /**
+     * @param body the request body, or {@code null} if there is none
+     * @throws IllegalStateException if nothing was recorded for the request
+     */
+    public static RecordedExchange replay(String method, URI uri, byte[] body) {
+        ApiConfig config = ConfigurationManager.getConfig();
+        return TrafficReplayer.forDirectory(Path.of(config.trafficStorePath()))
+                .require(TrafficFilter.key(method, uri, body), config.trafficReplayStrict());
+    }
+
+    /**
+     * @param body         the request body, or {@code null} if there is none
+     * @param responseBody the body {@code response} was read into
+     */
+    public static void record(HttpRequest request, byte[] body, HttpResponse<?> response, byte[] responseBody) {
+        List<String> headers = new ArrayList<>();
+        response.headers().map().forEach((name, values) -> values.forEach(value -> {
+            headers.add(name);
+            headers.add(value);
+        }));
+        String statusLine = (response.version() == HttpClient.Version.HTTP_2 ? "HTTP/2" : "HTTP/1.1") + " " + response.statusCode();
+        TrafficRecorder.forDirectory(Path.of(ConfigurationManager.getConfig().trafficStorePath()))
+                .record(TrafficFilter.key(request.method(), request.uri(), body),
+                        new RecordedExchange(response.statusCode(), statusLine, headers, responseBody));
+    }
+
+    public static HttpHeaders headersOf(RecordedExchange exchange) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < exchange.getHeaders().size(); i += 2) {
+            headers.computeIfAbsent(exchange.getHeaders().get(i), name -> new ArrayList<>()).add(exchange.getHeaders().get(i + 1));
+        }
+        return HttpHeaders.of(headers, (name, value) -> true);
+    }
+}
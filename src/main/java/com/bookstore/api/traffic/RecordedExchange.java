@@ -0,0 +1,18 @@
+package com.bookstore.api.traffic;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Response half of a recorded exchange, as stored in the traffic data file.
+ */
+@Value
+public class RecordedExchange {
+
+    int statusCode;
+    String statusLine;
+    /** Header names and values, alternating. */
+    List<String> headers;
+    byte[] body;
+}
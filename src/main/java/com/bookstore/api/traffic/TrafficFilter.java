@@ -0,0 +1,133 @@
+package com.bookstore.api.traffic;
+
+import com.bookstore.api.utils.SyntheticResponses;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Records exchanges to, or answers requests from, a traffic store.
+ * <p>
+ * Requests are keyed by method, path with query string and a hash of the body.
+ * The host is left out of the key so a store recorded against one server
+ * (e.g. the fake server on a random port) replays for any other. The filter
+ * runs last in the chain, so Allure and logging filters still see replayed
+ * responses as if they came from the wire.
+ * <p>
+ * Requests the async clients and {@code streamList} send with the JDK HTTP
+ * client are recorded and replayed by {@link ClientTraffic} under the same keys.
+ */
+public class TrafficFilter implements OrderedFilter {
+
+    private static final int BODY_HASH_LENGTH = 16;
+    private static final String NO_BODY = "-";
+
+    private final TrafficMode mode;
+    private final TrafficRecorder recorder;
+    private final TrafficReplayer replayer;
+    private final boolean strict;
+
+    /**
+     * @param strict in replay mode, fail requests whose exact key was never recorded instead
+     *               of answering with a response recorded for the same method and path
+     */
+    public TrafficFilter(TrafficMode mode, Path directory, boolean strict) {
+        this.mode = mode;
+        this.recorder = mode == TrafficMode.RECORD ? TrafficRecorder.forDirectory(directory) : null;
+        this.replayer = mode == TrafficMode.REPLAY ? TrafficReplayer.forDirectory(directory) : null;
+        this.strict = strict;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        switch (mode) {
+            case RECORD:
+                return record(requestSpec, responseSpec, ctx);
+            case REPLAY:
+                return replay(requestSpec);
+            default:
+                return ctx.next(requestSpec, responseSpec);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE;
+    }
+
+    /**
+     * The method and path part of a key, shared by all bodies sent to the same request line.
+     */
+    static String requestLine(String key) {
+        return key.substring(0, key.lastIndexOf(' '));
+    }
+
+    static String key(FilterableRequestSpecification requestSpec) {
+        Object body = requestSpec.getBody();
+        byte[] bytes = body == null || body instanceof byte[] ? (byte[]) body : body.toString().getBytes(StandardCharsets.UTF_8);
+        return key(requestSpec.getMethod(), URI.create(requestSpec.getURI()), bytes);
+    }
+
+    /**
+     * @param body the request body, or {@code null} if there is none
+     */
+    static String key(String method, URI uri, byte[] body) {
+        StringBuilder key = new StringBuilder(method).append(' ').append(uri.getRawPath());
+        if (uri.getRawQuery() != null) {
+            key.append('?').append(uri.getRawQuery());
+        }
+        return key.append(' ').append(bodyHash(body)).toString();
+    }
+
+    private Response record(FilterableRequestSpecification requestSpec,
+                            FilterableResponseSpecification responseSpec,
+                            FilterContext ctx) {
+        Response response = ctx.next(requestSpec, responseSpec);
+        List<String> headers = new ArrayList<>(response.getHeaders().size() * 2);
+        for (Header header : response.getHeaders()) {
+            headers.add(header.getName());
+            headers.add(header.getValue());
+        }
+        byte[] body = response.asByteArray();
+        recorder.record(key(requestSpec),
+                new RecordedExchange(response.getStatusCode(), response.getStatusLine(), headers, body));
+        return response;
+    }
+
+    private Response replay(FilterableRequestSpecification requestSpec) {
+        RecordedExchange exchange = replayer.require(key(requestSpec), strict);
+        List<Header> headers = new ArrayList<>(exchange.getHeaders().size() / 2);
+        for (int i = 0; i + 1 < exchange.getHeaders().size(); i += 2) {
+            headers.add(new Header(exchange.getHeaders().get(i), exchange.getHeaders().get(i + 1)));
+        }
+        return SyntheticResponses.of(exchange.getStatusCode(), exchange.getStatusLine(), new Headers(headers),
+                exchange.getBody(), requestSpec.getConfig());
+    }
+
+    private static String bodyHash(byte[] body) {
+        if (body == null) {
+            return NO_BODY;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return HexFormat.of().formatHex(digest).substring(0, BODY_HASH_LENGTH);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.bookstore.api.traffic;
+
+/**
+ * How {@link TrafficFilter} treats requests, from {@code traffic.mode}.
+ */
+public enum TrafficMode {
+
+    /** Requests go to the API and nothing is stored. */
+    LIVE,
+    /** Requests go to the API and every exchange is appended to the store. */
+    RECORD,
+    /** Requests are answered from the store; the API is never called. */
+    REPLAY;
+
+    public static TrafficMode from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown traffic.mode '" + value + "', expected live, record or replay", e);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.bookstore.api.traffic;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Appends recorded exchanges to a traffic store directory:
+ * <ul>
+ *     <li>{@value #DATA_FILE}: response records, back to back</li>
+ *     <li>{@value #INDEX_FILE}: one entry per record with its key, offset and length</li>
+ *     <li>{@value #SEED_FILE}: the {@code data.seed} the request bodies were generated from</li>
+ * </ul>
+ * Each recording session starts a fresh store: both files are truncated when
+ * the recorder opens them, so a replay only serves the latest run. Within a
+ * session both files are only appended to, and an index entry is written
+ * after its record, so a store interrupted mid-write still replays everything
+ * that was indexed. One recorder is open per directory and JVM.
+ */
+public final class TrafficRecorder implements Closeable {
+
+    static final String DATA_FILE = "traffic.dat";
+    static final String INDEX_FILE = "traffic.idx";
+    static final String SEED_FILE = "data.seed";
+
+    private static final Logger log = LoggerFactory.getLogger(TrafficRecorder.class);
+    private static final Map<Path, TrafficRecorder> recorders = new ConcurrentHashMap<>();
+
+    private final Path directory;
+    private final FileChannel data;
+    private final FileChannel index;
+    private final LongAdder recorded = new LongAdder();
+
+    private TrafficRecorder(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+        // The index goes first, so it never points past the end of a truncated data file
+        index = FileChannel.open(directory.resolve(INDEX_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        data = FileChannel.open(directory.resolve(DATA_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    public static TrafficRecorder forDirectory(Path directory) {
+        return recorders.computeIfAbsent(directory.toAbsolutePath().normalize(), path -> {
+            try {
+                TrafficRecorder recorder = new TrafficRecorder(path);
+                Runtime.getRuntime().addShutdownHook(new Thread(recorder::close, "traffic-recorder-close"));
+                log.info("Recording traffic to {}", path);
+                return recorder;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot open traffic store " + path, e);
+            }
+        });
+    }
+
+    public synchronized void record(String key, RecordedExchange exchange) {
+        try {
+            byte[] record = encode(exchange);
+            long offset = data.size();
+            writeFully(data, ByteBuffer.wrap(record));
+
+            ByteArrayOutputStream entry = new ByteArrayOutputStream(key.length() + 16);
+            try (DataOutputStream out = new DataOutputStream(entry)) {
+                out.writeUTF(key);
+                out.writeLong(offset);
+                out.writeInt(record.length);
+            }
+            writeFully(index, ByteBuffer.wrap(entry.toByteArray()));
+            recorded.increment();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to record " + key + " to " + directory, e);
+        }
+    }
+
+    /**
+     * Saves the seed of the test data corpus, so a replay generates the same request bodies.
+     */
+    public static void saveSeed(Path directory, long seed) {
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(directory.resolve(SEED_FILE), Long.toString(seed));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot save data seed to " + directory, e);
+        }
+    }
+
+    public long getRecordedCount() {
+        return recorded.sum();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Ends the recording session; the next {@link #forDirectory} call for this directory starts a new one.
+     */
+    @Override
+    public synchronized void close() {
+        recorders.remove(directory, this);
+        try {
+            if (data.isOpen()) {
+                data.force(false);
+                data.close();
+            }
+            if (index.isOpen()) {
+                index.force(false);
+                index.close();
+            }
+        } catch (IOException e) {
+            log.warn("Failed to close traffic store {}", directory, e);
+        }
+    }
+
+    private static byte[] encode(RecordedExchange exchange) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(exchange.getBody().length + 256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(exchange.getStatusCode());
+            out.writeUTF(exchange.getStatusLine());
+            out.writeInt(exchange.getHeaders().size());
+            for (String header : exchange.getHeaders()) {
+                out.writeUTF(header);
+            }
+            out.writeInt(exchange.getBody().length);
+            out.write(exchange.getBody());
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
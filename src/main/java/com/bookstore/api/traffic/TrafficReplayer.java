@@ -0,0 +1,208 @@
+package com.bookstore.api.traffic;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Serves recorded exchanges from a store written by {@link TrafficRecorder}.
+ * The data file is memory-mapped once and the index is loaded into a hash map,
+ * so a lookup costs one hash probe and one copy out of the page cache.
+ * <p>
+ * When a key was recorded more than once, its responses are returned in
+ * recorded order and then repeated, so a replayed sequence of calls sees the
+ * same sequence of responses as the recording.
+ * <p>
+ * Outside strict mode a request whose exact key was never recorded is answered
+ * with a response recorded for the same method and path. Such a response was
+ * recorded for another request body, so every fallback hit is logged as a
+ * warning and counted.
+ */
+public final class TrafficReplayer {
+
+    private static final Logger log = LoggerFactory.getLogger(TrafficReplayer.class);
+    private static final Map<Path, TrafficReplayer> replayers = new ConcurrentHashMap<>();
+
+    private final Path directory;
+    private final MappedByteBuffer data;
+    private final Map<String, Recordings> byKey;
+    private final Map<String, Recordings> byRequestLine;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder fallbackHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private TrafficReplayer(Path directory) throws IOException {
+        this.directory = directory;
+        Path dataFile = directory.resolve(TrafficRecorder.DATA_FILE);
+        Path indexFile = directory.resolve(TrafficRecorder.INDEX_FILE);
+        if (!Files.exists(dataFile) || !Files.exists(indexFile)) {
+            throw new IllegalStateException("No recorded traffic in " + directory + "; run once with traffic.mode=record");
+        }
+        try (FileChannel channel = FileChannel.open(dataFile, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Traffic store " + dataFile + " is larger than 2 GB");
+            }
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        Map<String, List<long[]>> entries = new HashMap<>();
+        Map<String, List<long[]>> requestLines = new HashMap<>();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(indexFile)))) {
+            while (true) {
+                String key;
+                long[] location;
+                try {
+                    key = in.readUTF();
+                    location = new long[]{in.readLong(), in.readInt()};
+                } catch (EOFException e) {
+                    break;
+                }
+                if (location[0] + location[1] > data.capacity()) {
+                    break;
+                }
+                entries.computeIfAbsent(key, k -> new ArrayList<>()).add(location);
+                requestLines.computeIfAbsent(TrafficFilter.requestLine(key), k -> new ArrayList<>()).add(location);
+            }
+        }
+        byKey = freeze(entries);
+        byRequestLine = freeze(requestLines);
+        log.info("Replaying {} recorded keys from {}", byKey.size(), directory);
+    }
+
+    public static TrafficReplayer forDirectory(Path directory) {
+        return replayers.computeIfAbsent(directory.toAbsolutePath().normalize(), path -> {
+            try {
+                return new TrafficReplayer(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot open traffic store " + path, e);
+            }
+        });
+    }
+
+    /**
+     * @param strict when {@code false} and the exact key was never recorded, fall back
+     *               to any response recorded for the same method and path
+     * @return the recorded response, or {@code null} if there is none
+     */
+    public RecordedExchange find(String key, boolean strict) {
+        Recordings recordings = byKey.get(key);
+        if (recordings != null) {
+            hits.increment();
+            return read(recordings.next());
+        }
+        if (!strict) {
+            String requestLine = TrafficFilter.requestLine(key);
+            recordings = byRequestLine.get(requestLine);
+            if (recordings != null) {
+                fallbackHits.increment();
+                log.warn("No recording for '{}', answering with a response recorded for another body of '{}'; "
+                        + "set traffic.replay.strict=true to fail instead", key, requestLine);
+                return read(recordings.next());
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Like {@link #find}, but fails when there is no recorded response.
+     *
+     * @throws IllegalStateException if nothing was recorded for {@code key}
+     */
+    public RecordedExchange require(String key, boolean strict) {
+        RecordedExchange exchange = find(key, strict);
+        if (exchange == null) {
+            throw new IllegalStateException("No recorded response for '" + key + "' in " + directory);
+        }
+        return exchange;
+    }
+
+    /**
+     * @return the {@code data.seed} the store was recorded with, or 0 if it was not saved
+     */
+    public static long recordedSeed(Path directory) {
+        Path seedFile = directory.resolve(TrafficRecorder.SEED_FILE);
+        if (!Files.exists(seedFile)) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(Files.readString(seedFile).trim());
+        } catch (IOException | NumberFormatException e) {
+            log.warn("Ignoring unreadable data seed in {}: {}", seedFile, e.toString());
+            return 0;
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getFallbackHits() {
+        return fallbackHits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private RecordedExchange read(long[] location) {
+        byte[] record = new byte[(int) location[1]];
+        // absolute bulk get, so concurrent readers never share a position
+        data.get((int) location[0], record);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record))) {
+            int statusCode = in.readInt();
+            String statusLine = in.readUTF();
+            int headerCount = in.readInt();
+            List<String> headers = new ArrayList<>(headerCount);
+            for (int i = 0; i < headerCount; i++) {
+                headers.add(in.readUTF());
+            }
+            byte[] body = new byte[in.readInt()];
+            in.readFully(body);
+            return new RecordedExchange(statusCode, statusLine, headers, body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt traffic record at offset " + location[0] + " in " + directory, e);
+        }
+    }
+
+    private static Map<String, Recordings> freeze(Map<String, List<long[]>> entries) {
+        Map<String, Recordings> frozen = new HashMap<>(entries.size() * 2);
+        entries.forEach((key, locations) -> frozen.put(key, new Recordings(locations.toArray(new long[0][]))));
+        return frozen;
+    }
+
+    private static final class Recordings {
+
+        private final long[][] locations;
+        private final AtomicInteger cursor = new AtomicInteger();
+
+        private Recordings(long[][] locations) {
+            this.locations = locations;
+        }
+
+        private long[] next() {
+            return locations[Math.floorMod(cursor.getAndIncrement(), locations.length)];
+        }
+    }
+}
@@ -1,12 +1,24 @@
 package com.bookstore.api.utils;
 
+import com.bookstore.api.clients.StreamingResponse;
 import com.bookstore.api.models.Author;
 import com.bookstore.api.models.Book;
+import com.bookstore.api.slo.ResponseTimeSlo;
+import com.bookstore.api.slo.SloResult;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.qameta.allure.Allure;
 import io.qameta.allure.Step;
 import io.restassured.response.Response;
 import org.assertj.core.api.SoftAssertions;
 
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
 
 public class ApiAssertions {
     
@@ -38,6 +50,17 @@ public class ApiAssertions {
                 .isLessThan(maxTimeMs);
     }
     
+    /**
+     * Measures {@code operation} as described by {@code slo}, attaches the
+     * latency distribution to the Allure report and fails on any exceeded limit.
+     */
+    @Step("Verify response time SLO: {slo.name}")
+    public static SloResult verifyResponseTimeSlo(ResponseTimeSlo slo, Supplier<Response> operation) {
+        SloResult result = slo.measure(operation);
+        Allure.addAttachment("Response time SLO: " + slo.getName(), "text/plain", result.format(), ".txt");
+        return result.verify();
+    }
+    
     @Step("Verify book details match")
     public static void verifyBookDetails(Book actual, Book expected) {
         SoftAssertions softly = new SoftAssertions();
@@ -102,9 +125,75 @@ public class ApiAssertions {
     
     @Step("Verify list is not empty")
     public static void verifyListNotEmpty(Response response) {
-        assertThat(response.jsonPath().getList("$"))
+        // Only the first tokens are needed; building the whole list would parse the body twice
+        try (JsonParser parser = JsonUtils.getObjectMapper().getFactory().createParser(response.asByteArray())) {
+            assertThat(parser.nextToken())
+                    .as("Response should be a JSON array")
+                    .isEqualTo(JsonToken.START_ARRAY);
+            assertThat(parser.nextToken())
+                    .as("Response list should not be empty")
+                    .isNotEqualTo(JsonToken.END_ARRAY);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to parse response body", e);
+        }
+    }
+    
+    @Step("Verify streamed list is not empty")
+    public static void verifyListNotEmpty(StreamingResponse<?> response) {
+        try (response) {
+            assertThat(response.iterator().hasNext())
+                    .as("Response list should not be empty")
+                    .isTrue();
+        }
+    }
+    
+    /**
+     * Checks every element of a streamed list in a single pass and closes the
+     * response. Fails on the first element that does not match.
+     *
+     * @return the number of elements in the list
+     */
+    @Step("Verify every element: {description}")
+    public static <T> long verifyEachElement(StreamingResponse<T> response, String description, Predicate<? super T> condition) {
+        long count = 0;
+        try (response) {
+            Iterator<T> elements = response.iterator();
+            while (elements.hasNext()) {
+                T element = elements.next();
+                if (element == null) {
+                    fail("Element %d is null", count);
+                }
+                if (!condition.test(element)) {
+                    fail("Element %d does not satisfy '%s': %s", count, description, element);
+                }
+                count++;
+            }
+        }
+        assertThat(count)
                 .as("Response list should not be empty")
-                .isNotEmpty();
+                .isPositive();
+        return count;
+    }
+    
+    @Step("Verify response matches schema: {schemaPath}")
+    public static SchemaValidationResult verifyMatchesSchema(Response response, String schemaPath) {
+        return verifyMatchesSchema(response, schemaPath, false);
+    }
+    
+    /**
+     * Validates the body, or every element of an array body, against a schema
+     * compiled once and cached by {@link SchemaValidator}. {@code null}
+     * elements are validated too and fail an object schema. An empty array
+     * has no elements to violate the schema and passes; check the size
+     * separately where the list must not be empty.
+     */
+    @Step("Verify response matches schema: {schemaPath}")
+    public static SchemaValidationResult verifyMatchesSchema(Response response, String schemaPath, boolean parallel) {
+        SchemaValidationResult result = SchemaValidator.validate(schemaPath, response.asByteArray(), parallel);
+        assertThat(result.getErrors())
+                .as("%d of %d element(s) violate %s", result.getInvalidElements(), result.getElements(), schemaPath)
+                .isEmpty();
+        return result;
     }
     
     @Step("Verify error response")
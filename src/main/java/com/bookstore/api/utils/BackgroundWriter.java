@@ -0,0 +1,98 @@
+package com.bookstore.api.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs I/O tasks in submission order on one daemon thread, so callers never
+ * wait on formatting, console or disk writes. The queue is bounded: when the
+ * writer falls behind, {@link #submit} blocks until there is room instead of
+ * growing the heap, and every such wait is counted.
+ */
+public final class BackgroundWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(BackgroundWriter.class);
+
+    private final String name;
+    private final BlockingQueue<Runnable> queue;
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder blocked = new LongAdder();
+
+    public BackgroundWriter(String name, int capacity) {
+        this.name = name;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        Thread writer = new Thread(this::drain, name);
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(10, TimeUnit.SECONDS), name + "-flush"));
+    }
+
+    public void submit(Runnable task) {
+        if (queue.offer(task)) {
+            return;
+        }
+        blocked.increment();
+        try {
+            queue.put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits until every task submitted so far has run.
+     *
+     * @return {@code false} if the timeout elapsed first
+     */
+    public boolean flush(long timeout, TimeUnit unit) {
+        CountDownLatch done = new CountDownLatch(1);
+        submit(done::countDown);
+        try {
+            if (done.await(timeout, unit)) {
+                return true;
+            }
+            log.warn("{} still has {} pending tasks after {} {}", name, queue.size(), timeout, unit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    /**
+     * @return how many submissions had to wait for room in the queue
+     */
+    public long getBlockedCount() {
+        return blocked.sum();
+    }
+
+    private void drain() {
+        while (true) {
+            Runnable task;
+            try {
+                task = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.warn("{} task failed", name, e);
+            }
+            completed.increment();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.bookstore.api.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the elements of a top-level JSON array one at a time, so only the
+ * current element is held in memory regardless of the size of the array.
+ * A {@code null} element is returned as {@code null}, not skipped. The
+ * underlying stream is closed when the end of the array is reached or when
+ * {@link #close()} is called.
+ */
+public class JsonArrayIterator<T> implements Iterator<T>, Closeable {
+
+    private final JsonParser parser;
+    private final ObjectReader reader;
+    private T next;
+    private boolean buffered;
+    private boolean finished;
+
+    public JsonArrayIterator(InputStream input, Class<T> elementType) {
+        this(openParser(input), elementType);
+    }
+
+    /**
+     * @param parser positioned on the {@code START_ARRAY} token of the array to read
+     */
+    public JsonArrayIterator(JsonParser parser, Class<T> elementType) {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            JsonToken found = parser.currentToken();
+            closeQuietly(parser);
+            throw new IllegalArgumentException("Expected a JSON array but found " + found);
+        }
+        this.parser = parser;
+        this.reader = WireCodec.readerFor(elementType);
+    }
+
+    private static JsonParser openParser(InputStream input) {
+        try {
+            JsonParser parser = WireCodec.getObjectMapper().getFactory().createParser(input);
+            parser.nextToken();
+            return parser;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start reading JSON array", e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (buffered) {
+            return true;
+        }
+        if (finished) {
+            return false;
+        }
+        try {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                close();
+                return false;
+            }
+            next = token == JsonToken.VALUE_NULL ? null : reader.readValue(parser);
+            buffered = true;
+            return true;
+        } catch (IOException e) {
+            close();
+            throw new RuntimeException("Failed to parse JSON array element", e);
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T element = next;
+        next = null;
+        buffered = false;
+        return element;
+    }
+
+    @Override
+    public void close() {
+        finished = true;
+        closeQuietly(parser);
+    }
+
+    private static void closeQuietly(JsonParser parser) {
+        try {
+            parser.close();
+        } catch (IOException e) {
+            // nothing left to read; the connection is released either way
+        }
+    }
+}
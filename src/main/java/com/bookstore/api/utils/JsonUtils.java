@@ -5,6 +5,10 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
+/**
+ * Pretty-printing JSON helpers for reports, logs and test data. Request and
+ * response bodies go through {@link WireCodec}.
+ */
 public class JsonUtils {
     
     private static final ObjectMapper objectMapper = createObjectMapper();
@@ -0,0 +1,23 @@
+package com.bookstore.api.utils;
+
+import java.util.regex.Pattern;
+
+/**
+ * Turns concrete request paths into endpoint templates, so per-endpoint state
+ * (circuit breakers, latency windows) is not split by record ID.
+ */
+public final class PathTemplates {
+
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    private PathTemplates() {
+    }
+
+    /**
+     * @return {@code path} with every all-digit segment replaced by {@code {id}},
+     * e.g. {@code /api/v1/Books/12} becomes {@code /api/v1/Books/{id}}
+     */
+    public static String of(String path) {
+        return NUMERIC_SEGMENT.matcher(path).replaceAll("/{id}");
+    }
+}
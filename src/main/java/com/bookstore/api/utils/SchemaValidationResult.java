@@ -0,0 +1,28 @@
+package com.bookstore.api.utils;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Outcome of one {@link SchemaValidator} call. For array bodies every element
+ * is validated against the schema and counted separately.
+ */
+@Value
+public class SchemaValidationResult {
+
+    String schemaPath;
+    long elements;
+    long invalidElements;
+    /** Up to {@link SchemaValidator#MAX_REPORTED_ERRORS} messages, prefixed with the element index. */
+    List<String> errors;
+    long validationTimeNanos;
+
+    public boolean isValid() {
+        return invalidElements == 0;
+    }
+
+    public double getValidationTimeMs() {
+        return validationTimeNanos / 1_000_000.0;
+    }
+}
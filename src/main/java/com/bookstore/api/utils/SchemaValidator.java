@@ -0,0 +1,189 @@
+package com.bookstore.api.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.github.fge.jackson.JsonLoader;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.ProcessingMessage;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.StreamSupport;
+
+/**
+ * Validates JSON bodies against schemas on the classpath. Each schema is
+ * loaded and compiled once and the resulting {@link JsonSchema} (immutable and
+ * thread safe) is reused by every later call, unlike
+ * {@code matchesJsonSchemaInClasspath}, which rebuilds it per assertion.
+ * <p>
+ * When the body is an array, the schema describes a single element. Elements
+ * are parsed and validated one at a time in one pass over the body, optionally
+ * spread over the common fork-join pool. A {@code null} element is validated
+ * like any other, so a schema requiring an object rejects it; an empty array
+ * has no elements to reject and is valid.
+ */
+public final class SchemaValidator {
+
+    public static final int MAX_REPORTED_ERRORS = 10;
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaValidator.class);
+
+    private static final JsonSchemaFactory schemaFactory = JsonSchemaFactory.byDefault();
+    private static final Map<String, JsonSchema> schemas = new ConcurrentHashMap<>();
+
+    private static final LongAdder validations = new LongAdder();
+    private static final LongAdder validatedElements = new LongAdder();
+    private static final LongAdder validationNanos = new LongAdder();
+
+    private SchemaValidator() {
+    }
+
+    /**
+     * @param schemaPath classpath location, e.g. {@code schemas/book-schema.json}
+     */
+    public static JsonSchema getSchema(String schemaPath) {
+        return schemas.computeIfAbsent(schemaPath, SchemaValidator::compile);
+    }
+
+    public static SchemaValidationResult validate(String schemaPath, byte[] json) {
+        return validate(schemaPath, json, false);
+    }
+
+    /**
+     * Validates a JSON document, or each element if it is an array.
+     *
+     * @param parallel validate array elements concurrently; worthwhile only for large arrays
+     */
+    public static SchemaValidationResult validate(String schemaPath, byte[] json, boolean parallel) {
+        JsonSchema schema = getSchema(schemaPath);
+        long start = System.nanoTime();
+        Queue<String> errors = new ConcurrentLinkedQueue<>();
+        AtomicInteger reported = new AtomicInteger();
+        LongAdder invalid = new LongAdder();
+        long elements;
+
+        try (JsonParser parser = WireCodec.getObjectMapper().getFactory().createParser(json)) {
+            if (parser.nextToken() == JsonToken.START_ARRAY) {
+                IndexingIterator nodes = new IndexingIterator(new JsonArrayIterator<>(parser, JsonNode.class));
+                StreamSupport.stream(Spliterators.spliteratorUnknownSize(nodes,
+                                Spliterator.ORDERED | Spliterator.NONNULL), parallel)
+                        .forEach(node -> check(schema, node.index, node.node, invalid, errors, reported));
+                elements = nodes.index;
+            } else {
+                check(schema, -1, WireCodec.getObjectMapper().readTree(parser), invalid, errors, reported);
+                elements = 1;
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to parse JSON for schema validation", e);
+        }
+
+        long nanos = System.nanoTime() - start;
+        validations.increment();
+        validatedElements.add(elements);
+        validationNanos.add(nanos);
+
+        SchemaValidationResult result = new SchemaValidationResult(schemaPath, elements, invalid.sum(),
+                new ArrayList<>(errors), nanos);
+        log.debug("Validated {} element(s) against {} in {} ms, {} invalid",
+                elements, schemaPath, result.getValidationTimeMs(), result.getInvalidElements());
+        return result;
+    }
+
+    public static long getValidationCount() {
+        return validations.sum();
+    }
+
+    public static long getValidatedElementCount() {
+        return validatedElements.sum();
+    }
+
+    public static double getTotalValidationTimeMs() {
+        return validationNanos.sum() / 1_000_000.0;
+    }
+
+    public static int getCachedSchemaCount() {
+        return schemas.size();
+    }
+
+    private static void check(JsonSchema schema, long index, JsonNode node, LongAdder invalid,
+                              Queue<String> errors, AtomicInteger reported) {
+        ProcessingReport report;
+        try {
+            report = schema.validate(node);
+        } catch (ProcessingException e) {
+            throw new RuntimeException("Schema validation could not be performed", e);
+        }
+        if (report.isSuccess()) {
+            return;
+        }
+        invalid.increment();
+        for (ProcessingMessage message : report) {
+            if (reported.getAndIncrement() >= MAX_REPORTED_ERRORS) {
+                return;
+            }
+            errors.add((index < 0 ? "" : "[" + index + "] ") + message.getMessage());
+        }
+    }
+
+    private static JsonSchema compile(String schemaPath) {
+        try {
+            JsonNode schemaNode = JsonLoader.fromResource(schemaPath.startsWith("/") ? schemaPath : "/" + schemaPath);
+            return schemaFactory.getJsonSchema(schemaNode);
+        } catch (IOException | ProcessingException e) {
+            throw new IllegalArgumentException("Cannot load JSON schema " + schemaPath, e);
+        }
+    }
+
+    /**
+     * Numbers elements in document order. Only the thread splitting the stream
+     * calls {@code next()}, so the counter needs no synchronization.
+     */
+    private static final class IndexingIterator implements Iterator<IndexedNode> {
+
+        private final Iterator<JsonNode> nodes;
+        private long index;
+
+        private IndexingIterator(Iterator<JsonNode> nodes) {
+            this.nodes = nodes;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nodes.hasNext();
+        }
+
+        @Override
+        public IndexedNode next() {
+            JsonNode node = nodes.next();
+            return new IndexedNode(index++, node != null ? node : NullNode.getInstance());
+        }
+    }
+
+    private static final class IndexedNode {
+
+        private final long index;
+        private final JsonNode node;
+
+        private IndexedNode(long index, JsonNode node) {
+            this.index = index;
+            this.node = node;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.bookstore.api.utils;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.internal.RestAssuredResponseOptionsImpl;
+import io.restassured.response.Response;
+
+/**
+ * Builds REST Assured responses that did not come from REST Assured's own
+ * transport: replayed recordings, cached entries and hedged GETs.
+ */
+public final class SyntheticResponses {
+
+    private SyntheticResponses() {
+    }
+
+    /**
+     * @param config the request spec's config, so {@code as(...)} uses the same object mapper
+     */
+    public static Response of(int statusCode, String statusLine, Headers headers, byte[] body, RestAssuredConfig config) {
+        ResponseBuilder builder = new ResponseBuilder()
+                .setStatusCode(statusCode)
+                .setStatusLine(statusLine)
+                .setHeaders(headers)
+                .setBody(body);
+        Header contentType = headers.get("Content-Type");
+        if (contentType != null) {
+            builder.setContentType(contentType.getValue());
+        }
+        Response response = builder.build();
+        if (response instanceof RestAssuredResponseOptionsImpl) {
+            // ResponseBuilder uses the global config
+            ((RestAssuredResponseOptionsImpl<?>) response).setConfig(config);
+        }
+        return response;
+    }
+}
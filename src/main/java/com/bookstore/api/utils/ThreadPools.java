@@ -0,0 +1,109 @@
+package com.bookstore.api.utils;
+
+import com.bookstore.api.config.ConfigurationManager;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the executors used by the framework itself.
+ * <p>
+ * When {@code thread.type=virtual} and the JVM supports virtual threads
+ * (Java 21+), tasks run on virtual threads. Otherwise, or when
+ * {@code thread.type=platform}, a bounded pool of daemon platform threads is
+ * used. The project still compiles for Java 17, so virtual threads are
+ * looked up reflectively.
+ */
+public final class ThreadPools {
+
+    public static final String VIRTUAL = "virtual";
+    public static final String PLATFORM = "platform";
+
+    private static final Method OF_VIRTUAL = lookup(Thread.class, "ofVirtual");
+    private static final Method BUILDER_NAME = lookup(builderClass(), "name", String.class, long.class);
+    private static final Method BUILDER_FACTORY = lookup(builderClass(), "factory");
+    private static final Method THREAD_PER_TASK_EXECUTOR =
+            lookup(Executors.class, "newThreadPerTaskExecutor", ThreadFactory.class);
+
+    private ThreadPools() {
+    }
+
+    public static boolean isVirtualThreadSupported() {
+        return OF_VIRTUAL != null && BUILDER_NAME != null && BUILDER_FACTORY != null
+                && THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * @return {@code true} if the configuration asks for virtual threads and the JVM provides them
+     */
+    public static boolean useVirtualThreads() {
+        return VIRTUAL.equalsIgnoreCase(ConfigurationManager.getConfig().threadType()) && isVirtualThreadSupported();
+    }
+
+    /**
+     * Thread factory honoring {@code thread.type}. Platform threads are daemons
+     * so a forgotten executor never keeps the JVM alive.
+     */
+    public static ThreadFactory threadFactory(String namePrefix) {
+        if (useVirtualThreads()) {
+            return virtualThreadFactory(namePrefix);
+        }
+        return platformThreadFactory(namePrefix);
+    }
+
+    /**
+     * Executor honoring {@code thread.type}: one virtual thread per task, or a
+     * fixed pool of {@code maxThreads} platform threads.
+     */
+    public static ExecutorService newExecutor(String namePrefix, int maxThreads) {
+        if (useVirtualThreads()) {
+            try {
+                return (ExecutorService) THREAD_PER_TASK_EXECUTOR.invoke(null, virtualThreadFactory(namePrefix));
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Failed to create virtual thread executor", e);
+            }
+        }
+        return Executors.newFixedThreadPool(Math.max(1, maxThreads), platformThreadFactory(namePrefix));
+    }
+
+    public static ThreadFactory platformThreadFactory(String namePrefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static ThreadFactory virtualThreadFactory(String namePrefix) {
+        try {
+            Object builder = OF_VIRTUAL.invoke(null);
+            builder = BUILDER_NAME.invoke(builder, namePrefix + "-", 1L);
+            return (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create virtual thread factory", e);
+        }
+    }
+
+    private static Class<?> builderClass() {
+        try {
+            return Class.forName("java.lang.Thread$Builder");
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static Method lookup(Class<?> type, String name, Class<?>... parameterTypes) {
+        if (type == null) {
+            return null;
+        }
+        try {
+            return type.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
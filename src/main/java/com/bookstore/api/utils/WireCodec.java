@@ -0,0 +1,117 @@
+package com.bookstore.api.utils;
+
+import com.bookstore.api.config.ConfigurationManager;
+import com.bookstore.api.models.Author;
+import com.bookstore.api.models.Book;
+import com.bookstore.api.models.ErrorResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JSON codec for request and response bodies. Unlike {@link JsonUtils}, which
+ * pretty-prints for reports and logs, output here is compact, and readers and
+ * writers are resolved once per type and then reused, so a call skips the
+ * mapper's per-call type lookup.
+ * <p>
+ * With {@code json.blackbird.enabled=true} the Blackbird module replaces
+ * reflective property access with generated lambdas. The flag is read when the
+ * class is first used.
+ */
+public final class WireCodec {
+
+    private static final ObjectMapper objectMapper = createObjectMapper();
+    private static final Map<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    static {
+        for (Class<?> type : new Class<?>[]{Book.class, Author.class, ErrorResponse.class,
+                Book[].class, Author[].class, ErrorResponse[].class}) {
+            readerFor(type);
+            writerFor(type);
+        }
+    }
+
+    private WireCodec() {
+    }
+
+    private static ObjectMapper createObjectMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (ConfigurationManager.getConfig().jsonBlackbirdEnabled()) {
+            mapper.registerModule(new BlackbirdModule());
+        }
+        return mapper;
+    }
+
+    public static ObjectReader readerFor(Type type) {
+        return readers.computeIfAbsent(type, key -> objectMapper.readerFor(objectMapper.constructType(key)));
+    }
+
+    public static ObjectWriter writerFor(Class<?> type) {
+        return writers.computeIfAbsent(type, objectMapper::writerFor);
+    }
+
+    public static String toJson(Object object) {
+        try {
+            return writerFor(object.getClass()).writeValueAsString(object);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to convert object to JSON", e);
+        }
+    }
+
+    public static byte[] toBytes(Object object) {
+        try {
+            return writerFor(object.getClass()).writeValueAsBytes(object);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to convert object to JSON", e);
+        }
+    }
+
+    public static <T> T fromJson(String json, Class<T> type) {
+        try {
+            return readerFor(type).readValue(json);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to parse JSON to object", e);
+        }
+    }
+
+    public static <T> T fromJson(String json, Type type) {
+        try {
+            return readerFor(type).readValue(json);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to parse JSON to object", e);
+        }
+    }
+
+    public static <T> T fromJson(byte[] json, Type type) {
+        try {
+            return readerFor(type).readValue(json);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to parse JSON to object", e);
+        }
+    }
+
+    public static <T> T fromJson(InputStream json, Type type) {
+        try {
+            return readerFor(type).readValue(json);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to parse JSON to object", e);
+        }
+    }
+
+    public static ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+}
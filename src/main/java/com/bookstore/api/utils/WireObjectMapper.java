@@ -0,0 +1,35 @@
+package com.bookstore.api.utils;
+
+import io.restassured.mapper.ObjectMapper;
+import io.restassured.mapper.ObjectMapperDeserializationContext;
+import io.restassured.mapper.ObjectMapperSerializationContext;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Plugs {@link WireCodec} into REST Assured, so {@code body(book)} and
+ * {@code response.as(Book.class)} use the compact, cached codec instead of
+ * REST Assured's own mapper detection.
+ */
+public class WireObjectMapper implements ObjectMapper {
+
+    public static final WireObjectMapper INSTANCE = new WireObjectMapper();
+
+    @Override
+    public Object serialize(ObjectMapperSerializationContext context) {
+        // REST Assured encodes the returned string with the request charset; a byte[] would be re-serialized
+        return WireCodec.toJson(context.getObjectToSerialize());
+    }
+
+    @Override
+    public Object deserialize(ObjectMapperDeserializationContext context) {
+        if (isUtf8(context.getCharset())) {
+            return WireCodec.fromJson(context.getDataToDeserialize().asByteArray(), context.getType());
+        }
+        return WireCodec.fromJson(context.getDataToDeserialize().asString(), context.getType());
+    }
+
+    private static boolean isUtf8(String charset) {
+        return charset == null || StandardCharsets.UTF_8.name().equalsIgnoreCase(charset);
+    }
+}
@@ -0,0 +1,44 @@
+package com.bookstore.api.benchmarks;
+
+import com.bookstore.api.models.Book;
+import com.bookstore.api.utils.ApiAssertions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the passing path of the soft-assertion based model checks. The
+ * forked JVM runs without the AspectJ agent, so Allure step reporting is not
+ * included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiAssertionsBenchmark {
+
+    private Book actual;
+    private Book expected;
+
+    @Setup
+    public void setup() {
+        actual = BenchmarkData.book(1);
+        expected = BenchmarkData.book(1);
+    }
+
+    @Benchmark
+    public void verifyBookDetails() {
+        ApiAssertions.verifyBookDetails(actual, expected);
+    }
+}
@@ -0,0 +1,43 @@
+package com.bookstore.api.benchmarks;
+
+import com.bookstore.api.models.Author;
+import com.bookstore.api.models.Book;
+
+/**
+ * Deterministic model instances for benchmarks. Faker output varies in
+ * length between runs, which would show up as noise in the results.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static Book book(int id) {
+        return Book.builder()
+                .id(id)
+                .title("Book " + id)
+                .description("Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor "
+                        + "incididunt ut labore et dolore magna aliqua. Ut enim ad minim veniam.")
+                .pageCount(100 + id % 900)
+                .excerpt("Duis aute irure dolor in reprehenderit in voluptate velit esse cillum dolore.")
+                .publishDate("2024-01-15T10:30:00.000Z")
+                .build();
+    }
+
+    static Author author(int id) {
+        return Author.builder()
+                .id(id)
+                .idBook(id % 200 + 1)
+                .firstName("First " + id)
+                .lastName("Last " + id)
+                .build();
+    }
+
+    static Book[] books(int count) {
+        Book[] books = new Book[count];
+        for (int i = 0; i < count; i++) {
+            books[i] = book(i + 1);
+        }
+        return books;
+    }
+}
@@ -0,0 +1,79 @@
+package com.bookstore.api.benchmarks;
+
+import com.bookstore.api.models.Book;
+import com.bookstore.api.utils.JsonUtils;
+import com.bookstore.api.utils.WireCodec;
+import com.bookstore.api.utils.WireObjectMapper;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing of {@code GET /Books} sized responses. The response is
+ * built in memory, so no server is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookArrayDeserializationBenchmark {
+
+    @Param({"200", "10000"})
+    private int size;
+
+    private String body;
+    private byte[] bytes;
+    private Response response;
+
+    @Setup
+    public void setup() {
+        body = JsonUtils.toJson(BenchmarkData.books(size));
+        bytes = WireCodec.toBytes(BenchmarkData.books(size));
+        response = new ResponseBuilder()
+                .setStatusCode(200)
+                .setContentType(ContentType.JSON)
+                .setBody(body)
+                .build();
+    }
+
+    @Benchmark
+    public Book[] responseAs() {
+        return response.as(Book[].class);
+    }
+
+    @Benchmark
+    public Book[] responseAsWireMapper() {
+        return response.as(Book[].class, WireObjectMapper.INSTANCE);
+    }
+
+    @Benchmark
+    public List<Object> responseJsonPathList() {
+        return response.jsonPath().getList("$");
+    }
+
+    @Benchmark
+    public Book[] jsonUtilsFromJson() {
+        return JsonUtils.fromJson(body, Book[].class);
+    }
+
+    @Benchmark
+    public Book[] wireCodecFromBytes() {
+        return WireCodec.fromJson(bytes, Book[].class);
+    }
+}
@@ -0,0 +1,85 @@
+package com.bookstore.api.benchmarks;
+
+import com.bookstore.api.models.Author;
+import com.bookstore.api.models.Book;
+import com.bookstore.api.utils.JsonUtils;
+import com.bookstore.api.utils.WireCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures serialization and parsing of single models, as done for every
+ * request body and most response assertions: the pretty-printing
+ * {@link JsonUtils} against the compact, per-type cached {@link WireCodec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonUtilsBenchmark {
+
+    private Book book;
+    private Author author;
+    private String bookJson;
+    private String authorJson;
+
+    @Setup
+    public void setup() {
+        book = BenchmarkData.book(1);
+        author = BenchmarkData.author(1);
+        bookJson = JsonUtils.toJson(book);
+        authorJson = JsonUtils.toJson(author);
+    }
+
+    @Benchmark
+    public String bookToJson() {
+        return JsonUtils.toJson(book);
+    }
+
+    @Benchmark
+    public Book bookFromJson() {
+        return JsonUtils.fromJson(bookJson, Book.class);
+    }
+
+    @Benchmark
+    public String authorToJson() {
+        return JsonUtils.toJson(author);
+    }
+
+    @Benchmark
+    public Author authorFromJson() {
+        return JsonUtils.fromJson(authorJson, Author.class);
+    }
+
+    @Benchmark
+    public byte[] wireBookToBytes() {
+        return WireCodec.toBytes(book);
+    }
+
+    @Benchmark
+    public Book wireBookFromJson() {
+        return WireCodec.fromJson(bookJson, Book.class);
+    }
+
+    @Benchmark
+    public byte[] wireAuthorToBytes() {
+        return WireCodec.toBytes(author);
+    }
+
+    @Benchmark
+    public Author wireAuthorFromJson() {
+        return WireCodec.fromJson(authorJson, Author.class);
+    }
+}
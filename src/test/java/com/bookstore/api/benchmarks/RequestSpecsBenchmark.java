@@ -0,0 +1,52 @@
+package com.bookstore.api.benchmarks;
+
+import com.bookstore.api.config.ConfigurationManager;
+import com.bookstore.api.specs.RequestSpecs;
+import io.restassured.specification.RequestSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Measures the per-request cost of preparing a request specification, i.e.
+ * everything {@code BaseApiClient} does before the request goes on the wire.
+ * <p>
+ * Run with:
+ * <pre>
+ * mvn -Pbenchmark verify -Djmh.include=RequestSpecsBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestSpecsBenchmark {
+
+    @Setup
+    public void setup() {
+        RequestSpecs.getBooksRequestSpec();
+    }
+
+    @Benchmark
+    public RequestSpecification uncachedBooksSpec() {
+        return given().spec(RequestSpecs.buildBooksRequestSpec(ConfigurationManager.getConfig()));
+    }
+
+    @Benchmark
+    public RequestSpecification cachedBooksSpec() {
+        return given().spec(RequestSpecs.getBooksRequestSpec());
+    }
+}
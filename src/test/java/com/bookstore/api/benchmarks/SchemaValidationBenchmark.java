@@ -0,0 +1,52 @@
+package com.bookstore.api.benchmarks;
+
+import com.bookstore.api.utils.SchemaValidationResult;
+import com.bookstore.api.utils.SchemaValidator;
+import com.bookstore.api.utils.WireCodec;
+import io.restassured.module.jsv.JsonSchemaValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares validating a single book against the cached, precompiled schema
+ * with REST Assured's classpath matcher, which loads the schema on every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchemaValidationBenchmark {
+
+    private static final String BOOK_SCHEMA = "schemas/book-schema.json";
+
+    private String json;
+    private byte[] bytes;
+
+    @Setup
+    public void setup() {
+        json = WireCodec.toJson(BenchmarkData.book(1));
+        bytes = json.getBytes();
+    }
+
+    @Benchmark
+    public SchemaValidationResult cachedValidator() {
+        return SchemaValidator.validate(BOOK_SCHEMA, bytes);
+    }
+
+    @Benchmark
+    public boolean matchesJsonSchemaInClasspath() {
+        return JsonSchemaValidator.matchesJsonSchemaInClasspath(BOOK_SCHEMA).matches(json);
+    }
+}
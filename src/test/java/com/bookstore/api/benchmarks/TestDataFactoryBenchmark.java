@@ -0,0 +1,52 @@
+package com.bookstore.api.benchmarks;
+
+import com.bookstore.api.data.TestDataFactory;
+import com.bookstore.api.models.Author;
+import com.bookstore.api.models.Book;
+import com.github.javafaker.Faker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures random test data generation, which runs once per create/update test.
+ * {@code fakerBook} generates a book with Faker on every call, as the factory
+ * did before it served data from {@code DataCorpus}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TestDataFactoryBenchmark {
+
+    private final Faker faker = new Faker();
+
+    @Benchmark
+    public Book createRandomBook() {
+        return TestDataFactory.createRandomBook();
+    }
+
+    @Benchmark
+    public Author createRandomAuthor() {
+        return TestDataFactory.createRandomAuthor();
+    }
+
+    @Benchmark
+    public Book fakerBook() {
+        return Book.builder()
+                .title(faker.book().title())
+                .description(faker.lorem().paragraph())
+                .excerpt(faker.lorem().sentence())
+                .build();
+    }
+}
@@ -0,0 +1,168 @@
+package com.bookstore.api.cache;
+
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResponseCacheTest {
+    
+    private static final String BASE = "http://localhost:8080/api/v1";
+    private static final Headers NO_HEADERS = new Headers();
+    
+    @Test(description = "A write drops its collection and record but not records whose ID shares a prefix")
+    public void testInvalidateWriteMatchesWholeSegments() {
+        ResponseCache cache = new ResponseCache(60_000, 1 << 20);
+        for (String path : List.of("/Books", "/Books?page=2", "/Books/1", "/Books/10", "/Books/19",
+                "/Books/1/cover", "/Books/search/title", "/BooksArchive/1", "/Authors/1")) {
+            put(cache, BASE + path);
+        }
+        
+        cache.invalidateWrite("/api/v1/Books/1");
+        
+        assertThat(cached(cache, "/Books", "/Books?page=2", "/Books/1", "/Books/1/cover", "/Books/search/title")).isEmpty();
+        assertThat(cached(cache, "/Books/10", "/Books/19", "/BooksArchive/1", "/Authors/1")).hasSize(4);
+        assertThat(cache.getInvalidationCount()).isEqualTo(5);
+    }
+    
+    @Test(description = "A write to a collection keeps its records")
+    public void testInvalidateCollectionWriteKeepsRecords() {
+        ResponseCache cache = new ResponseCache(60_000, 1 << 20);
+        put(cache, BASE + "/Books");
+        put(cache, BASE + "/Books/7");
+        
+        cache.invalidateWrite("/api/v1/Books");
+        
+        assertThat(cached(cache, "/Books")).isEmpty();
+        assertThat(cached(cache, "/Books/7")).hasSize(1);
+    }
+    
+    @Test(description = "Prefix invalidation matches whole path segments")
+    public void testInvalidatePrefixMatchesWholeSegments() {
+        ResponseCache cache = new ResponseCache(60_000, 1 << 20);
+        put(cache, BASE + "/Books/1");
+        put(cache, BASE + "/Books/1/cover");
+        put(cache, BASE + "/Books/12");
+        
+        cache.invalidate("/api/v1/Books/1");
+        
+        assertThat(cached(cache, "/Books/1", "/Books/1/cover")).isEmpty();
+        assertThat(cached(cache, "/Books/12")).hasSize(1);
+    }
+    
+    @Test(description = "A response that was in flight during an invalidation is not stored")
+    public void testResponseStartedBeforeInvalidationIsDiscarded() {
+        ResponseCache cache = new ResponseCache(60_000, 1 << 20);
+        String key = ResponseCache.key(BASE + "/Books/1", null);
+        long generation = cache.generation();
+        
+        cache.invalidateWrite("/api/v1/Books/1");
+        cache.put(key, "HTTP/1.1 200 OK", NO_HEADERS, new byte[10], generation);
+        
+        assertThat(cache.get(key)).isNull();
+        assertThat(cache.getStaleDiscardCount()).isEqualTo(1);
+        
+        cache.put(key, "HTTP/1.1 200 OK", NO_HEADERS, new byte[10], cache.generation());
+        assertThat(cache.get(key)).isNotNull();
+    }
+    
+    @Test(description = "Beyond the size limit the least recently used entry is evicted")
+    public void testLeastRecentlyUsedEntryIsEvicted() {
+        // Each entry is 1000 body bytes plus 512 bytes of overhead, so two fit
+        ResponseCache cache = new ResponseCache(60_000, 3500);
+        String first = ResponseCache.key(BASE + "/Books/1", null);
+        String second = ResponseCache.key(BASE + "/Books/2", null);
+        String third = ResponseCache.key(BASE + "/Books/3", null);
+        cache.put(first, "HTTP/1.1 200 OK", NO_HEADERS, new byte[1000], cache.generation());
+        cache.put(second, "HTTP/1.1 200 OK", NO_HEADERS, new byte[1000], cache.generation());
+        cache.get(first);
+        
+        cache.put(third, "HTTP/1.1 200 OK", NO_HEADERS, new byte[1000], cache.generation());
+        
+        assertThat(cache.get(first)).isNotNull();
+        assertThat(cache.get(second)).isNull();
+        assertThat(cache.get(third)).isNotNull();
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+        assertThat(cache.getSizeBytes()).isEqualTo(2 * 1512);
+    }
+    
+    @Test(description = "no-store responses are not kept, and no-cache ones are stored but never fresh")
+    public void testCacheControlDirectives() {
+        ResponseCache cache = new ResponseCache(60_000, 1 << 20);
+        String noStore = ResponseCache.key(BASE + "/Books/1", null);
+        String noCache = ResponseCache.key(BASE + "/Books/2", null);
+        
+        cache.put(noStore, "HTTP/1.1 200 OK", new Headers(new Header("Cache-Control", "no-store")), new byte[1], cache.generation());
+        cache.put(noCache, "HTTP/1.1 200 OK", new Headers(new Header("Cache-Control", "no-cache")), new byte[1], cache.generation());
+        
+        assertThat(cache.get(noStore)).isNull();
+        assertThat(cache.get(noCache).isFresh(System.nanoTime())).isFalse();
+    }
+    
+    @Test(description = "A stale entry is revalidated with If-None-Match and a 304 is answered from the cache")
+    public void testRevalidationServes304FromCache() throws IOException {
+        List<String> ifNoneMatch = new CopyOnWriteArrayList<>();
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/api/v1/Books", exchange -> {
+            String validator = exchange.getRequestHeaders().getFirst("If-None-Match");
+            ifNoneMatch.add(String.valueOf(validator));
+            exchange.getResponseHeaders().add("ETag", "\"v1\"");
+            exchange.getResponseHeaders().add("Cache-Control", "no-cache");
+            if ("\"v1\"".equals(validator)) {
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                byte[] body = "[{\"id\":1}]".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+            exchange.close();
+        });
+        server.start();
+        try {
+            String uri = "http://localhost:" + server.getAddress().getPort() + "/api/v1/Books";
+            ResponseCache cache = ResponseCache.getInstance();
+            long revalidatedBefore = cache.getRevalidatedCount();
+            
+            Response first = given().filter(new HttpCacheFilter()).get(uri);
+            Response second = given().filter(new HttpCacheFilter()).get(uri);
+            
+            assertThat(first.getStatusCode()).isEqualTo(200);
+            assertThat(second.getStatusCode()).isEqualTo(200);
+            assertThat(second.asString()).isEqualTo("[{\"id\":1}]");
+            assertThat(ifNoneMatch).containsExactly("null", "\"v1\"");
+            assertThat(cache.getRevalidatedCount() - revalidatedBefore).isEqualTo(1);
+        } finally {
+            server.stop(0);
+        }
+    }
+    
+    private static void put(ResponseCache cache, String uri) {
+        cache.put(ResponseCache.key(uri, "application/json"), "HTTP/1.1 200 OK", NO_HEADERS, new byte[10], cache.generation());
+    }
+    
+    private static List<String> cached(ResponseCache cache, String... paths) {
+        List<String> present = new ArrayList<>();
+        for (String path : paths) {
+            if (cache.get(ResponseCache.key(BASE + path, "application/json")) != null) {
+                present.add(path);
+            }
+        }
+        return present;
+    }
+}
@@ -0,0 +1,112 @@
+package com.bookstore.api.clients;
+
+import com.bookstore.api.config.ConfigurationManager;
+import com.bookstore.api.models.Author;
+import com.bookstore.api.models.Book;
+import com.bookstore.api.server.FakeRestApiServer;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResourceTrackerTest {
+    
+    private static final String FIRST = "ResourceTrackerTest.First";
+    private static final String SECOND = "ResourceTrackerTest.Second";
+    
+    private FakeRestApiServer server;
+    private String previousBaseUri;
+    private String previousTrafficMode;
+    
+    @BeforeClass(alwaysRun = true)
+    public void startServer() {
+        server = FakeRestApiServer.builder().books(10).authors(10).persistWrites(true).start();
+        previousBaseUri = System.getProperty("base.uri");
+        previousTrafficMode = System.getProperty("traffic.mode");
+        // Talks to its own server, also when the suite replays recorded traffic. Both settings are
+        // read per request, so they follow the reload; see ConfigurationManager.reload()
+        System.setProperty("base.uri", server.getBaseUri());
+        System.setProperty("traffic.mode", "live");
+        ConfigurationManager.reload();
+    }
+    
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        restore("base.uri", previousBaseUri);
+        restore("traffic.mode", previousTrafficMode);
+        ConfigurationManager.reload();
+        server.stop();
+    }
+    
+    @AfterMethod(alwaysRun = true)
+    public void clearOwner() {
+        ResourceTracker.clearOwner();
+    }
+    
+    @Test(description = "Cleaning up one owner leaves other owners' records tracked")
+    public void testCleanupDrainsOnlyOneOwner() {
+        ResourceTracker tracker = ResourceTracker.getInstance();
+        tracker.track(FIRST, ResourceType.BOOK, 1);
+        tracker.track(FIRST, ResourceType.AUTHOR, 2);
+        tracker.track(SECOND, ResourceType.BOOK, 3);
+        
+        CleanupReport report = tracker.cleanup(FIRST);
+        
+        assertThat(report.getRequested()).isEqualTo(2);
+        assertThat(report.getDeleted()).isEqualTo(2);
+        assertThat(tracker.getTrackedCount(FIRST)).isZero();
+        assertThat(tracker.getTrackedCount(SECOND)).isEqualTo(1);
+        
+        assertThat(tracker.cleanup(SECOND).getRequested()).isEqualTo(1);
+        assertThat(tracker.getTrackedCount(SECOND)).isZero();
+    }
+    
+    @Test(description = "Async creates are tracked under the owner of the thread that sent them")
+    public void testAsyncCreateKeepsSendingThreadOwner() {
+        ResourceTracker.setOwner(FIRST);
+        AsyncResponse response = new AsyncBooksApiClient()
+                .createBook(Book.builder().id(0).title("Tracked").pageCount(10).build())
+                .join();
+        ResourceTracker.clearOwner();
+        
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(ResourceTracker.getInstance().getTrackedCount(FIRST)).isEqualTo(1);
+        assertThat(ResourceTracker.getInstance().getTrackedCount(ResourceTracker.SUITE_OWNER)).isZero();
+        
+        assertThat(ResourceTracker.getInstance().cleanup(FIRST).getDeleted()).isEqualTo(1);
+    }
+    
+    @Test(description = "Records a test deletes itself, one by one or in bulk, are not deleted again at cleanup")
+    public void testDeletedRecordsAreUntracked() {
+        ResourceTracker tracker = ResourceTracker.getInstance();
+        ResourceTracker.setOwner(FIRST);
+        BooksApiClient books = new BooksApiClient();
+        AuthorsApiClient authors = new AuthorsApiClient();
+        int book = books.createBook(Book.builder().id(0).title("Deleted").pageCount(10).build()).jsonPath().getInt("id");
+        List<Integer> authorIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            authorIds.add(authors.createAuthor(Author.builder().id(0).idBook(1).firstName("Bulk").build())
+                    .jsonPath().getInt("id"));
+        }
+        assertThat(tracker.getTrackedCount(FIRST)).isEqualTo(4);
+        
+        assertThat(books.deleteBook(book).getStatusCode()).isEqualTo(200);
+        assertThat(authors.deleteAuthors(authorIds).getSucceeded()).isEqualTo(3);
+        
+        assertThat(tracker.getTrackedCount(FIRST)).isZero();
+        assertThat(tracker.cleanup(FIRST).getRequested()).isZero();
+    }
+    
+    private static void restore(String key, String value) {
+        if (value == null) {
+            System.clearProperty(key);
+        } else {
+            System.setProperty(key, value);
+        }
+    }
+}
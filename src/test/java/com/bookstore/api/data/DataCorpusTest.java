@@ -0,0 +1,74 @@
+package com.bookstore.api.data;
+
+import com.bookstore.api.models.Author;
+import com.bookstore.api.models.Book;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DataCorpusTest {
+    
+    // Spans several generation chunks, the last one partial
+    private static final int SIZE = 600;
+    
+    @Test(description = "The same seed yields the same corpus whether chunks are generated in parallel or not")
+    public void testParallelAndSequentialGenerationMatch() {
+        DataCorpus sequential = DataCorpus.generate(42, SIZE, false);
+        DataCorpus parallel = DataCorpus.generate(42, SIZE, true);
+        
+        assertThat(parallel.size()).isEqualTo(SIZE);
+        assertThat(books(parallel, SIZE)).isEqualTo(books(sequential, SIZE));
+        assertThat(authors(parallel, SIZE)).isEqualTo(authors(sequential, SIZE));
+    }
+    
+    @Test(description = "A single-threaded run with the same seed sees the same sequence of records")
+    public void testSameSeedSameSequence() {
+        List<Book> first = books(DataCorpus.generate(7, SIZE, true), 2 * SIZE);
+        List<Book> second = books(DataCorpus.generate(7, SIZE, true), 2 * SIZE);
+        
+        assertThat(second).isEqualTo(first);
+        // The cursor wraps around once the corpus is used up
+        assertThat(first.subList(SIZE, 2 * SIZE)).isEqualTo(first.subList(0, SIZE));
+    }
+    
+    @Test(description = "Different seeds yield different corpora")
+    public void testDifferentSeedsDiffer() {
+        assertThat(books(DataCorpus.generate(1, SIZE, false), SIZE))
+                .isNotEqualTo(books(DataCorpus.generate(2, SIZE, false), SIZE));
+    }
+    
+    @Test(description = "Each thread starts at its own offset and gets copies without IDs")
+    public void testThreadsGetOwnCursorAndCopies() {
+        DataCorpus corpus = DataCorpus.generate(42, SIZE, false);
+        Book first = corpus.nextBook();
+        Book other = CompletableFuture.supplyAsync(corpus::nextBook).join();
+        
+        assertThat(first.getId()).isNull();
+        assertThat(other).isNotEqualTo(first);
+        
+        String title = first.getTitle();
+        first.setTitle("changed");
+        books(corpus, SIZE - 1);
+        assertThat(corpus.nextBook().getTitle()).isEqualTo(title);
+    }
+    
+    private static List<Book> books(DataCorpus corpus, int count) {
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            books.add(corpus.nextBook());
+        }
+        return books;
+    }
+    
+    private static List<Author> authors(DataCorpus corpus, int count) {
+        List<Author> authors = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            authors.add(corpus.nextAuthor());
+        }
+        return authors;
+    }
+}
@@ -0,0 +1,97 @@
+package com.bookstore.api.data;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class IdAllocatorTest {
+    
+    @Test(description = "IDs handed out by concurrent threads are unique and within the partition")
+    public void testConcurrentIdsAreUnique() throws Exception {
+        IdAllocator allocator = new IdAllocator(1, 1_000_000, 16, 0, 1);
+        Set<Integer> ids = ConcurrentHashMap.newKeySet();
+        int threads = 8;
+        int perThread = 1024;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        ids.add(allocator.nextId());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        assertThat(ids).hasSize(threads * perThread).allMatch(id -> id >= 1 && id <= 1_000_000);
+        assertThat(allocator.getAllocatedCount()).isEqualTo(threads * perThread);
+        // Each thread only claims a new block once its current one is used up
+        assertThat(allocator.getBlocksClaimed()).isEqualTo(threads * perThread / 16);
+    }
+    
+    @Test(description = "Partitions split the range evenly, the last one taking the remainder")
+    public void testPartitionBounds() {
+        IdAllocator first = new IdAllocator(1, 1000, 10, 0, 3);
+        IdAllocator middle = new IdAllocator(1, 1000, 10, 1, 3);
+        IdAllocator last = new IdAllocator(1, 1000, 10, 2, 3);
+        
+        assertThat(first.getPartitionStart()).isEqualTo(1);
+        assertThat(first.getPartitionEnd()).isEqualTo(334);
+        assertThat(middle.getPartitionStart()).isEqualTo(334);
+        assertThat(middle.getPartitionEnd()).isEqualTo(667);
+        assertThat(last.getPartitionStart()).isEqualTo(667);
+        assertThat(last.getPartitionEnd()).isEqualTo(1001);
+        assertThat(middle.nextId()).isEqualTo(334);
+        assertThat(middle.getUnclaimedCount()).isEqualTo(333 - 10);
+    }
+    
+    @Test(description = "An exhausted partition fails instead of reusing or leaking IDs")
+    public void testExhaustedPartitionThrows() {
+        IdAllocator allocator = new IdAllocator(1, 10, 4, 1, 2);
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(allocator.nextId());
+        }
+        
+        assertThat(ids).containsExactly(6, 7, 8, 9, 10);
+        assertThat(allocator.getUnclaimedCount()).isZero();
+        assertThatThrownBy(allocator::nextId)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("6..10 is exhausted");
+    }
+    
+    @Test(description = "Invalid ranges and partitions are rejected")
+    public void testInvalidArgumentsAreRejected() {
+        assertThatThrownBy(() -> new IdAllocator(0, 10, 1, 0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new IdAllocator(10, 5, 1, 0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new IdAllocator(1, Integer.MAX_VALUE + 1L, 1, 0, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new IdAllocator(1, 10, 1, 2, 2))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("does not exist");
+        assertThatThrownBy(() -> new IdAllocator(1, 3, 1, 0, 4))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("too small");
+    }
+}
@@ -0,0 +1,98 @@
+package com.bookstore.api.http;
+
+import com.bookstore.api.metrics.LatencyMetrics;
+import com.bookstore.api.metrics.LatencySeries;
+import com.bookstore.api.server.FakeRestApiServer;
+import com.sun.net.httpserver.HttpServer;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AsyncHttpEngineTest {
+    
+    private FakeRestApiServer server;
+    
+    @BeforeClass(alwaysRun = true)
+    public void startServer() {
+        server = FakeRestApiServer.builder().books(10).authors(10).start();
+    }
+    
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        server.stop();
+    }
+    
+    @Test(description = "Async and blocking sends are recorded in the latency metrics")
+    public void testSendsAreRecorded() throws Exception {
+        AsyncHttpEngine engine = AsyncHttpEngine.getInstance();
+        long asyncBefore = count("GET", "/api/v1/Authors/{id}", "2xx");
+        long blockingBefore = count("GET", "/api/v1/Authors", "2xx");
+        
+        engine.send(get(server.getBaseUri() + "/api/v1/Authors/3"), HttpResponse.BodyHandlers.ofString()).join();
+        engine.sendAndWait(get(server.getBaseUri() + "/api/v1/Authors"), HttpResponse.BodyHandlers.discarding());
+        
+        // The async completion records on the client's thread, after join() may have returned
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count("GET", "/api/v1/Authors/{id}", "2xx") == asyncBefore && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(count("GET", "/api/v1/Authors/{id}", "2xx")).isEqualTo(asyncBefore + 1);
+        assertThat(count("GET", "/api/v1/Authors", "2xx")).isEqualTo(blockingBefore + 1);
+    }
+    
+    @Test(description = "Cancelled requests, such as losing hedge attempts, are not recorded")
+    public void testCancelledRequestsAreNotRecorded() throws Exception {
+        CountDownLatch received = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        HttpServer slow = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        slow.createContext("/slow", exchange -> {
+            received.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+                exchange.sendResponseHeaders(204, -1);
+            } catch (InterruptedException | IOException ignored) {
+                // the client has gone away
+            } finally {
+                exchange.close();
+            }
+        });
+        slow.start();
+        try {
+            CompletableFuture<HttpResponse<Void>> response = AsyncHttpEngine.getInstance().send(
+                    get("http://127.0.0.1:" + slow.getAddress().getPort() + "/slow"), HttpResponse.BodyHandlers.discarding());
+            assertThat(received.await(5, TimeUnit.SECONDS)).isTrue();
+            response.cancel(true);
+            release.countDown();
+            Thread.sleep(100);
+            
+            assertThat(count("GET", "/slow", "error") + count("GET", "/slow", "2xx")).isZero();
+        } finally {
+            release.countDown();
+            slow.stop(0);
+        }
+    }
+    
+    private static HttpRequest get(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri)).GET().build();
+    }
+    
+    private static long count(String method, String path, String status) {
+        return LatencyMetrics.getInstance().getSeries().stream()
+                .filter(series -> series.getMethod().equals(method) && series.getPath().equals(path)
+                        && series.getStatus().equals(status))
+                .mapToLong(LatencySeries::getCount)
+                .sum();
+    }
+}
@@ -0,0 +1,42 @@
+package com.bookstore.api.http;
+
+import com.bookstore.api.server.FakeRestApiServer;
+import io.restassured.config.RestAssuredConfig;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HttpTransportTest {
+    
+    private FakeRestApiServer server;
+    
+    @BeforeClass(alwaysRun = true)
+    public void startServer() {
+        server = FakeRestApiServer.builder().books(10).authors(10).start();
+    }
+    
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        server.stop();
+    }
+    
+    @Test(description = "Unread response bodies do not keep pooled connections leased")
+    public void testUnreadBodiesReleaseConnections() {
+        HttpTransport transport = HttpTransport.getInstance();
+        RestAssuredConfig config = RestAssuredConfig.config().httpClient(transport.httpClientConfig());
+        long openedBefore = transport.getPoolStats().getConnectionsOpened();
+        
+        // More requests than a route may lease at once; none of them reads its body
+        for (int i = 0; i < 60; i++) {
+            int status = given().config(config).baseUri(server.getBaseUri()).get("/api/v1/Books/1").getStatusCode();
+            assertThat(status).isEqualTo(200);
+        }
+        
+        ConnectionPoolStats stats = transport.getPoolStats();
+        assertThat(stats.getLeased()).isZero();
+        assertThat(stats.getConnectionsOpened() - openedBefore).isLessThanOrEqualTo(1);
+    }
+}
@@ -0,0 +1,109 @@
+package com.bookstore.api.http;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RateLimiterTest {
+    
+    private static final long INTERVAL = 100_000_000L;
+    
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+    
+    @Test(description = "After an idle period, burst requests go at once and the rest one interval apart")
+    public void testBurstThenSpacing() {
+        RateLimiter limiter = new RateLimiter("GET /Books", 10, 3, now::get);
+        
+        List<Long> waits = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            waits.add(limiter.reserve());
+        }
+        
+        assertThat(waits).containsExactly(0L, 0L, 0L, INTERVAL, 2 * INTERVAL, 3 * INTERVAL);
+    }
+    
+    @Test(description = "Idle time refills the burst, but never beyond it")
+    public void testIdleRefillsUpToBurst() {
+        RateLimiter limiter = new RateLimiter("GET /Books", 10, 2, now::get);
+        limiter.reserve();
+        limiter.reserve();
+        assertThat(limiter.reserve()).isEqualTo(INTERVAL);
+        
+        // Long idle period: only the burst of 2 is available again
+        now.addAndGet(60 * 1_000_000_000L);
+        
+        assertThat(limiter.reserve()).isZero();
+        assertThat(limiter.reserve()).isZero();
+        assertThat(limiter.reserve()).isEqualTo(INTERVAL);
+    }
+    
+    @Test(description = "Requests that wait for their slot are admitted at exactly the configured rate")
+    public void testSteadyRate() {
+        RateLimiter limiter = new RateLimiter("GET /Books", 10, 1, now::get);
+        long start = now.get();
+        
+        for (int i = 0; i < 100; i++) {
+            now.addAndGet(limiter.reserve());
+        }
+        
+        // 100 requests at 10/s, the first one immediately
+        assertThat(now.get() - start).isEqualTo(99 * INTERVAL);
+    }
+    
+    @Test(description = "Concurrent reservations get distinct slots")
+    public void testConcurrentReservationsGetDistinctSlots() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter("GET /Books", 10, 1, now::get);
+        ConcurrentLinkedQueue<Long> waits = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 50; i++) {
+                    waits.add(limiter.reserve());
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        // The clock stands still, so the 400 slots are 0, 1, ... 399 intervals away
+        assertThat(waits).hasSize(400).doesNotHaveDuplicates();
+        assertThat(waits.stream().mapToLong(Long::longValue).max().getAsLong()).isEqualTo(399 * INTERVAL);
+    }
+    
+    @Test(description = "Endpoint limits match whole path segments, not raw string prefixes")
+    public void testEndpointLimitsMatchWholeSegments() {
+        now.addAndGet(100 * INTERVAL);
+        RateLimits limits = new RateLimits(0, 1, "/api/v1", "/Books=1", now::get);
+        
+        assertThat(limits.reserve("/api/v1/Books")).isZero();
+        assertThat(limits.reserve("/api/v1/Books/3")).as("below the prefix").isPositive();
+        assertThat(limits.reserve("/api/v1/Books?page=2")).as("with a query").isPositive();
+        assertThat(limits.reserve("/api/v1/BooksArchive")).as("another endpoint").isZero();
+        assertThat(limits.reserve("/api/v1/Authors")).isZero();
+        assertThat(limits.getThrottledCount()).isEqualTo(2);
+    }
+    
+    @Test(description = "A non-positive rate is rejected")
+    public void testRejectsNonPositiveRate() {
+        assertThatThrownBy(() -> new RateLimiter("GET /Books", 0, 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("GET /Books");
+    }
+}
@@ -0,0 +1,24 @@
+package com.bookstore.api.listeners;
+
+import org.testng.annotations.Test;
+import org.testng.xml.XmlSuite;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ParallelExecutionListenerTest {
+    
+    @Test(description = "Known parallel modes are accepted regardless of case and surrounding spaces")
+    public void testKnownModes() {
+        assertThat(ParallelExecutionListener.parallelMode("methods")).isEqualTo(XmlSuite.ParallelMode.METHODS);
+        assertThat(ParallelExecutionListener.parallelMode(" Classes ")).isEqualTo(XmlSuite.ParallelMode.CLASSES);
+        assertThat(ParallelExecutionListener.parallelMode("none")).isEqualTo(XmlSuite.ParallelMode.NONE);
+    }
+    
+    @Test(description = "A misspelt parallel mode fails instead of silently running serially")
+    public void testUnknownModeIsRejected() {
+        assertThatThrownBy(() -> ParallelExecutionListener.parallelMode("method"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("parallel.mode 'method'");
+    }
+}
@@ -0,0 +1,57 @@
+package com.bookstore.api.load;
+
+import com.bookstore.api.utils.SyntheticResponses;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import org.testng.annotations.Test;
+
+import java.net.ConnectException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LoadEngineTest {
+    
+    private static final Response OK = SyntheticResponses.of(200, "HTTP/1.1 200 OK", new Headers(),
+            "{}".getBytes(StandardCharsets.UTF_8), RestAssuredConfig.config());
+    
+    @Test(description = "Checked exceptions thrown by an operation are counted as errors with their latency")
+    public void testCheckedExceptionsAreRecorded() {
+        LoadReport report = LoadEngine.builder()
+                .profile(ArrivalProfile.constant(100, Duration.ofMillis(500)))
+                .operation("ok", 1, () -> OK)
+                .operation("refused", 1, () -> sneakyThrow(new ConnectException("Connection refused")))
+                .build()
+                .run();
+        
+        OperationStats ok = report.getOperation("ok");
+        OperationStats refused = report.getOperation("refused");
+        assertThat(ok.getRequests()).isEqualTo(25);
+        assertThat(ok.getErrors()).isZero();
+        assertThat(refused.getRequests()).isEqualTo(25);
+        assertThat(refused.getErrors()).isEqualTo(25);
+        assertThat(refused.getLatencyHistogram().getTotalCount()).isEqualTo(25);
+        assertThat(report.getTotalDropped()).isZero();
+    }
+    
+    @Test(description = "Responses with a 4xx or 5xx status are counted as errors")
+    public void testErrorStatusesAreRecorded() {
+        Response serverError = SyntheticResponses.of(503, "HTTP/1.1 503 Service Unavailable", new Headers(),
+                new byte[0], RestAssuredConfig.config());
+        LoadReport report = LoadEngine.builder()
+                .profile(ArrivalProfile.constant(100, Duration.ofMillis(200)))
+                .operation("unavailable", 1, () -> serverError)
+                .build()
+                .run();
+        
+        assertThat(report.getTotalRequests()).isEqualTo(20);
+        assertThat(report.getTotalErrors()).isEqualTo(20);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static <E extends Throwable> Response sneakyThrow(Throwable throwable) throws E {
+        throw (E) throwable;
+    }
+}
@@ -0,0 +1,164 @@
+package com.bookstore.api.logging;
+
+import com.bookstore.api.config.ConfigurationManager;
+import com.bookstore.api.listeners.ExchangeLogListener;
+import com.bookstore.api.server.FakeRestApiServer;
+import io.restassured.http.ContentType;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExchangeLogBufferTest {
+    
+    private FakeRestApiServer server;
+    
+    @BeforeClass(alwaysRun = true)
+    public void startServer() {
+        server = FakeRestApiServer.builder().books(10).authors(10).start();
+    }
+    
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        server.stop();
+    }
+    
+    @Test(description = "A full buffer drops the oldest exchanges and counts them")
+    public void testRingDropsOldest() {
+        ExchangeLogBuffer buffer = ExchangeLogBuffer.begin("ring", 3);
+        try {
+            for (int i = 1; i <= 5; i++) {
+                buffer.add(exchange("/Books/" + i));
+            }
+            
+            assertThat(uris(buffer)).containsExactly("/Books/3", "/Books/4", "/Books/5");
+            assertThat(buffer.getDroppedCount()).isEqualTo(2);
+        } finally {
+            ExchangeLogBuffer.end();
+        }
+    }
+    
+    @Test(description = "Request and response bodies are cut to log.body.max.chars, keeping their full length")
+    public void testBodiesAreTruncated() {
+        BufferedLoggingFilter filter = new BufferedLoggingFilter(LogMode.FAILURE, true, true, 10);
+        String body = "{\"id\":0,\"title\":\"A title longer than ten characters\"}";
+        ExchangeLogBuffer buffer = ExchangeLogBuffer.begin("bodies", 5);
+        try {
+            given()
+                    .baseUri(server.getBaseUri())
+                    .filter(filter)
+                    .contentType(ContentType.JSON)
+                    .body(body)
+                    .post("/api/v1/Books");
+            
+            LoggedExchange exchange = buffer.getExchanges().get(0);
+            assertThat(exchange.getRequestBody()).isEqualTo(body.substring(0, 10));
+            assertThat(exchange.getRequestBodyLength()).isEqualTo(body.length());
+            assertThat(exchange.getResponseBody()).hasSize(10);
+            assertThat(exchange.getResponseBodyLength()).isGreaterThan(10);
+            
+            StringBuilder formatted = new StringBuilder();
+            exchange.format(formatted);
+            assertThat(formatted).contains("[truncated, " + body.length() + " chars in total]");
+        } finally {
+            ExchangeLogBuffer.end();
+        }
+    }
+    
+    @Test(description = "log.mode=failure writes only failed tests, always writes every test, off writes nothing")
+    public void testDumpModes() {
+        ExchangeLogListener listener = new ExchangeLogListener();
+        ITestResult result = Reporter.getCurrentTestResult();
+        String previousMode = System.getProperty("log.mode");
+        try {
+            assertThat(written(listener, result, "failure", true)).isZero();
+            assertThat(written(listener, result, "failure", false)).isEqualTo(1);
+            assertThat(written(listener, result, "always", true)).isEqualTo(1);
+            assertThat(written(listener, result, "off", false)).isZero();
+        } finally {
+            if (previousMode == null) {
+                System.clearProperty("log.mode");
+            } else {
+                System.setProperty("log.mode", previousMode);
+            }
+            ConfigurationManager.reload();
+        }
+    }
+    
+    @Test(description = "Tests running in parallel each capture only their own exchanges")
+    public void testParallelTestsKeepSeparateBuffers() throws Exception {
+        BufferedLoggingFilter filter = new BufferedLoggingFilter(LogMode.FAILURE, false, false, 100);
+        int threads = 4;
+        CyclicBarrier start = new CyclicBarrier(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<ExchangeLogBuffer>> buffers = new ArrayList<>();
+            for (int t = 1; t <= threads; t++) {
+                int book = t;
+                buffers.add(executor.submit(() -> {
+                    ExchangeLogBuffer.begin("test" + book, 50);
+                    start.await();
+                    for (int i = 0; i < 10; i++) {
+                        given().baseUri(server.getBaseUri()).filter(filter).get("/api/v1/Books/" + book);
+                    }
+                    return ExchangeLogBuffer.end();
+                }));
+            }
+            
+            for (int t = 1; t <= threads; t++) {
+                int book = t;
+                ExchangeLogBuffer buffer = buffers.get(t - 1).get(30, TimeUnit.SECONDS);
+                assertThat(buffer.getTestName()).isEqualTo("test" + book);
+                assertThat(uris(buffer)).hasSize(10).allMatch(uri -> uri.endsWith("/api/v1/Books/" + book));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    /**
+     * Runs one test through the listener under {@code log.mode=mode}.
+     *
+     * @return exchanges written to the log
+     */
+    private static long written(ExchangeLogListener listener, ITestResult result, String mode, boolean passed) {
+        System.setProperty("log.mode", mode);
+        ConfigurationManager.reload();
+        ExchangeLogWriter writer = ExchangeLogWriter.getInstance();
+        long before = writer.getWrittenCount();
+        
+        listener.onTestStart(result);
+        ExchangeLogBuffer buffer = ExchangeLogBuffer.current();
+        if (buffer != null) {
+            buffer.add(exchange("/Books/1"));
+        }
+        if (passed) {
+            listener.onTestSuccess(result);
+        } else {
+            listener.onTestFailure(result);
+        }
+        writer.flush();
+        return writer.getWrittenCount() - before;
+    }
+    
+    private static List<String> uris(ExchangeLogBuffer buffer) {
+        return buffer.getExchanges().stream().map(LoggedExchange::getUri).collect(Collectors.toList());
+    }
+    
+    private static LoggedExchange exchange(String uri) {
+        return new LoggedExchange("GET", uri, null, null, 0, "HTTP/1.1 200 OK", null, null, 0, 1, null);
+    }
+}
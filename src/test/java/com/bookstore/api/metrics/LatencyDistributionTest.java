@@ -0,0 +1,83 @@
+package com.bookstore.api.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class LatencyDistributionTest {
+    
+    @Test(description = "Identical samples are neither slower nor faster")
+    public void testIdenticalDistributions() {
+        Histogram baseline = uniform(1000, 100);
+        Histogram current = uniform(1000, 100);
+        
+        assertThat(LatencyDistribution.ksSlowerStatistic(baseline, current)).isZero();
+        assertThat(LatencyDistribution.ksOneSidedPValue(0, 100, 100)).isEqualTo(1);
+        assertThat(LatencyDistribution.cliffsDelta(baseline, current)).isZero();
+    }
+    
+    @Test(description = "A run whose every sample is slower has D+ = 1 and Cliff's delta = 1")
+    public void testCompletelySlower() {
+        Histogram baseline = uniform(1000, 100);
+        Histogram current = uniform(2000, 100);
+        
+        double dPlus = LatencyDistribution.ksSlowerStatistic(baseline, current);
+        assertThat(dPlus).isEqualTo(1);
+        assertThat(LatencyDistribution.ksOneSidedPValue(dPlus, 100, 100)).isCloseTo(Math.exp(-100), within(1e-50));
+        assertThat(LatencyDistribution.cliffsDelta(baseline, current)).isEqualTo(1);
+    }
+    
+    @Test(description = "A faster run is not flagged by the one-sided test and has a negative delta")
+    public void testFasterIsNotSlower() {
+        Histogram baseline = uniform(2000, 100);
+        Histogram current = uniform(1000, 100);
+        
+        assertThat(LatencyDistribution.ksSlowerStatistic(baseline, current)).isZero();
+        assertThat(LatencyDistribution.cliffsDelta(baseline, current)).isEqualTo(-1);
+    }
+    
+    @Test(description = "Half-overlapping uniform samples give the analytic D+ and Cliff's delta")
+    public void testPartialOverlap() {
+        // 1000..1099 against 1050..1149: F_baseline - F_current peaks at 0.5 at 1099;
+        // of the 10,000 pairs 8,725 are slower and 1,225 faster, delta = 0.75
+        Histogram baseline = uniform(1000, 100);
+        Histogram current = uniform(1050, 100);
+        
+        double dPlus = LatencyDistribution.ksSlowerStatistic(baseline, current);
+        assertThat(dPlus).isCloseTo(0.5, within(1e-9));
+        assertThat(LatencyDistribution.ksOneSidedPValue(dPlus, 100, 100)).isCloseTo(Math.exp(-25), within(1e-15));
+        assertThat(LatencyDistribution.cliffsDelta(baseline, current)).isCloseTo(0.75, within(1e-9));
+    }
+    
+    @Test(description = "The KS p-value follows exp(-2 nm/(n+m) D^2) and shrinks with sample size")
+    public void testPValueScalesWithSampleSize() {
+        assertThat(LatencyDistribution.ksOneSidedPValue(0.05, 1000, 1000)).isCloseTo(Math.exp(-2.5), within(1e-12));
+        assertThat(LatencyDistribution.ksOneSidedPValue(0.05, 100, 100)).isCloseTo(Math.exp(-0.25), within(1e-12));
+        assertThat(LatencyDistribution.ksOneSidedPValue(0.5, 0, 100)).isEqualTo(1);
+    }
+    
+    @Test(description = "A slower tail with an unchanged median is caught by the KS statistic")
+    public void testSlowerTail() {
+        Histogram baseline = new Histogram(3);
+        Histogram current = new Histogram(3);
+        for (int i = 0; i < 100; i++) {
+            baseline.recordValue(1000 + i);
+            // Same lower 80%, the slowest 20% take three times as long
+            current.recordValue(i < 80 ? 1000 + i : 3000 + i);
+        }
+        
+        assertThat(current.getValueAtPercentile(50)).isEqualTo(baseline.getValueAtPercentile(50));
+        assertThat(LatencyDistribution.ksSlowerStatistic(baseline, current)).isCloseTo(0.2, within(1e-9));
+        assertThat(LatencyDistribution.cliffsDelta(baseline, current)).isCloseTo(0.04, within(1e-9));
+    }
+    
+    private static Histogram uniform(long from, int count) {
+        Histogram histogram = new Histogram(3);
+        for (int i = 0; i < count; i++) {
+            histogram.recordValue(from + i);
+        }
+        return histogram;
+    }
+}
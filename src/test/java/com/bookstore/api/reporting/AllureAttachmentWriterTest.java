@@ -0,0 +1,34 @@
+package com.bookstore.api.reporting;
+
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AllureAttachmentWriterTest {
+    
+    private static final String MARKER = "\n... [truncated]";
+    
+    @Test(description = "Truncation backs off to a character boundary instead of splitting a UTF-8 sequence")
+    public void testTruncationKeepsCharactersWhole() {
+        // 'é' is 2 bytes and '€' 3 bytes in UTF-8
+        byte[] bytes = "abé€xyz".getBytes(StandardCharsets.UTF_8);
+        
+        assertThat(truncate(bytes, 3)).isEqualTo("ab" + MARKER);
+        assertThat(truncate(bytes, 4)).isEqualTo("abé" + MARKER);
+        assertThat(truncate(bytes, 5)).isEqualTo("abé" + MARKER);
+        assertThat(truncate(bytes, 6)).isEqualTo("abé" + MARKER);
+        assertThat(truncate(bytes, 7)).isEqualTo("abé€" + MARKER);
+    }
+    
+    @Test(description = "ASCII content is cut at exactly maxBytes")
+    public void testAsciiIsCutAtMaxBytes() {
+        assertThat(truncate("abcdef".getBytes(StandardCharsets.UTF_8), 4)).isEqualTo("abcd" + MARKER);
+        assertThat(truncate("€".getBytes(StandardCharsets.UTF_8), 1)).isEqualTo(MARKER);
+    }
+    
+    private static String truncate(byte[] bytes, int maxBytes) {
+        return new String(AllureAttachmentWriter.truncate(bytes, maxBytes), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,83 @@
+package com.bookstore.api.reporting;
+
+import com.aventstack.extentreports.Status;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExtentReportWriterTest {
+    
+    @Test(description = "After testsPerReport tests a new report part is started")
+    public void testReportIsSplitIntoParts() throws IOException {
+        Path dir = Files.createTempDirectory("extent");
+        ExtentReportWriter writer = new ExtentReportWriter(dir.toString(), 100, 2);
+        
+        for (int i = 1; i <= 5; i++) {
+            long id = writer.testStarted("test" + i, "");
+            writer.testFinished(id, "test" + i, Status.PASS, null);
+        }
+        writer.flush();
+        
+        List<Path> parts = reports(dir);
+        assertThat(parts).hasSize(3);
+        assertThat(parts.get(0).getFileName().toString()).doesNotContain("_part");
+        assertThat(read(parts.get(0))).contains("test1 PASSED", "test2 PASSED").doesNotContain("test3");
+        assertThat(parts.get(1).getFileName().toString()).endsWith("_part2.html");
+        assertThat(read(parts.get(1))).contains("test3 PASSED", "test4 PASSED");
+        assertThat(read(parts.get(2))).contains("test5 PASSED");
+    }
+    
+    @Test(description = "A test still running when the report rotates gets its result written to its own part")
+    public void testResultAfterRotationGoesToOwnPart() throws IOException {
+        Path dir = Files.createTempDirectory("extent");
+        ExtentReportWriter writer = new ExtentReportWriter(dir.toString(), 100, 1);
+        
+        long slow = writer.testStarted("slowTest", "");
+        long next = writer.testStarted("nextTest", "");
+        writer.testFinished(next, "nextTest", Status.PASS, null);
+        writer.testFinished(slow, "slowTest", Status.FAIL, new AssertionError("boom"));
+        writer.flush();
+        
+        List<Path> parts = reports(dir);
+        assertThat(parts).hasSize(2);
+        assertThat(read(parts.get(0))).contains("slowTest FAILED", "boom").doesNotContain("nextTest");
+        assertThat(read(parts.get(1))).contains("nextTest PASSED").doesNotContain("slowTest");
+    }
+    
+    @Test(description = "The report is written every flushEveryTests finished tests without an explicit flush")
+    public void testPeriodicFlush() throws Exception {
+        Path dir = Files.createTempDirectory("extent");
+        ExtentReportWriter writer = new ExtentReportWriter(dir.toString(), 2, 100);
+        
+        for (int i = 1; i <= 2; i++) {
+            long id = writer.testStarted("periodic" + i, "");
+            writer.testFinished(id, "periodic" + i, i == 2 ? Status.SKIP : Status.PASS, null);
+        }
+        
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline && !(reports(dir).size() == 1 && read(reports(dir).get(0)).contains("periodic2"))) {
+            Thread.sleep(20);
+        }
+        assertThat(reports(dir)).hasSize(1);
+        assertThat(read(reports(dir).get(0))).contains("periodic1 PASSED", "periodic2 SKIPPED");
+    }
+    
+    private static List<Path> reports(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            // ExtentReport_<timestamp>.html sorts before ExtentReport_<timestamp>_partN.html
+            return files.filter(file -> file.toString().endsWith(".html")).sorted().collect(Collectors.toList());
+        }
+    }
+    
+    private static String read(Path file) throws IOException {
+        return Files.readString(file);
+    }
+}
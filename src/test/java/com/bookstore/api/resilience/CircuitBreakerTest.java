@@ -0,0 +1,122 @@
+package com.bookstore.api.resilience;
+
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CircuitBreakerTest {
+    
+    private static final long OPEN_MS = 1000;
+    
+    private final AtomicLong now = new AtomicLong();
+    
+    @Test(description = "The breaker stays closed until minCalls are recorded, then opens at the threshold")
+    public void testOpensAtFailureRateAfterMinCalls() {
+        CircuitBreaker breaker = breaker();
+        
+        for (int i = 0; i < 4; i++) {
+            assertThat(breaker.tryAcquire()).isTrue();
+            breaker.onFailure();
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        
+        breaker.tryAcquire();
+        breaker.onFailure();
+        
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.getTrips()).isEqualTo(1);
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.getRejectedCount()).isEqualTo(1);
+    }
+    
+    @Test(description = "Only the last windowSize outcomes count towards the failure rate")
+    public void testSlidingWindow() {
+        CircuitBreaker breaker = breaker();
+        
+        // 4 failures followed by 10 successes: the failures have left the window
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure();
+        }
+        for (int i = 0; i < 10; i++) {
+            breaker.onSuccess();
+        }
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure();
+        }
+        
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        
+        breaker.onFailure();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+    
+    @Test(description = "After openMs a single trial call is let through; success closes the breaker")
+    public void testHalfOpenTrialSuccessCloses() {
+        CircuitBreaker breaker = tripped();
+        
+        now.addAndGet(OPEN_MS * 1_000_000 - 1);
+        assertThat(breaker.tryAcquire()).isFalse();
+        
+        now.incrementAndGet();
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).as("second call while the trial is in flight").isFalse();
+        
+        breaker.onSuccess();
+        
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onFailure();
+        assertThat(breaker.getState()).as("window was emptied on close").isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+    
+    @Test(description = "A failed trial call opens the breaker for another openMs")
+    public void testHalfOpenTrialFailureReopens() {
+        CircuitBreaker breaker = tripped();
+        now.addAndGet(OPEN_MS * 1_000_000);
+        assertThat(breaker.tryAcquire()).isTrue();
+        
+        breaker.onFailure();
+        
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.getTrips()).isEqualTo(2);
+        now.addAndGet(OPEN_MS * 1_000_000 - 1);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+    
+    @Test(description = "A trial call that ends without an outcome frees the trial slot instead of blocking the endpoint")
+    public void testAbandonedTrialFreesSlot() {
+        CircuitBreaker breaker = tripped();
+        now.addAndGet(OPEN_MS * 1_000_000);
+        assertThat(breaker.tryAcquire()).isTrue();
+        
+        breaker.onAbandoned();
+        
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).as("next call gets the trial").isTrue();
+        breaker.onSuccess();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        
+        breaker.onAbandoned();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.getTrips()).isEqualTo(1);
+    }
+    
+    /**
+     * Window of 10 calls, judged from 5 calls on, opening at 50% failures.
+     */
+    private CircuitBreaker breaker() {
+        return new CircuitBreaker("GET /Books", 10, 5, 0.5, OPEN_MS, now::get);
+    }
+    
+    private CircuitBreaker tripped() {
+        CircuitBreaker breaker = breaker();
+        for (int i = 0; i < 5; i++) {
+            breaker.onFailure();
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        return breaker;
+    }
+}
@@ -0,0 +1,130 @@
+package com.bookstore.api.resilience;
+
+import com.sun.net.httpserver.HttpServer;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HedgingExecutorTest {
+    
+    private static final long SLOW_MS = 500;
+    
+    private final AtomicBoolean slowNext = new AtomicBoolean();
+    private volatile CountDownLatch release;
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    
+    @BeforeClass(alwaysRun = true)
+    public void startServer() throws IOException {
+        // The first request after slowNext is set waits for release (at most SLOW_MS); the others answer at once
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/items", exchange -> {
+            String body = "fast";
+            try {
+                if (slowNext.getAndSet(false)) {
+                    release.await(SLOW_MS, TimeUnit.MILLISECONDS);
+                    body = "slow";
+                }
+                byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, bytes.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(bytes);
+                }
+            } catch (InterruptedException | IOException ignored) {
+                // the client has gone away
+            } finally {
+                exchange.close();
+            }
+        });
+        serverThreads = Executors.newCachedThreadPool();
+        server.setExecutor(serverThreads);
+        server.start();
+    }
+    
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+    
+    @Test(description = "A slow first attempt is hedged, the hedge answers and the first attempt is cancelled")
+    public void testHedgeWinsAndPrimaryIsCancelled() throws Exception {
+        HedgingExecutor executor = new HedgingExecutor(true, 95, 50, 3, 100, 100);
+        warmUp(executor);
+        
+        armSlowResponse();
+        try {
+            HttpResponse<byte[]> response = executor.send(get());
+            
+            assertThat(new String(response.body(), StandardCharsets.UTF_8)).isEqualTo("fast");
+            assertThat(executor.getHedgedCount()).isEqualTo(1);
+            assertThat(executor.getHedgeWonCount()).isEqualTo(1);
+            assertThat(executor.getCancelledCount()).isEqualTo(1);
+            assertThat(executor.getCappedCount()).isZero();
+        } finally {
+            release.countDown();
+        }
+    }
+    
+    @Test(description = "Once hedge.max.percent of requests were hedged, slow requests wait for the first attempt")
+    public void testHedgesAreCapped() throws Exception {
+        HedgingExecutor executor = new HedgingExecutor(true, 95, 50, 3, 100, 0);
+        warmUp(executor);
+        
+        armSlowResponse();
+        HttpResponse<byte[]> response = executor.send(get());
+        
+        assertThat(new String(response.body(), StandardCharsets.UTF_8)).isEqualTo("slow");
+        assertThat(executor.getCappedCount()).isEqualTo(1);
+        assertThat(executor.getHedgedCount()).isZero();
+        assertThat(executor.getCancelledCount()).isZero();
+    }
+    
+    @Test(description = "Requests are not hedged until hedge.min.samples latencies are known")
+    public void testNoHedgeBeforeMinSamples() {
+        HedgingExecutor executor = new HedgingExecutor(true, 95, 50, 3, 100, 100);
+        
+        armSlowResponse();
+        HttpResponse<byte[]> response = executor.send(get());
+        
+        assertThat(new String(response.body(), StandardCharsets.UTF_8)).isEqualTo("slow");
+        assertThat(executor.getHedgedCount()).isZero();
+        assertThat(executor.getCappedCount()).isZero();
+        assertThat(executor.getRequestCount()).isEqualTo(1);
+    }
+    
+    private void armSlowResponse() {
+        release = new CountDownLatch(1);
+        slowNext.set(true);
+    }
+    
+    private void warmUp(HedgingExecutor executor) throws InterruptedException {
+        for (int i = 0; i < 5; i++) {
+            assertThat(executor.send(get()).statusCode()).isEqualTo(200);
+        }
+        // Latencies are recorded on the client's thread, after send() may have returned
+        Thread.sleep(100);
+    }
+    
+    private HttpRequest get() {
+        return HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/items"))
+                .GET()
+                .build();
+    }
+}
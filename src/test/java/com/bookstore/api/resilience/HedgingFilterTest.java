@@ -0,0 +1,74 @@
+package com.bookstore.api.resilience;
+
+import com.bookstore.api.metrics.LatencyMetrics;
+import com.bookstore.api.metrics.LatencySeries;
+import com.bookstore.api.metrics.MetricsFilter;
+import com.bookstore.api.server.FakeRestApiServer;
+import io.restassured.response.Response;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HedgingFilterTest {
+    
+    private FakeRestApiServer server;
+    
+    @BeforeClass(alwaysRun = true)
+    public void startServer() {
+        server = FakeRestApiServer.builder().books(10).authors(10).start();
+    }
+    
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        server.stop();
+    }
+    
+    @Test(description = "Hedged GETs pass through the filters before the hedging filter and are timed once")
+    public void testHedgedGetGoesThroughFilterChain() {
+        List<String> seen = new ArrayList<>();
+        long before = count("/api/v1/Books/{id}");
+        
+        Response response = given()
+                .baseUri(server.getBaseUri())
+                .filter(new MetricsFilter())
+                .filter((requestSpec, responseSpec, ctx) -> {
+                    seen.add(requestSpec.getMethod() + " " + requestSpec.getURI());
+                    return ctx.next(requestSpec, responseSpec);
+                })
+                .filter(new HedgingFilter())
+                .get("/api/v1/Books/4");
+        
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(response.jsonPath().getInt("id")).isEqualTo(4);
+        assertThat(seen).containsExactly("GET " + server.getBaseUri() + "/api/v1/Books/4");
+        assertThat(count("/api/v1/Books/{id}") - before).isEqualTo(1);
+    }
+    
+    @Test(description = "Writes are not hedged")
+    public void testWritesPassThrough() {
+        long requestsBefore = HedgingExecutor.getInstance().getRequestCount();
+        
+        int status = given()
+                .baseUri(server.getBaseUri())
+                .filter(new HedgingFilter())
+                .delete("/api/v1/Books/5")
+                .getStatusCode();
+        
+        assertThat(status).isEqualTo(200);
+        assertThat(HedgingExecutor.getInstance().getRequestCount()).isEqualTo(requestsBefore);
+    }
+    
+    private static long count(String path) {
+        return LatencyMetrics.getInstance().getSeries().stream()
+                .filter(series -> series.getMethod().equals("GET") && series.getPath().equals(path)
+                        && series.getStatus().equals("2xx"))
+                .mapToLong(LatencySeries::getCount)
+                .sum();
+    }
+}
@@ -0,0 +1,58 @@
+package com.bookstore.api.resilience;
+
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class RetryBudgetTest {
+    
+    @Test(description = "A new budget allows a burst of retries, then refuses")
+    public void testBurst() {
+        RetryBudget budget = new RetryBudget(0.1, 3);
+        
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isFalse();
+        assertThat(budget.getExhaustedCount()).isEqualTo(1);
+    }
+    
+    @Test(description = "Each request deposits ratio of a token, so retries are capped at ratio of the traffic")
+    public void testRetriesAreCappedAtRatio() {
+        RetryBudget budget = new RetryBudget(0.1, 3);
+        while (budget.tryAcquire()) {
+            // drain the initial burst
+        }
+        
+        int retries = 0;
+        for (int i = 0; i < 1000; i++) {
+            budget.onRequest();
+            if (budget.tryAcquire()) {
+                retries++;
+            }
+        }
+        
+        assertThat(retries).isBetween(99, 100);
+    }
+    
+    @Test(description = "Deposits never grow the budget beyond the burst size")
+    public void testTokensCappedAtBurst() {
+        RetryBudget budget = new RetryBudget(0.5, 2);
+        
+        for (int i = 0; i < 100; i++) {
+            budget.onRequest();
+        }
+        
+        assertThat(budget.getTokens()).isCloseTo(2, within(1e-9));
+    }
+    
+    @Test(description = "A zero ratio allows only the burst")
+    public void testZeroRatio() {
+        RetryBudget budget = new RetryBudget(0, 1);
+        
+        assertThat(budget.tryAcquire()).isTrue();
+        budget.onRequest();
+        assertThat(budget.tryAcquire()).isFalse();
+    }
+}
@@ -1,19 +1,29 @@
 package com.bookstore.api.tests.authors;
 
+import com.bookstore.api.clients.BulkItemResult;
+import com.bookstore.api.clients.BulkResult;
+import com.bookstore.api.clients.StreamingResponse;
 import com.bookstore.api.data.TestDataFactory;
 import com.bookstore.api.models.Author;
 import com.bookstore.api.tests.base.BaseTest;
 import com.bookstore.api.utils.ApiAssertions;
+import com.bookstore.api.utils.SchemaValidationResult;
 import io.qameta.allure.*;
 import io.restassured.response.Response;
 import org.testng.annotations.Test;
 
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @Epic("Bookstore API")
 @Feature("Authors Management")
 public class AuthorsApiTest extends BaseTest {
     
+    private static final String AUTHOR_SCHEMA = "schemas/author-schema.json";
+    
     @Test(description = "Verify successful retrieval of all authors")
     @Story("Get All Authors")
     @Severity(SeverityLevel.CRITICAL)
@@ -31,6 +41,34 @@ public class AuthorsApiTest extends BaseTest {
         log.info("Retrieved {} authors", authors.length);
     }
     
+    @Test(description = "Verify all authors can be consumed as a stream")
+    @Story("Get All Authors")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Test verifies that GET /Authors can be parsed element by element in a single pass")
+    public void testGetAllAuthors_Streaming() {
+        StreamingResponse<Author> response = authorsApi.streamAllAuthors();
+        
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        
+        long count = ApiAssertions.verifyEachElement(response, "references a book",
+                author -> author.getIdBook() != null);
+        
+        log.info("Streamed {} authors", count);
+    }
+    
+    @Test(description = "Verify all authors match the author schema")
+    @Story("Get All Authors")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Test verifies that every element returned by GET /Authors matches author-schema.json")
+    public void testGetAllAuthors_MatchesSchema() {
+        Response response = authorsApi.getAllAuthors();
+        
+        ApiAssertions.verifyStatusCode(response, 200);
+        SchemaValidationResult result = ApiAssertions.verifyMatchesSchema(response, AUTHOR_SCHEMA, true);
+        
+        log.info("Validated {} authors against schema in {} ms", result.getElements(), result.getValidationTimeMs());
+    }
+    
     @Test(description = "Verify successful retrieval of a specific author by ID")
     @Story("Get Author By ID")
     @Severity(SeverityLevel.CRITICAL)
@@ -257,4 +295,30 @@ public class AuthorsApiTest extends BaseTest {
         
         log.info("Retrieved {} authors for book ID: {}", authors.length, bookId);
     }
+    
+    @Test(description = "Verify bulk create, update and delete of authors")
+    @Story("Create Author")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Test verifies that authors can be created, updated and deleted in bulk with per-item results")
+    public void testAuthors_BulkLifecycle() {
+        List<Author> authors = Stream.generate(TestDataFactory::createRandomAuthor)
+                .limit(50)
+                .collect(Collectors.toList());
+        
+        BulkResult<Author> created = authorsApi.createAuthors(authors);
+        assertThat(created.isAllSucceeded()).as("all creates succeeded: %s", created.getFailures()).isTrue();
+        
+        authors.forEach(author -> author.setLastName(author.getLastName() + " Jr."));
+        BulkResult<Author> updated = authorsApi.updateAuthors(authors);
+        assertThat(updated.isAllSucceeded()).as("all updates succeeded: %s", updated.getFailures()).isTrue();
+        assertThat(updated.getItems())
+                .extracting(item -> item.getResponse().as(Author.class).getLastName())
+                .allMatch(lastName -> lastName.endsWith(" Jr."));
+        
+        BulkResult<Integer> deleted = authorsApi.deleteAuthors(authors.stream().map(Author::getId));
+        assertThat(deleted.getSucceeded()).isEqualTo(authors.size());
+        assertThat(deleted.getItems()).extracting(BulkItemResult::getStatusCode).containsOnly(200);
+        
+        log.info("Bulk created: {}; updated: {}; deleted: {}", created, updated, deleted);
+    }
 }
@@ -1,12 +1,20 @@
 package com.bookstore.api.tests.base;
 
+import com.bookstore.api.clients.AsyncAuthorsApiClient;
+import com.bookstore.api.clients.AsyncBooksApiClient;
 import com.bookstore.api.clients.AuthorsApiClient;
 import com.bookstore.api.clients.BooksApiClient;
+import com.bookstore.api.clients.ResourceTracker;
 import com.bookstore.api.config.ConfigurationManager;
+import com.bookstore.api.server.FakeRestApiServer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.BeforeSuite;
 
 import java.lang.reflect.Method;
 
@@ -15,20 +23,56 @@ public class BaseTest {
     protected static final Logger log = LoggerFactory.getLogger(BaseTest.class);
     protected BooksApiClient booksApi;
     protected AuthorsApiClient authorsApi;
+    protected AsyncBooksApiClient asyncBooksApi;
+    protected AsyncAuthorsApiClient asyncAuthorsApi;
+    
+    @BeforeSuite(alwaysRun = true)
+    public void startFakeServer() {
+        if (ConfigurationManager.getConfig().fakeServerEnabled()) {
+            FakeRestApiServer server = FakeRestApiServer.startShared();
+            System.setProperty("base.uri", server.getBaseUri());
+            // base.uri is read per request, so it follows the reload; see ConfigurationManager.reload()
+            ConfigurationManager.reload();
+        }
+    }
+    
+    @AfterSuite(alwaysRun = true)
+    public void tearDownSuite() {
+        // Cleanup runs first: it still needs the fake server
+        ResourceTracker.getInstance().cleanup();
+        FakeRestApiServer.stopShared();
+    }
     
     @BeforeClass(alwaysRun = true)
     public void setupClass() {
         log.info("Setting up test class: {}", this.getClass().getSimpleName());
+        ResourceTracker.setOwner(getClass().getName());
 
         booksApi = new BooksApiClient();
         authorsApi = new AuthorsApiClient();
+        asyncBooksApi = new AsyncBooksApiClient();
+        asyncAuthorsApi = new AsyncAuthorsApiClient();
 
         log.info("Test environment: {}", ConfigurationManager.getConfig().environment());
         log.info("Base URL: {}", ConfigurationManager.getConfig().baseUri());
     }
     
+    @AfterClass(alwaysRun = true)
+    public void cleanupClass() {
+        if ("class".equalsIgnoreCase(ConfigurationManager.getConfig().cleanupScope())) {
+            // Only this class's records: other classes may still be running in parallel
+            ResourceTracker.getInstance().cleanup(getClass().getName());
+        }
+    }
+    
     @BeforeMethod(alwaysRun = true)
     public void setupMethod(Method method) {
         log.info("Starting test: {}", method.getName());
+        ResourceTracker.setOwner(getClass().getName());
+    }
+    
+    @AfterMethod(alwaysRun = true)
+    public void tearDownMethod() {
+        ResourceTracker.clearOwner();
     }
 }
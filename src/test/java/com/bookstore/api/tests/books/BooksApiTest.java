@@ -1,19 +1,33 @@
 package com.bookstore.api.tests.books;
 
+import com.bookstore.api.clients.AsyncResponse;
+import com.bookstore.api.clients.BulkResult;
+import com.bookstore.api.clients.StreamingResponse;
 import com.bookstore.api.data.TestDataFactory;
 import com.bookstore.api.models.Book;
+import com.bookstore.api.slo.ResponseTimeSlo;
+import com.bookstore.api.slo.SloResult;
 import com.bookstore.api.tests.base.BaseTest;
 import com.bookstore.api.utils.ApiAssertions;
+import com.bookstore.api.utils.SchemaValidationResult;
 import io.qameta.allure.*;
 import io.restassured.response.Response;
 import org.testng.annotations.Test;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @Epic("Bookstore API")
 @Feature("Books Management")
 public class BooksApiTest extends BaseTest {
     
+    private static final String BOOK_SCHEMA = "schemas/book-schema.json";
+    
     @Test(description = "Verify successful retrieval of all books")
     @Story("Get All Books")
     @Severity(SeverityLevel.CRITICAL)
@@ -31,6 +45,35 @@ public class BooksApiTest extends BaseTest {
         log.info("Retrieved {} books", books.length);
     }
     
+    @Test(description = "Verify all books can be consumed as a stream")
+    @Story("Get All Books")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Test verifies that GET /Books can be parsed element by element in a single pass")
+    public void testGetAllBooks_Streaming() {
+        StreamingResponse<Book> response = booksApi.streamAllBooks();
+        
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(response.getContentType()).contains("application/json");
+        
+        long count = ApiAssertions.verifyEachElement(response, "has an ID and a title",
+                book -> book.getId() != null && book.getTitle() != null);
+        
+        log.info("Streamed {} books", count);
+    }
+    
+    @Test(description = "Verify all books match the book schema")
+    @Story("Get All Books")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Test verifies that every element returned by GET /Books matches book-schema.json")
+    public void testGetAllBooks_MatchesSchema() {
+        Response response = booksApi.getAllBooks();
+        
+        ApiAssertions.verifyStatusCode(response, 200);
+        SchemaValidationResult result = ApiAssertions.verifyMatchesSchema(response, BOOK_SCHEMA, true);
+        
+        log.info("Validated {} books against schema in {} ms", result.getElements(), result.getValidationTimeMs());
+    }
+    
     @Test(description = "Verify successful retrieval of a specific book by ID")
     @Story("Get Book By ID")
     @Severity(SeverityLevel.CRITICAL)
@@ -50,6 +93,17 @@ public class BooksApiTest extends BaseTest {
         log.info("Retrieved book: {}", book.getTitle());
     }
     
+    @Test(description = "Verify a single book matches the book schema")
+    @Story("Get Book By ID")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Test verifies that GET /Books/{id} returns a body matching book-schema.json")
+    public void testGetBookById_MatchesSchema() {
+        Response response = booksApi.getBookById(1);
+        
+        ApiAssertions.verifyStatusCode(response, 200);
+        ApiAssertions.verifyMatchesSchema(response, BOOK_SCHEMA);
+    }
+    
     @Test(description = "Verify 404 error when getting non-existent book")
     @Story("Get Book By ID")
     @Severity(SeverityLevel.NORMAL)
@@ -232,6 +286,22 @@ public class BooksApiTest extends BaseTest {
         log.info("Response time: {} ms", response.getTime());
     }
     
+    @Test(description = "Verify response time percentiles over repeated calls")
+    @Story("Performance")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Test warms up, calls GET /Books/{id} repeatedly from several workers and checks p95, p99, throughput and errors")
+    public void testGetBookById_ResponseTimeSlo() {
+        ResponseTimeSlo slo = ResponseTimeSlo.builder("getBookById")
+                .p95Ms(2000)
+                .p99Ms(5000)
+                .minThroughput(1)
+                .build();
+        
+        SloResult result = ApiAssertions.verifyResponseTimeSlo(slo, () -> booksApi.getBookById(1));
+        
+        log.info("getBookById p95: {} ms over {} samples", result.getLatencyMs(95), result.getSamples());
+    }
+    
     @Test(description = "Verify required headers are present in response")
     @Story("Headers Validation")
     @Severity(SeverityLevel.MINOR)
@@ -244,4 +314,47 @@ public class BooksApiTest extends BaseTest {
         
         log.info("Content-Type header: {}", response.getContentType());
     }
+    
+    @Test(description = "Verify concurrent retrieval of books with the async client")
+    @Story("Get Book By ID")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Test verifies that many GET /Books/{id} requests can be in flight from a single thread")
+    public void testGetBookById_AsyncFanOut() {
+        List<CompletableFuture<AsyncResponse>> futures = IntStream.rangeClosed(1, 20)
+                .mapToObj(asyncBooksApi::getBookById)
+                .collect(Collectors.toList());
+        
+        List<AsyncResponse> responses = CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> futures.stream().map(CompletableFuture::join).collect(Collectors.toList()))
+                .join();
+        
+        for (int i = 0; i < responses.size(); i++) {
+            AsyncResponse response = responses.get(i);
+            assertThat(response.getStatusCode()).isEqualTo(200);
+            assertThat(response.as(Book.class).getId()).isEqualTo(i + 1);
+        }
+        
+        log.info("Retrieved {} books concurrently", responses.size());
+    }
+    
+    @Test(description = "Verify bulk creation of books")
+    @Story("Create Book")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Test verifies that a stream of books is created with bounded concurrency and per-item results")
+    public void testCreateBooks_Bulk() {
+        int count = 100;
+        
+        BulkResult<Book> result = booksApi.createBooks(Stream.generate(TestDataFactory::createRandomBook).limit(count));
+        
+        assertThat(result.getRequested()).isEqualTo(count);
+        assertThat(result.getFailures()).isEmpty();
+        for (int i = 0; i < count; i++) {
+            assertThat(result.getItems().get(i).getIndex()).isEqualTo(i);
+            assertThat(result.getItems().get(i).getResponse().as(Book.class).getTitle())
+                    .isEqualTo(result.getItems().get(i).getItem().getTitle());
+        }
+        assertThat(result.getLatencyHistogram().getTotalCount()).isEqualTo(count);
+        
+        log.info("Bulk created books: {}", result);
+    }
 }
@@ -0,0 +1,54 @@
+package com.bookstore.api.tests.load;
+
+import com.bookstore.api.config.ApiConfig;
+import com.bookstore.api.config.ConfigurationManager;
+import com.bookstore.api.data.TestDataFactory;
+import com.bookstore.api.load.ArrivalProfile;
+import com.bookstore.api.load.LoadEngine;
+import com.bookstore.api.load.LoadReport;
+import com.bookstore.api.tests.base.BaseTest;
+import io.qameta.allure.*;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Open-model load scenarios. Not part of testng.xml; run explicitly with
+ * {@code mvn test -Dtest=BookstoreLoadTest -Dload.target.rps=50 -Dload.duration.seconds=60}.
+ */
+@Epic("Bookstore API")
+@Feature("Load")
+public class BookstoreLoadTest extends BaseTest {
+    
+    @Test(description = "Mixed read/write load at a constant arrival rate")
+    @Story("Constant Arrival Rate")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Ramps up to the target rate, holds it, and checks that no request failed or was dropped")
+    public void testMixedWorkload_ConstantRate() {
+        ApiConfig config = ConfigurationManager.getConfig();
+        double targetRps = config.loadTargetRps();
+        Duration hold = Duration.ofSeconds(config.loadDurationSeconds());
+        
+        LoadReport rampUp = LoadEngine.builder()
+                .profile(ArrivalProfile.ramp(1, targetRps, Duration.ofSeconds(10)))
+                .operation("getBookById", 4, () -> booksApi.getBookById(1))
+                .operation("getAllAuthors", 1, authorsApi::getAllAuthors)
+                .build()
+                .run();
+        
+        LoadReport steady = LoadEngine.builder()
+                .profile(ArrivalProfile.constant(targetRps, hold))
+                .operation("getBookById", 4, () -> booksApi.getBookById(1))
+                .operation("getAllAuthors", 1, authorsApi::getAllAuthors)
+                .operation("createBook", 1, () -> booksApi.createBook(TestDataFactory.createBookWithoutId()))
+                .build()
+                .run();
+        
+        assertThat(rampUp.getTotalErrors() + steady.getTotalErrors()).isZero();
+        assertThat(steady.getTotalDropped()).isZero();
+        
+        log.info("Steady state p99 for getBookById: {} ms", steady.getOperation("getBookById").getLatencyMs(99));
+    }
+}
@@ -0,0 +1,104 @@
+package com.bookstore.api.traffic;
+
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TrafficReplayerTest {
+    
+    private static final URI BOOKS = URI.create("http://localhost:1234/api/v1/Books");
+    
+    @Test(description = "Recorded responses replay in recorded order, then repeat")
+    public void testRoundTripInRecordedOrder() throws IOException {
+        Path store = Files.createTempDirectory("traffic");
+        String key = TrafficFilter.key("GET", BOOKS, null);
+        TrafficRecorder recorder = TrafficRecorder.forDirectory(store);
+        recorder.record(key, exchange(200, "[1]"));
+        recorder.record(key, exchange(200, "[1,2]"));
+        recorder.close();
+        
+        TrafficReplayer replayer = TrafficReplayer.forDirectory(store);
+        
+        assertThat(body(replayer.find(key, true))).isEqualTo("[1]");
+        assertThat(body(replayer.find(key, true))).isEqualTo("[1,2]");
+        assertThat(body(replayer.find(key, true))).isEqualTo("[1]");
+        assertThat(replayer.find(key, true).getHeaders()).containsExactly("Content-Type", "application/json");
+        assertThat(replayer.getHits()).isEqualTo(4);
+    }
+    
+    @Test(description = "Recording again into the same store replaces the earlier recording")
+    public void testNewRecordingReplacesOldOne() throws IOException {
+        Path store = Files.createTempDirectory("traffic");
+        String key = TrafficFilter.key("GET", BOOKS, null);
+        TrafficRecorder first = TrafficRecorder.forDirectory(store);
+        first.record(key, exchange(200, "[\"first run\"]"));
+        first.record(key, exchange(200, "[\"first run again\"]"));
+        first.close();
+        TrafficRecorder second = TrafficRecorder.forDirectory(store);
+        second.record(key, exchange(200, "[\"second run\"]"));
+        second.close();
+        
+        TrafficReplayer replayer = TrafficReplayer.forDirectory(store);
+        
+        assertThat(second).isNotSameAs(first);
+        assertThat(body(replayer.find(key, true))).isEqualTo("[\"second run\"]");
+        assertThat(body(replayer.find(key, true))).isEqualTo("[\"second run\"]");
+    }
+    
+    @Test(description = "Keys ignore the host and tell request bodies apart")
+    public void testKeys() {
+        byte[] body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+        
+        assertThat(TrafficFilter.key("POST", BOOKS, body))
+                .isEqualTo(TrafficFilter.key("POST", URI.create("http://other:80/api/v1/Books"), body))
+                .isNotEqualTo(TrafficFilter.key("POST", BOOKS, "{\"id\":2}".getBytes(StandardCharsets.UTF_8)))
+                .startsWith("POST /api/v1/Books ");
+        assertThat(TrafficFilter.key("GET", URI.create("http://h/api/v1/Books?page=2"), null)).isEqualTo("GET /api/v1/Books?page=2 -");
+    }
+    
+    @Test(description = "Another body's response is only served outside strict mode, and counted")
+    public void testFallbackAndStrictMiss() throws IOException {
+        Path store = Files.createTempDirectory("traffic");
+        byte[] recordedBody = "{\"title\":\"a\"}".getBytes(StandardCharsets.UTF_8);
+        TrafficRecorder recorder = TrafficRecorder.forDirectory(store);
+        recorder.record(TrafficFilter.key("POST", BOOKS, recordedBody), exchange(200, "{\"title\":\"a\"}"));
+        recorder.close();
+        TrafficReplayer replayer = TrafficReplayer.forDirectory(store);
+        String otherKey = TrafficFilter.key("POST", BOOKS, "{\"title\":\"b\"}".getBytes(StandardCharsets.UTF_8));
+        
+        assertThat(body(replayer.find(otherKey, false))).isEqualTo("{\"title\":\"a\"}");
+        assertThat(replayer.getFallbackHits()).isEqualTo(1);
+        
+        assertThat(replayer.find(otherKey, true)).isNull();
+        assertThatThrownBy(() -> replayer.require(otherKey, true))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(otherKey);
+        assertThat(replayer.getMisses()).isEqualTo(2);
+    }
+    
+    @Test(description = "The data seed saved with a recording is read back for replay")
+    public void testRecordedSeed() throws IOException {
+        Path store = Files.createTempDirectory("traffic");
+        
+        assertThat(TrafficReplayer.recordedSeed(store)).isZero();
+        TrafficRecorder.saveSeed(store, 1234567890123L);
+        assertThat(TrafficReplayer.recordedSeed(store)).isEqualTo(1234567890123L);
+    }
+    
+    private static RecordedExchange exchange(int status, String body) {
+        return new RecordedExchange(status, "HTTP/1.1 " + status, List.of("Content-Type", "application/json"),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static String body(RecordedExchange exchange) {
+        return new String(exchange.getBody(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,51 @@
+package com.bookstore.api.utils;
+
+import com.bookstore.api.models.Book;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SchemaValidatorTest {
+    
+    private static final String BOOK_SCHEMA = "schemas/book-schema.json";
+    
+    @Test(description = "null array elements are validated against the element schema, not skipped")
+    public void testNullElementsAreRejected() {
+        SchemaValidationResult result = validate("[null, {\"id\":1,\"title\":\"a\"}, null]", false);
+        
+        assertThat(result.getElements()).isEqualTo(3);
+        assertThat(result.getInvalidElements()).isEqualTo(2);
+        assertThat(result.getErrors()).anyMatch(error -> error.startsWith("[0] "))
+                .anyMatch(error -> error.startsWith("[2] "));
+        assertThat(validate("[null, null]", true).isValid()).isFalse();
+    }
+    
+    @Test(description = "An empty array has no elements to reject")
+    public void testEmptyArrayIsValid() {
+        SchemaValidationResult result = validate("[]", false);
+        
+        assertThat(result.getElements()).isZero();
+        assertThat(result.isValid()).isTrue();
+    }
+    
+    @Test(description = "Streamed lists return null elements in place")
+    public void testIteratorReturnsNullElements() {
+        byte[] json = "[{\"id\":1,\"title\":\"a\"}, null, {\"id\":2,\"title\":\"b\"}]".getBytes(StandardCharsets.UTF_8);
+        List<Book> books = new ArrayList<>();
+        new JsonArrayIterator<>(new ByteArrayInputStream(json), Book.class).forEachRemaining(books::add);
+        
+        assertThat(books).hasSize(3);
+        assertThat(books.get(0).getId()).isEqualTo(1);
+        assertThat(books.get(1)).isNull();
+        assertThat(books.get(2).getId()).isEqualTo(2);
+    }
+    
+    private static SchemaValidationResult validate(String json, boolean parallel) {
+        return SchemaValidator.validate(BOOK_SCHEMA, json.getBytes(StandardCharsets.UTF_8), parallel);
+    }
+}